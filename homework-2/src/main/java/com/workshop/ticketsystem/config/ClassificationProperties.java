@@ -0,0 +1,90 @@
+package com.workshop.ticketsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticket-system.classification")
+public class ClassificationProperties {
+
+    // Tickets loaded, classified and logged together by batch classification
+    private int batchSize = 500;
+
+    private Cache cache = new Cache();
+
+    private LogWriter logWriter = new LogWriter();
+
+    private Reclassification reclassification = new Reclassification();
+
+    private NaiveBayes naiveBayes = new NaiveBayes();
+
+    @Data
+    public static class Cache {
+
+        // Distinct ticket texts whose classification is kept; 0 disables the cache
+        private int maximumSize = 10_000;
+    }
+
+    @Data
+    public static class LogWriter {
+
+        // Hand classification logs to a background writer instead of inserting them in the caller's transaction
+        private boolean enabled = true;
+
+        // Logs waiting to be written; when full, the caller writes its own logs
+        private int queueCapacity = 10_000;
+
+        // Logs inserted together in one transaction
+        private int batchSize = 500;
+
+        // Longest time a log waits for its batch to fill
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        // Write queued logs before the application stops
+        private boolean flushOnShutdown = true;
+
+        // Longest time shutdown waits for the final flush
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+        // Local NDJSON file for logs that could not be written (database unavailable, or left over at
+        // shutdown), replayed on the next start; unset to drop them with a warning instead
+        private String spillFile;
+    }
+
+    @Data
+    public static class Reclassification {
+
+        // Tickets read with one keyset query and updated in one transaction
+        private int batchSize = 1000;
+
+        // Threads classifying a batch; 0 uses every available core
+        private int parallelism = 0;
+
+        // Default cap on tickets per second for a job; 0 means unlimited
+        private int rowsPerSecond = 0;
+
+        // How long finished jobs can still be looked up
+        private Duration jobRetention = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class NaiveBayes {
+
+        // Words and word pairs are hashed into 2^featureBits buckets
+        private int featureBits = 18;
+
+        // Additive (Laplace) smoothing of the per-class feature counts
+        private double smoothing = 1.0;
+
+        // Weight of a ticket whose category or priority differs from a logged suggestion,
+        // i.e. one an agent corrected, relative to any other ticket
+        private double correctionWeight = 2.0;
+
+        // Where a trained model is saved and loaded from on start; unset keeps it in memory only
+        private String modelFile;
+    }
+}
@@ -0,0 +1,124 @@
+package com.workshop.ticketsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "ticket-system.import")
+public class ImportProperties {
+
+    // Number of parsed records validated and committed together in one transaction
+    private int batchSize = 1000;
+
+    // Worker threads for the validation and classification stage; 0 uses every available core
+    private int parallelism = 0;
+
+    // Batches that may be prepared ahead of the persistence stage, bounding memory use
+    private int maxInFlightBatches = 4;
+
+    // Cap on the decompressed size of one gzip or zip upload
+    private DataSize maxDecompressedSize = DataSize.ofGigabytes(1);
+
+    private Csv csv = new Csv();
+
+    private Async async = new Async();
+
+    private Local local = new Local();
+
+    private Errors errors = new Errors();
+
+    private Throttle throttle = new Throttle();
+
+    private Quarantine quarantine = new Quarantine();
+
+    private Ingest ingest = new Ingest();
+
+    @Data
+    public static class Csv {
+
+        // Alternative header names per canonical column, e.g. customer_id: [customerId, client_ref]; matched case-insensitively
+        private Map<String, List<String>> columnAliases = new HashMap<>();
+    }
+
+    @Data
+    public static class Async {
+
+        // Imports running at the same time; further jobs wait in the queue
+        private int maxConcurrentJobs = 2;
+
+        private int queueCapacity = 20;
+
+        // How long finished jobs stay available for polling
+        private Duration jobRetention = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Local {
+
+        // Directory server-side imports may read from; local file import is disabled when unset
+        private String baseDirectory;
+
+        // Target size of the line-aligned chunks a local CSV file is split into for parallel parsing
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+    }
+
+    @Data
+    public static class Errors {
+
+        // Failed records listed in the import summary itself; the error report always has all of them
+        private int maxInline = 100;
+
+        // Where error reports are written; defaults to a directory below java.io.tmpdir
+        private String directory;
+
+        // How long error reports stay available for download
+        private Duration retention = Duration.ofHours(24);
+    }
+
+    @Data
+    public static class Throttle {
+
+        private boolean enabled = true;
+
+        // Rows per second across all running imports; 0 means unlimited until latency forces a back-off
+        private int rowsPerSecond = 0;
+
+        // Floor for the adaptive back-off
+        private int minRowsPerSecond = 50;
+
+        // Fraction of the connection pool imports may hold at the same time
+        private double maxConnectionShare = 0.5;
+
+        // p99 latency of the interactive ticket endpoints above which imports back off
+        private Duration latencyThreshold = Duration.ofMillis(250);
+
+        // Samples considered for the p99
+        private Duration latencyWindow = Duration.ofSeconds(5);
+
+        // How often the import rate is re-evaluated
+        private Duration adjustInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Quarantine {
+
+        // After this long a claim of a reprocess run that never released it (e.g. crashed) lapses
+        private Duration claimTimeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Ingest {
+
+        // How long an NDJSON stream may stall before the records received so far are written
+        private Duration idleFlush = Duration.ofMillis(200);
+    }
+}
@@ -0,0 +1,37 @@
+package com.workshop.ticketsystem.config;
+
+import com.workshop.ticketsystem.service.InteractiveLatencyMonitor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+@RequiredArgsConstructor
+public class InteractiveLatencyInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = InteractiveLatencyInterceptor.class.getName() + ".start";
+    private static final String TICKET_LIST_PATH = "/tickets";
+
+    private final InteractiveLatencyMonitor latencyMonitor;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Listing every ticket is unpaged and not latency-sensitive
+        boolean listing = HttpMethod.GET.matches(request.getMethod())
+                && request.getRequestURI().equals(request.getContextPath() + TICKET_LIST_PATH);
+        if (!listing) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            latencyMonitor.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.workshop.ticketsystem.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final InteractiveLatencyInterceptor interactiveLatencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The single-ticket endpoints agents use; bulk imports and bulk classification are excluded so
+        // their long requests do not count as slow interactive ones and throttle imports. The unpaged
+        // GET /tickets list shares a path with ticket creation and is skipped by the interceptor
+        registry.addInterceptor(interactiveLatencyInterceptor)
+                .addPathPatterns("/tickets", "/tickets/*", "/tickets/*/auto-classify")
+                .excludePathPatterns("/tickets/import", "/tickets/ingest", "/tickets/auto-classify");
+    }
+}
@@ -0,0 +1,81 @@
+package com.workshop.ticketsystem.controller;
+
+import com.workshop.ticketsystem.dto.ClassificationCacheStats;
+import com.workshop.ticketsystem.dto.KeywordDictionaryDto;
+import com.workshop.ticketsystem.dto.KeywordSetRequest;
+import com.workshop.ticketsystem.dto.NaiveBayesModelInfo;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.service.ClassificationService;
+import com.workshop.ticketsystem.service.KeywordDictionaryService;
+import com.workshop.ticketsystem.service.NaiveBayesModelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/classification")
+@RequiredArgsConstructor
+@Tag(name = "Classification Administration", description = "APIs for operating the ticket classifier")
+public class AdminClassificationController {
+
+    private final ClassificationService classificationService;
+    private final KeywordDictionaryService keywordDictionaryService;
+    private final NaiveBayesModelService naiveBayesModelService;
+
+    @GetMapping("/dictionary")
+    @Operation(summary = "Get the keyword dictionary", description = "Returns the category and priority keywords classification currently uses, with the dictionary version")
+    public ResponseEntity<KeywordDictionaryDto> getDictionary() {
+        return ResponseEntity.ok(keywordDictionaryService.getDictionary());
+    }
+
+    @PutMapping("/dictionary/categories/{category}")
+    @Operation(summary = "Replace the keywords of a category", description = "Stores the keywords and, once committed, swaps the recompiled dictionary in for all new classifications")
+    public ResponseEntity<KeywordDictionaryDto> replaceCategoryKeywords(
+            @PathVariable TicketCategory category,
+            @Valid @RequestBody KeywordSetRequest request) {
+        return ResponseEntity.ok(keywordDictionaryService.replaceCategoryKeywords(category, request.getKeywords()));
+    }
+
+    @PutMapping("/dictionary/priorities/{priority}")
+    @Operation(summary = "Replace the keywords of a priority", description = "Stores the keywords and, once committed, swaps the recompiled dictionary in for all new classifications")
+    public ResponseEntity<KeywordDictionaryDto> replacePriorityKeywords(
+            @PathVariable TicketPriority priority,
+            @Valid @RequestBody KeywordSetRequest request) {
+        return ResponseEntity.ok(keywordDictionaryService.replacePriorityKeywords(priority, request.getKeywords()));
+    }
+
+    @PostMapping("/dictionary/reload")
+    @Operation(summary = "Reload the keyword dictionary", description = "Recompiles the dictionary from the database, e.g. to pick up edits made through another instance")
+    public ResponseEntity<KeywordDictionaryDto> reloadDictionary() {
+        return ResponseEntity.ok(keywordDictionaryService.reload());
+    }
+
+    @GetMapping("/cache")
+    @Operation(summary = "Get classification cache statistics", description = "Returns size, hit and miss counts, evictions and hit rate of the classification result cache")
+    public ResponseEntity<ClassificationCacheStats> getCacheStats() {
+        return ResponseEntity.ok(classificationService.cacheStats());
+    }
+
+    @DeleteMapping("/cache")
+    @Operation(summary = "Clear the classification cache", description = "Drops every cached classification result; hit and miss counters are kept")
+    public ResponseEntity<Void> clearCache() {
+        classificationService.clearCache();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/model")
+    @Operation(summary = "Get the naive Bayes model", description = "Reports whether the naive Bayes engine has a model, and how many tickets it was trained on and when")
+    public ResponseEntity<NaiveBayesModelInfo> getModel() {
+        return ResponseEntity.ok(naiveBayesModelService.getModelInfo());
+    }
+
+    @PostMapping("/model/train")
+    @Operation(summary = "Train the naive Bayes model", description = "Trains a new model from the category and priority of every ticket, weighting labels agents changed through the ticket API higher, and swaps it in for engine=naive_bayes classifications")
+    public ResponseEntity<NaiveBayesModelInfo> trainModel() {
+        return ResponseEntity.ok(naiveBayesModelService.train());
+    }
+}
@@ -0,0 +1,35 @@
+package com.workshop.ticketsystem.controller;
+
+import com.workshop.ticketsystem.dto.ImportJobResponse;
+import com.workshop.ticketsystem.dto.LocalImportRequest;
+import com.workshop.ticketsystem.enums.ImportMode;
+import com.workshop.ticketsystem.service.ImportJobService;
+import com.workshop.ticketsystem.service.ImportOptions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/admin/imports")
+@RequiredArgsConstructor
+@Tag(name = "Import Administration", description = "APIs for server-side bulk imports")
+public class AdminImportController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping("/local")
+    @Operation(summary = "Import a CSV file from server disk", description = "Starts a background import of a CSV file below the configured import directory. The file is memory-mapped and parsed in parallel segments; poll the returned job under /imports/{jobId}")
+    public ResponseEntity<ImportJobResponse> importLocalFile(@Valid @RequestBody LocalImportRequest request) {
+        ImportOptions options = new ImportOptions(
+                Boolean.TRUE.equals(request.getAutoClassify()),
+                request.getMode() != null ? request.getMode() : ImportMode.JPA,
+                Boolean.TRUE.equals(request.getResume()));
+        ImportJobResponse job = importJobService.submitLocalFile(request.getPath(), options);
+        return ResponseEntity.accepted().location(URI.create("/imports/" + job.getJobId())).body(job);
+    }
+}
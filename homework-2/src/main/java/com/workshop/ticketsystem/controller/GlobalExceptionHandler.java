@@ -2,7 +2,12 @@ package com.workshop.ticketsystem.controller;
 
 import com.workshop.ticketsystem.dto.ErrorResponse;
 import com.workshop.ticketsystem.exception.FileParseException;
+import com.workshop.ticketsystem.exception.ImportErrorReportNotFoundException;
+import com.workshop.ticketsystem.exception.ImportJobNotFoundException;
+import com.workshop.ticketsystem.exception.ImportRejectedException;
 import com.workshop.ticketsystem.exception.InvalidTicketException;
+import com.workshop.ticketsystem.exception.QuarantinedTicketNotFoundException;
+import com.workshop.ticketsystem.exception.ReclassificationJobNotFoundException;
 import com.workshop.ticketsystem.exception.TicketNotFoundException;
 import com.workshop.ticketsystem.exception.ValidationException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +36,66 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportJobNotFoundException(
+            ImportJobNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(ReclassificationJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReclassificationJobNotFoundException(
+            ReclassificationJobNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(ImportErrorReportNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImportErrorReportNotFoundException(
+            ImportErrorReportNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(QuarantinedTicketNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleQuarantinedTicketNotFoundException(
+            QuarantinedTicketNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Not Found",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(ImportRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleImportRejectedException(
+            ImportRejectedException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             ValidationException ex, HttpServletRequest request) {
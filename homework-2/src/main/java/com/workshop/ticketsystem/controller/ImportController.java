@@ -0,0 +1,52 @@
+package com.workshop.ticketsystem.controller;
+
+import com.workshop.ticketsystem.dto.ImportJobResponse;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.service.ImportErrorReportStore;
+import com.workshop.ticketsystem.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/imports")
+@RequiredArgsConstructor
+@Tag(name = "Import Jobs", description = "APIs for tracking asynchronous ticket imports")
+public class ImportController {
+
+    private final ImportJobService importJobService;
+    private final ImportErrorReportStore errorReportStore;
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get import job status", description = "Reports progress, throughput and ETA of an asynchronous import, and its summary once finished")
+    public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable UUID jobId) {
+        ImportJobResponse job = importJobService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
+    @GetMapping("/error-reports/{reportId}")
+    @Operation(summary = "Download an import error report", description = "Streams every per-record error of an import as NDJSON (default) or CSV. The id is the errorReportId of the import summary")
+    public ResponseEntity<StreamingResponseBody> getErrorReport(
+            @PathVariable UUID reportId,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        errorReportStore.requireReport(reportId);
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-errors-" + reportId + ".ndjson\"")
+                    .body(output -> errorReportStore.writeNdjson(reportId, output));
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"import-errors-" + reportId + ".csv\"")
+                    .body(output -> errorReportStore.writeCsv(reportId, output));
+            default -> throw new ValidationException("Unsupported report format: " + format);
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+import com.workshop.ticketsystem.dto.QuarantineReprocessRequest;
+import com.workshop.ticketsystem.dto.QuarantinedTicketDto;
+import com.workshop.ticketsystem.enums.ImportMode;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.service.ImportOptions;
+import com.workshop.ticketsystem.service.ImportService;
+import com.workshop.ticketsystem.service.QuarantineService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/imports/quarantine")
+@RequiredArgsConstructor
+@Tag(name = "Import Quarantine", description = "APIs for correcting and reprocessing records that failed to import")
+public class QuarantineController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final QuarantineService quarantineService;
+    private final ImportService importService;
+
+    @GetMapping
+    @Operation(summary = "List quarantined records", description = "Lists failed import records with their payload and failure reason, optionally for one import only")
+    public ResponseEntity<List<QuarantinedTicketDto>> listQuarantined(
+            @RequestParam(required = false) UUID importId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ValidationException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return ResponseEntity.ok(quarantineService.list(importId, page, size));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get quarantined record", description = "Retrieves one quarantined record by its UUID")
+    public ResponseEntity<QuarantinedTicketDto> getQuarantined(@PathVariable UUID id) {
+        return ResponseEntity.ok(quarantineService.get(id));
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(summary = "Correct quarantined record", description = "Updates the given ticket fields of a quarantined payload; other fields keep their value. The record is validated again when it is reprocessed")
+    public ResponseEntity<QuarantinedTicketDto> patchQuarantined(@PathVariable UUID id, @RequestBody JsonNode changes) {
+        return ResponseEntity.ok(quarantineService.patch(id, changes));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Discard quarantined record", description = "Removes a quarantined record without importing it")
+    public ResponseEntity<Void> deleteQuarantined(@PathVariable UUID id) {
+        quarantineService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/reprocess")
+    @Operation(summary = "Reprocess quarantined records", description = "Imports the given quarantined records, or all records of one import, through the batched import pipeline. Records that succeed leave the quarantine in the same transaction; records another reprocess is working on are skipped")
+    public ResponseEntity<ImportSummaryResponse> reprocess(@RequestBody QuarantineReprocessRequest request) {
+        List<UUID> ids;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            ids = request.getIds();
+        } else if (request.getImportId() != null) {
+            ids = quarantineService.findIdsByImportId(request.getImportId());
+        } else {
+            throw new ValidationException("Either ids or importId is required");
+        }
+
+        ImportOptions options = new ImportOptions(
+                Boolean.TRUE.equals(request.getAutoClassify()),
+                request.getMode() != null ? request.getMode() : ImportMode.JPA,
+                false);
+        return ResponseEntity.ok(importService.reprocessQuarantined(ids, options));
+    }
+}
@@ -0,0 +1,54 @@
+package com.workshop.ticketsystem.controller;
+
+import com.workshop.ticketsystem.dto.ReclassificationJobResponse;
+import com.workshop.ticketsystem.dto.ReclassificationRequest;
+import com.workshop.ticketsystem.service.ReclassificationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/admin/reclassifications")
+@RequiredArgsConstructor
+@Tag(name = "Reclassification", description = "APIs for reclassifying existing tickets in the background")
+public class ReclassificationController {
+
+    private final ReclassificationJobService reclassificationJobService;
+
+    @PostMapping
+    @Operation(summary = "Start a reclassification job", description = "Reclassifies every ticket with one of the given statuses (default: the open ones) with the chosen engine (the keyword dictionary by default) and updates category and priority where they change. Only one job runs at a time")
+    public ResponseEntity<ReclassificationJobResponse> start(@RequestBody(required = false) ReclassificationRequest request) {
+        ReclassificationJobResponse job = reclassificationJobService.start(
+                request != null ? request : new ReclassificationRequest());
+        return ResponseEntity.accepted().location(URI.create("/admin/reclassifications/" + job.getJobId())).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get reclassification job progress", description = "Reports tickets scanned and updated, throughput and the keyset cursor of a reclassification job")
+    public ResponseEntity<ReclassificationJobResponse> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reclassificationJobService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/pause")
+    @Operation(summary = "Pause a reclassification job", description = "The job stops after the batch it is working on")
+    public ResponseEntity<ReclassificationJobResponse> pause(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reclassificationJobService.pause(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @Operation(summary = "Resume a paused reclassification job")
+    public ResponseEntity<ReclassificationJobResponse> resume(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reclassificationJobService.resume(jobId));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Operation(summary = "Cancel a reclassification job", description = "The job stops after the batch it is working on; its lastTicketId can be passed as startAfter to continue later")
+    public ResponseEntity<ReclassificationJobResponse> cancel(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reclassificationJobService.cancel(jobId));
+    }
+}
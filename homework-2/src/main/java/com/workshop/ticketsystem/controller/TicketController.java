@@ -1,21 +1,32 @@
 package com.workshop.ticketsystem.controller;
 
 import com.workshop.ticketsystem.dto.*;
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import com.workshop.ticketsystem.enums.ImportMode;
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
 import com.workshop.ticketsystem.enums.TicketStatus;
-import com.workshop.ticketsystem.service.ClassificationService;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.parser.Compression;
+import com.workshop.ticketsystem.service.ClassificationServiceFactory;
+import com.workshop.ticketsystem.service.ImportJobService;
+import com.workshop.ticketsystem.service.ImportOptions;
+import com.workshop.ticketsystem.service.ImportProgress;
 import com.workshop.ticketsystem.service.ImportService;
 import com.workshop.ticketsystem.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,7 +38,8 @@ public class TicketController {
 
     private final TicketService ticketService;
     private final ImportService importService;
-    private final ClassificationService classificationService;
+    private final ImportJobService importJobService;
+    private final ClassificationServiceFactory classificationServiceFactory;
 
     @PostMapping
     @Operation(summary = "Create a new ticket", description = "Creates a new customer support ticket with optional auto-classification")
@@ -37,12 +49,33 @@ public class TicketController {
     }
 
     @PostMapping("/import")
-    @Operation(summary = "Import tickets from file", description = "Bulk import tickets from CSV, JSON, or XML file")
-    public ResponseEntity<ImportSummaryResponse> importTickets(
+    @Operation(summary = "Import tickets from file", description = "Bulk import tickets from CSV, JSON, or XML file, optionally gzip (.gz) or zip (.zip) compressed. mode=copy loads rows with PostgreSQL COPY instead of JPA batches. resume=true skips records that were already imported. With async=true the import runs in the background and a job to poll under /imports/{jobId} is returned")
+    public ResponseEntity<?> importTickets(
             @RequestParam("file") MultipartFile file,
             @RequestParam("format") String format,
-            @RequestParam(value = "autoClassify", defaultValue = "false") boolean autoClassify) {
-        ImportSummaryResponse summary = importService.importTickets(file, format, autoClassify);
+            @RequestParam(value = "autoClassify", defaultValue = "false") boolean autoClassify,
+            @RequestParam(value = "async", defaultValue = "false") boolean async,
+            @RequestParam(value = "mode", defaultValue = "jpa") String mode,
+            @RequestParam(value = "resume", defaultValue = "false") boolean resume) {
+        ImportOptions options = new ImportOptions(autoClassify, parseImportMode(mode), resume);
+        if (async) {
+            ImportJobResponse job = importJobService.submit(file, format, options);
+            return ResponseEntity.accepted().location(URI.create("/imports/" + job.getJobId())).body(job);
+        }
+        ImportSummaryResponse summary = importService.importTickets(file, format, options);
+        return ResponseEntity.ok(summary);
+    }
+
+    @PostMapping(value = "/ingest", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Ingest a ticket stream", description = "Reads newline-delimited JSON tickets from the request body as it arrives (e.g. chunked transfer) and persists them in batches. Returns the summary once the client closes the stream")
+    public ResponseEntity<ImportSummaryResponse> ingestTickets(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(value = "autoClassify", defaultValue = "false") boolean autoClassify,
+            @RequestParam(value = "resume", defaultValue = "false") boolean resume) {
+        ImportOptions options = new ImportOptions(autoClassify, ImportMode.JPA, resume);
+        ImportSummaryResponse summary = importService.importTickets(body, "ndjson",
+                Compression.fromContentEncoding(contentEncoding), options, new ImportProgress(-1));
         return ResponseEntity.ok(summary);
     }
 
@@ -85,10 +118,38 @@ public class TicketController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/auto-classify")
+    @Operation(summary = "Auto-classify tickets in bulk", description = "Classifies the given ticket ids, or every ticket matching the category, priority and status filter, in batches, and logs the classifications with batched inserts. Set includeResults to get each ticket's classification back and engine to pick the classifier")
+    public ResponseEntity<BatchClassificationResponse> autoClassifyAll(@RequestBody AutoClassifyRequest request) {
+        BatchClassificationResponse response = classificationServiceFactory.getService(request.getEngine()).classifyAll(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{id}/auto-classify")
-    @Operation(summary = "Auto-classify ticket", description = "Automatically classifies ticket category and priority using keyword-based analysis")
-    public ResponseEntity<ClassificationResult> autoClassify(@PathVariable UUID id) {
-        ClassificationResult result = classificationService.classifyById(id);
+    @Operation(summary = "Auto-classify ticket", description = "Automatically classifies ticket category and priority using keyword-based analysis (engine=keyword, the default) or the trained naive Bayes model (engine=naive_bayes)")
+    public ResponseEntity<ClassificationResult> autoClassify(
+            @PathVariable UUID id,
+            @RequestParam(value = "engine", required = false) String engine) {
+        ClassificationResult result = classificationServiceFactory.getService(parseEngine(engine)).classifyById(id);
         return ResponseEntity.ok(result);
     }
+
+    private ImportMode parseImportMode(String mode) {
+        try {
+            return ImportMode.valueOf(mode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unsupported import mode: " + mode);
+        }
+    }
+
+    private ClassificationEngine parseEngine(String engine) {
+        if (engine == null) {
+            return null;
+        }
+        try {
+            return ClassificationEngine.valueOf(engine.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unsupported classification engine: " + engine);
+        }
+    }
 }
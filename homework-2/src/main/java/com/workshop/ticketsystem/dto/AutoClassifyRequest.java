@@ -0,0 +1,33 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutoClassifyRequest {
+
+    // Either specific tickets or every ticket matching the filter fields below
+    private List<UUID> ids;
+
+    private TicketCategory category;
+
+    private TicketPriority priority;
+
+    private TicketStatus status;
+
+    // Return each ticket's classification, not just the counts
+    private Boolean includeResults;
+
+    // Defaults to the keyword engine
+    private ClassificationEngine engine;
+}
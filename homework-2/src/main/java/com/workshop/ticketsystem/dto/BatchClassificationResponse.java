@@ -0,0 +1,24 @@
+package com.workshop.ticketsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchClassificationResponse {
+
+    private int requestedTickets;
+    private int classifiedTickets;
+    // Requested ids without a ticket
+    private List<UUID> notFound = new ArrayList<>();
+    // Only filled in when includeResults is set
+    private Map<UUID, ClassificationResult> results = new LinkedHashMap<>();
+}
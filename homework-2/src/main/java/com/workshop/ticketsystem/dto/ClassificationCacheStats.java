@@ -0,0 +1,21 @@
+package com.workshop.ticketsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassificationCacheStats {
+
+    private boolean enabled;
+    private int maximumSize;
+    private int size;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+    // Version of the keyword dictionary new entries are computed with
+    private long dictionaryVersion;
+}
@@ -2,20 +2,58 @@ package com.workshop.ticketsystem.dto;
 
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class ClassificationResult {
 
     private TicketCategory category;
     private TicketPriority priority;
     private Double confidenceScore;
+    @Getter(AccessLevel.NONE)
     private String reasoning;
     private List<String> keywordsFound;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Supplier<String> reasoningSupplier;
+
+    public ClassificationResult(TicketCategory category, TicketPriority priority, Double confidenceScore,
+                                String reasoning, List<String> keywordsFound) {
+        this.category = category;
+        this.priority = priority;
+        this.confidenceScore = confidenceScore;
+        this.reasoning = reasoning;
+        this.keywordsFound = keywordsFound;
+    }
+
+    public String getReasoning() {
+        if (reasoning == null && reasoningSupplier != null) {
+            reasoning = reasoningSupplier.get();
+            reasoningSupplier = null;
+        }
+        return reasoning;
+    }
+
+    /**
+     * Defers building the reasoning text until it is first read.
+     */
+    public void deferReasoning(Supplier<String> reasoningSupplier) {
+        this.reasoning = null;
+        this.reasoningSupplier = reasoningSupplier;
+    }
 }
@@ -0,0 +1,19 @@
+package com.workshop.ticketsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+
+    // Null for errors that concern the whole file rather than one record
+    private Long recordNumber;
+
+    // Request property the error refers to, when known
+    private String field;
+
+    private String message;
+}
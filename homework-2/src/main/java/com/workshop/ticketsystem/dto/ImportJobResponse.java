@@ -0,0 +1,34 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+
+    private UUID jobId;
+    private ImportJobStatus status;
+    private String fileName;
+    private String format;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private long recordsParsed;
+    private long recordsSucceeded;
+    private long recordsFailed;
+    private long recordsSkipped;
+    private long bytesRead;
+    private long totalBytes;
+    private Double percentComplete;
+    private double recordsPerSecond;
+    private Long estimatedSecondsRemaining;
+    private String error;
+    private ImportSummaryResponse result;
+}
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -15,7 +16,17 @@ public class ImportSummaryResponse {
     private int totalRecords;
     private int successfulImports;
     private int failedImports;
+    private int skippedDuplicates;
+    // Failed records saved to the quarantine under importId; parse errors have no payload to keep
+    private int quarantinedRecords;
+    // Chunks that failed as a whole and were written record by record; in COPY mode the bulk path failed
+    private int chunksRetriedIndividually;
+    private UUID importId;
+    // Errors of the first records only, see errorsTruncated
     private List<String> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    // Full per-record error report, downloadable from /imports/error-reports/{id}
+    private UUID errorReportId;
 
     public void addError(String error) {
         this.errors.add(error);
@@ -0,0 +1,21 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeywordDictionaryDto {
+
+    // Fingerprint of the keyword sets; equal versions classify identically
+    private long version;
+    private Map<TicketCategory, List<String>> categories;
+    private Map<TicketPriority, List<String>> priorities;
+}
@@ -0,0 +1,18 @@
+package com.workshop.ticketsystem.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeywordSetRequest {
+
+    // Replaces every keyword of the category or priority; matched keywords are reported in this order
+    @NotNull(message = "Keywords are required")
+    private List<String> keywords;
+}
@@ -0,0 +1,23 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.ImportMode;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalImportRequest {
+
+    // Relative to ticket-system.import.local.base-directory
+    @NotBlank(message = "Path is required")
+    private String path;
+
+    private Boolean autoClassify;
+
+    private ImportMode mode;
+
+    private Boolean resume;
+}
@@ -0,0 +1,20 @@
+package com.workshop.ticketsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NaiveBayesModelInfo {
+
+    private boolean trained;
+    private int featureBits;
+    private int trainedTickets;
+    // Tickets whose category or priority an agent changed from a logged suggestion
+    private int correctedTickets;
+    private Instant trainedAt;
+}
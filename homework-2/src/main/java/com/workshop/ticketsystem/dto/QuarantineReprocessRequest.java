@@ -0,0 +1,24 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.ImportMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuarantineReprocessRequest {
+
+    // Either specific quarantined records or everything quarantined by one import
+    private List<UUID> ids;
+
+    private UUID importId;
+
+    private Boolean autoClassify;
+
+    private ImportMode mode;
+}
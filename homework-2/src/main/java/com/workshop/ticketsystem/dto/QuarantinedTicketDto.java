@@ -0,0 +1,23 @@
+package com.workshop.ticketsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuarantinedTicketDto {
+
+    private UUID id;
+    private UUID importId;
+    private Long recordNumber;
+    private CreateTicketRequest ticket;
+    private String reason;
+    private int attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import com.workshop.ticketsystem.enums.ReclassificationJobStatus;
+import com.workshop.ticketsystem.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReclassificationJobResponse {
+
+    private UUID jobId;
+    private ReclassificationJobStatus status;
+    private List<TicketStatus> statuses;
+    private ClassificationEngine engine;
+    private boolean overwriteLabels;
+    // Dictionary version when the job started
+    private long dictionaryVersion;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    // Matching tickets when the job started
+    private long totalTickets;
+    private long ticketsScanned;
+    // Tickets whose category or priority changed; null when the database did not report row counts
+    private Long ticketsUpdated;
+    // Keyset cursor: every ticket up to this id has been processed
+    private UUID lastTicketId;
+    private Double percentComplete;
+    private double ticketsPerSecond;
+    private int rowsPerSecondLimit;
+    private String error;
+}
@@ -0,0 +1,31 @@
+package com.workshop.ticketsystem.dto;
+
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import com.workshop.ticketsystem.enums.TicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReclassificationRequest {
+
+    // Tickets to reclassify; defaults to the open ones (NEW, IN_PROGRESS, WAITING_CUSTOMER)
+    private List<TicketStatus> statuses;
+
+    // Cap on tickets per second; defaults to ticket-system.classification.reclassification.rows-per-second
+    private Integer rowsPerSecond;
+
+    // Continue after this ticket id, e.g. the lastTicketId of a job that did not finish
+    private UUID startAfter;
+
+    // Defaults to the keyword engine
+    private ClassificationEngine engine;
+
+    // Also replace labels other than OTHER and MEDIUM; labels an agent corrected are never replaced
+    private Boolean overwriteLabels;
+}
@@ -6,7 +6,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -41,12 +42,19 @@ public class ClassificationLog {
     @Column(length = 1000)
     private String reasoning;
 
-    @ElementCollection
-    @CollectionTable(name = "classification_keywords", joinColumns = @JoinColumn(name = "log_id"))
-    @Column(name = "keyword")
+    // One array column (varchar[] on PostgreSQL) instead of a classification_keywords row per keyword
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "keywords_found")
     private List<String> keywordsFound = new ArrayList<>();
 
-    @CreationTimestamp
+    // Set when classified; logs may be written some time later
     @Column(name = "classified_at", nullable = false, updatable = false)
     private LocalDateTime classifiedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (classifiedAt == null) {
+            classifiedAt = LocalDateTime.now();
+        }
+    }
 }
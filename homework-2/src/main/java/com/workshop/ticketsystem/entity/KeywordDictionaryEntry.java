@@ -0,0 +1,43 @@
+package com.workshop.ticketsystem.entity;
+
+import com.workshop.ticketsystem.enums.KeywordKind;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One keyword of the classification dictionary: it votes for {@code label}, the name of a
+ * {@link com.workshop.ticketsystem.enums.TicketCategory} or
+ * {@link com.workshop.ticketsystem.enums.TicketPriority} depending on {@code kind}.
+ */
+@Entity
+@Table(name = "keyword_dictionary", uniqueConstraints = @UniqueConstraint(
+        name = "uk_keyword_dictionary_keyword", columnNames = {"kind", "label", "keyword"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeywordDictionaryEntry {
+
+    public static final int MAX_KEYWORD_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private KeywordKind kind;
+
+    @Column(nullable = false, length = 50)
+    private String label;
+
+    @Column(nullable = false, length = MAX_KEYWORD_LENGTH)
+    private String keyword;
+
+    // Order within the label; matched keywords are reported in this order
+    @Column(nullable = false)
+    private int position;
+}
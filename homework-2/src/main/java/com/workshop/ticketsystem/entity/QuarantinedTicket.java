@@ -0,0 +1,63 @@
+package com.workshop.ticketsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An imported record that could not be persisted, kept with its original payload so it
+ * can be corrected and reprocessed without re-running the whole file.
+ */
+@Entity
+@Table(name = "import_quarantine", indexes = @Index(name = "idx_import_quarantine_import_id", columnList = "import_id, record_number"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuarantinedTicket {
+
+    public static final int MAX_REASON_LENGTH = 2000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "import_id", nullable = false)
+    private UUID importId;
+
+    @Column(name = "record_number", nullable = false)
+    private Long recordNumber;
+
+    // CreateTicketRequest as JSON; unbounded since rejected payloads may exceed the ticket column limits
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(length = MAX_REASON_LENGTH)
+    private String reason;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Reprocess run currently working on the record; other runs leave it alone until it is released
+    @Column(name = "claimed_by")
+    private UUID claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
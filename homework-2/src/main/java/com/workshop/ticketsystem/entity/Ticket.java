@@ -10,6 +10,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,7 +20,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = @Index(name = "idx_tickets_content_hash", columnList = "content_hash"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -86,6 +87,20 @@ public class Ticket {
     @Embedded
     private TicketMetadata metadata;
 
+    // Fingerprint of the identifying content, used to recognise re-imported records
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Set when an agent changes the label through the ticket API, so the model can tell corrections
+    // from labels that only repeat a classification
+    @ColumnDefault("false")
+    @Column(name = "category_corrected", nullable = false)
+    private boolean categoryCorrected;
+
+    @ColumnDefault("false")
+    @Column(name = "priority_corrected", nullable = false)
+    private boolean priorityCorrected;
+
     @PrePersist
     public void prePersist() {
         if (status == null) {
@@ -0,0 +1,6 @@
+package com.workshop.ticketsystem.enums;
+
+public enum ClassificationEngine {
+    KEYWORD,
+    NAIVE_BAYES
+}
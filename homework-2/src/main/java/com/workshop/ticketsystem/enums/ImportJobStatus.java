@@ -0,0 +1,8 @@
+package com.workshop.ticketsystem.enums;
+
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
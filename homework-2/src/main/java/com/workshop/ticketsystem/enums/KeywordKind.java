@@ -0,0 +1,6 @@
+package com.workshop.ticketsystem.enums;
+
+public enum KeywordKind {
+    CATEGORY,
+    PRIORITY
+}
@@ -0,0 +1,10 @@
+package com.workshop.ticketsystem.enums;
+
+public enum ReclassificationJobStatus {
+    QUEUED,
+    RUNNING,
+    PAUSED,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
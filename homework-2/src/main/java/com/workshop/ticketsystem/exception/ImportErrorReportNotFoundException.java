@@ -0,0 +1,10 @@
+package com.workshop.ticketsystem.exception;
+
+import java.util.UUID;
+
+public class ImportErrorReportNotFoundException extends RuntimeException {
+
+    public ImportErrorReportNotFoundException(UUID id) {
+        super("Import error report not found with id: " + id);
+    }
+}
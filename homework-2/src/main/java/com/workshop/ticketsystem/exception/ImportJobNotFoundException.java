@@ -0,0 +1,14 @@
+package com.workshop.ticketsystem.exception;
+
+import java.util.UUID;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(UUID id) {
+        super("Import job not found with id: " + id);
+    }
+
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
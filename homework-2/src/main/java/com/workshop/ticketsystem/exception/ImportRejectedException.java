@@ -0,0 +1,12 @@
+package com.workshop.ticketsystem.exception;
+
+public class ImportRejectedException extends RuntimeException {
+
+    public ImportRejectedException(String message) {
+        super(message);
+    }
+
+    public ImportRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.workshop.ticketsystem.exception;
+
+import java.util.UUID;
+
+public class QuarantinedTicketNotFoundException extends RuntimeException {
+
+    public QuarantinedTicketNotFoundException(UUID id) {
+        super("Quarantined record not found with id: " + id);
+    }
+}
@@ -0,0 +1,10 @@
+package com.workshop.ticketsystem.exception;
+
+import java.util.UUID;
+
+public class ReclassificationJobNotFoundException extends RuntimeException {
+
+    public ReclassificationJobNotFoundException(UUID id) {
+        super("Reclassification job not found with id: " + id);
+    }
+}
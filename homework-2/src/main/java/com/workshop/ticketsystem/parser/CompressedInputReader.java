@@ -0,0 +1,406 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.exception.FileParseException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Decompresses gzip and zip uploads on the fly into a {@link StreamingFileParser}, without
+ * spooling the decompressed content anywhere. Zip entries are inflated one after another by a
+ * dedicated thread and each entry is parsed on its own worker, so entries are parsed in
+ * parallel. Records are still delivered to the handler on the calling thread in archive order,
+ * numbered continuously across entries.
+ */
+@Component
+public class CompressedInputReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Inflated chunks buffered per zip entry ahead of its parser
+    private static final int PIPE_CHUNKS = 64;
+
+    private final ImportProperties importProperties;
+    private final ExecutorService entryExecutor;
+
+    public CompressedInputReader(ImportProperties importProperties) {
+        this.importProperties = importProperties;
+
+        int parallelism = importProperties.getParallelism() > 0
+                ? importProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.entryExecutor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("zip-entry-", 1).daemon(true).factory());
+    }
+
+    public void parse(InputStream input, Compression compression, StreamingFileParser parser,
+                      TicketRecordHandler handler) throws IOException {
+        // With format=auto the container is recognised from the content too, not just the file name
+        if (compression == Compression.NONE && parser instanceof ContentSniffingParser) {
+            BufferedInputStream buffered = new BufferedInputStream(input, BUFFER_SIZE);
+            compression = Compression.detect(buffered);
+            input = buffered;
+        }
+
+        switch (compression) {
+            case NONE -> parser.parse(input, handler);
+            case GZIP -> {
+                InputStream decompressed;
+                try {
+                    decompressed = new GZIPInputStream(input, BUFFER_SIZE);
+                } catch (IOException e) {
+                    throw new FileParseException("Error reading gzip file: " + e.getMessage(), e);
+                }
+                parser.parse(new SizeLimitedInputStream(decompressed, maxDecompressedBytes()), handler);
+            }
+            case ZIP -> parseZip(new ZipInputStream(input), parser, handler);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        entryExecutor.shutdownNow();
+    }
+
+    private void parseZip(ZipInputStream zip, StreamingFileParser parser, TicketRecordHandler handler) {
+        BlockingQueue<ZipEntryStream> entries = new LinkedBlockingQueue<>();
+        EntryTasks tasks = new EntryTasks();
+
+        // Inflating is inherently sequential, so it runs on one thread outside the worker pool
+        Thread inflater = Thread.ofPlatform().name("zip-inflater").daemon(true).start(() -> {
+            try {
+                inflate(zip, parser, entries, tasks);
+                entries.add(ZipEntryStream.END);
+            } catch (RuntimeException e) {
+                entries.add(ZipEntryStream.failed(e));
+            }
+        });
+
+        try {
+            long recordsBefore = 0;
+            ZipEntryStream entry;
+            while ((entry = entries.take()) != ZipEntryStream.END) {
+                if (entry.failure != null) {
+                    throw entry.failure;
+                }
+                recordsBefore += drain(entry, recordsBefore, handler);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileParseException("Zip import interrupted", e);
+        } finally {
+            tasks.cancelAll();
+            inflater.interrupt();
+        }
+    }
+
+    private void inflate(ZipInputStream zip, StreamingFileParser parser, BlockingQueue<ZipEntryStream> entries,
+                         EntryTasks tasks) {
+        InputStream limited = new SizeLimitedInputStream(zip, maxDecompressedBytes());
+        byte[] buffer = new byte[BUFFER_SIZE];
+        ZipEntryStream current = null;
+        try {
+            ZipEntry zipEntry;
+            while ((zipEntry = zip.getNextEntry()) != null) {
+                if (zipEntry.isDirectory()) {
+                    continue;
+                }
+                ZipEntryStream entry = new ZipEntryStream(zipEntry.getName(), importProperties.getMaxInFlightBatches());
+                entries.add(entry);
+                if (!tasks.submit(() -> parseEntry(entry, parser))) {
+                    // The import has ended, so nobody reads this entry anymore
+                    return;
+                }
+                current = entry;
+
+                int n;
+                while ((n = limited.read(buffer)) > 0) {
+                    byte[] chunk = new byte[n];
+                    System.arraycopy(buffer, 0, chunk, 0, n);
+                    entry.pipe.write(chunk);
+                }
+                entry.pipe.write(ChunkPipe.EOF);
+                current = null;
+            }
+        } catch (IOException e) {
+            failCurrent(current, e.getMessage());
+            throw new FileParseException("Error reading zip file: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            failCurrent(current, e.getMessage());
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // The entry's parser is waiting for more input, so the failure has to reach it through the pipe
+    private void failCurrent(ZipEntryStream current, String message) {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.pipe.fail(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parseEntry(ZipEntryStream entry, StreamingFileParser parser) {
+        EntryCollector collector = new EntryCollector(entry, importProperties.getBatchSize());
+        try {
+            parser.parse(entry.pipe, collector);
+            collector.publish();
+            collector.put(List.of());
+        } catch (Exception e) {
+            collector.put(List.of(new EntryRecord(0, null, null, new FileParseException(
+                    "Error parsing zip entry " + entry.name + ": " + e.getMessage(), e))));
+        } finally {
+            // Lets the inflater move on even if the parser stopped before the end of the entry
+            entry.pipe.discard();
+        }
+    }
+
+    private long drain(ZipEntryStream entry, long recordsBefore, TicketRecordHandler handler) throws InterruptedException {
+        long records = 0;
+        List<EntryRecord> batch;
+        while (!(batch = entry.records.take()).isEmpty()) {
+            for (EntryRecord record : batch) {
+                if (record.failure() != null) {
+                    throw record.failure();
+                }
+                records = Math.max(records, record.recordNumber());
+                long recordNumber = recordsBefore + record.recordNumber();
+                if (record.error() != null) {
+                    handler.onError(recordNumber, new FileParseException(
+                            entry.name + ": " + record.error().getMessage(), record.error()));
+                } else {
+                    handler.onRecord(recordNumber, record.ticket());
+                }
+            }
+        }
+        return records;
+    }
+
+    private long maxDecompressedBytes() {
+        return importProperties.getMaxDecompressedSize().toBytes();
+    }
+
+    /**
+     * Parse tasks of one archive. Submitting and cancelling share a lock, so no task can be
+     * started after the import ended and then wait forever on a pipe nobody fills.
+     */
+    private class EntryTasks {
+
+        private final List<Future<?>> tasks = new ArrayList<>();
+        private boolean cancelled;
+
+        synchronized boolean submit(Runnable task) {
+            if (cancelled) {
+                return false;
+            }
+            tasks.add(entryExecutor.submit(task));
+            return true;
+        }
+
+        synchronized void cancelAll() {
+            cancelled = true;
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private record EntryRecord(long recordNumber, CreateTicketRequest ticket, FileParseException error,
+                               RuntimeException failure) {
+    }
+
+    private static class ZipEntryStream {
+
+        static final ZipEntryStream END = new ZipEntryStream(null, 1);
+
+        private final String name;
+        private final ChunkPipe pipe = new ChunkPipe();
+        // Batches of parsed records; an empty batch marks the end of the entry
+        private final BlockingQueue<List<EntryRecord>> records;
+        private RuntimeException failure;
+
+        ZipEntryStream(String name, int queueCapacity) {
+            this.name = name;
+            this.records = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        }
+
+        static ZipEntryStream failed(RuntimeException failure) {
+            ZipEntryStream entry = new ZipEntryStream(null, 1);
+            entry.failure = failure;
+            return entry;
+        }
+    }
+
+    private static class EntryCollector implements TicketRecordHandler {
+
+        private final ZipEntryStream entry;
+        private final int batchSize;
+        private List<EntryRecord> batch;
+
+        EntryCollector(ZipEntryStream entry, int batchSize) {
+            this.entry = entry;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+            add(new EntryRecord(recordNumber, ticket, null, null));
+        }
+
+        @Override
+        public void onError(long recordNumber, FileParseException error) {
+            add(new EntryRecord(recordNumber, null, error, null));
+        }
+
+        void publish() {
+            if (!batch.isEmpty()) {
+                put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        void put(List<EntryRecord> records) {
+            try {
+                entry.records.put(records);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FileParseException("Zip import interrupted", e);
+            }
+        }
+
+        private void add(EntryRecord record) {
+            batch.add(record);
+            if (batch.size() >= batchSize) {
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Bounded hand-off of inflated chunks from the inflater thread to an entry's parser.
+     */
+    private static class ChunkPipe extends InputStream {
+
+        static final byte[] EOF = new byte[0];
+        private static final byte[] FAILED = new byte[0];
+
+        private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(PIPE_CHUNKS);
+        private volatile boolean discarded;
+        private volatile String failure;
+        private byte[] current;
+        private int position;
+
+        void write(byte[] chunk) throws InterruptedException {
+            while (!discarded) {
+                if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+
+        void fail(String message) throws InterruptedException {
+            failure = message;
+            write(FAILED);
+        }
+
+        void discard() {
+            discarded = true;
+            chunks.clear();
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n = read(single, 0, 1);
+            return n < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (current == EOF) {
+                return -1;
+            }
+            if (current == FAILED) {
+                throw new IOException(failure);
+            }
+            if (current == null || position == current.length) {
+                try {
+                    current = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Zip entry read interrupted", e);
+                }
+                position = 0;
+                if (current == EOF) {
+                    return -1;
+                }
+                if (current == FAILED) {
+                    throw new IOException(failure);
+                }
+            }
+            int n = Math.min(length, current.length - position);
+            System.arraycopy(current, position, bytes, offset, n);
+            position += n;
+            return n;
+        }
+    }
+
+    // Guards against archives that expand far beyond their upload size
+    private static class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        SizeLimitedInputStream(InputStream input, long limit) {
+            super(input);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int n = super.read(bytes, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(long n) {
+            count += n;
+            if (count > limit) {
+                throw new FileParseException("Decompressed content exceeds the limit of " + limit + " bytes");
+            }
+        }
+    }
+}
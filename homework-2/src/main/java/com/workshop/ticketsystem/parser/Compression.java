@@ -0,0 +1,50 @@
+package com.workshop.ticketsystem.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+public enum Compression {
+    NONE,
+    GZIP,
+    ZIP;
+
+    public static Compression fromFileName(String fileName) {
+        if (fileName == null) {
+            return NONE;
+        }
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (name.endsWith(".zip")) {
+            return ZIP;
+        }
+        return NONE;
+    }
+
+    /**
+     * Recognises gzip and zip by their magic bytes. The stream must support mark/reset and is
+     * left positioned at its first byte.
+     */
+    public static Compression detect(InputStream input) throws IOException {
+        input.mark(4);
+        byte[] magic = input.readNBytes(4);
+        input.reset();
+
+        if (magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            return GZIP;
+        }
+        if (magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+            return ZIP;
+        }
+        return NONE;
+    }
+
+    public static Compression fromContentEncoding(String contentEncoding) {
+        if (contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip")) {
+            return GZIP;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,115 @@
+package com.workshop.ticketsystem.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.workshop.ticketsystem.exception.FileParseException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parser behind {@code format=auto}. It peeks at the start of the stream, picks the concrete
+ * parser from the content and hands it the same buffered stream, reset to the first byte, so
+ * the peeked bytes are read only once from the source.
+ */
+@Slf4j
+class ContentSniffingParser implements StreamingFileParser {
+
+    static final String FORMAT = "auto";
+
+    static final int SNIFF_BYTES = 8 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final ParserFactory parserFactory;
+
+    ContentSniffingParser(ParserFactory parserFactory) {
+        this.parserFactory = parserFactory;
+    }
+
+    @Override
+    public void parse(InputStream input, TicketRecordHandler handler) throws IOException {
+        BufferedInputStream buffered = input instanceof BufferedInputStream bufferedInput
+                ? bufferedInput
+                : new BufferedInputStream(input, SNIFF_BYTES);
+        String format = detectFormat(buffered);
+        log.debug("Detected import format {}", format);
+        ((StreamingFileParser) parserFactory.getParser(format)).parse(buffered, handler);
+    }
+
+    static String detectFormat(BufferedInputStream input) throws IOException {
+        input.mark(SNIFF_BYTES);
+        byte[] head = input.readNBytes(SNIFF_BYTES);
+        input.reset();
+
+        String text = new String(head, StandardCharsets.UTF_8);
+        int start = firstContentIndex(text);
+        if (start < 0) {
+            throw new FileParseException("Could not detect file format: file is empty");
+        }
+
+        return switch (text.charAt(start)) {
+            case '<' -> "xml";
+            case '[' -> "json";
+            case '{' -> hasSeveralRootObjects(head) ? "ndjson" : "json";
+            default -> {
+                int lineEnd = text.indexOf('\n', start);
+                String firstLine = lineEnd < 0 ? text.substring(start) : text.substring(start, lineEnd);
+                if (firstLine.indexOf(',') < 0) {
+                    throw new FileParseException("Could not detect file format from its content");
+                }
+                yield "csv";
+            }
+        };
+    }
+
+    // A second root-level object after the first one means newline-delimited JSON, a root
+    // "tickets" array means a JSON wrapper object. When the sniffed bytes cannot tell, either
+    // guess could import the first record and drop the rest, so detection fails instead
+    private static boolean hasSeveralRootObjects(byte[] head) throws IOException {
+        boolean wholeInput = head.length < SNIFF_BYTES;
+        try (JsonParser parser = JSON_FACTORY.createParser(head)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "tickets".equals(field)) {
+                    return false;
+                }
+                parser.skipChildren();
+            }
+            JsonToken next = parser.nextToken();
+            if (next == JsonToken.START_OBJECT) {
+                return true;
+            }
+            if (next == null && wholeInput) {
+                return false;
+            }
+        } catch (IOException e) {
+            if (wholeInput) {
+                // Malformed JSON; the JSON parser reports where
+                return false;
+            }
+        }
+        throw new FileParseException("Could not detect file format: the first JSON object is larger than "
+                + SNIFF_BYTES / 1024 + "KB, pass format=json or format=ndjson");
+    }
+
+    private static int firstContentIndex(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\uFEFF' && !Character.isWhitespace(c)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getSupportedFormat() {
+        return FORMAT;
+    }
+}
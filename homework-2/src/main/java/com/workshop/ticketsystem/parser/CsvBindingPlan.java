@@ -0,0 +1,178 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.enums.DeviceType;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.enums.TicketSource;
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column positions resolved once per header, so binding a row is plain index access instead of
+ * a name lookup per field. Header names are matched exactly first, then case-insensitively
+ * against the canonical name and any configured aliases.
+ */
+final class CsvBindingPlan {
+
+    static final String CUSTOMER_ID = "customer_id";
+    static final String CUSTOMER_EMAIL = "customer_email";
+    static final String CUSTOMER_NAME = "customer_name";
+    static final String SUBJECT = "subject";
+    static final String DESCRIPTION = "description";
+    static final String CATEGORY = "category";
+    static final String PRIORITY = "priority";
+    static final String ASSIGNED_TO = "assigned_to";
+    static final String TAGS = "tags";
+    static final String SOURCE = "source";
+    static final String BROWSER = "browser";
+    static final String DEVICE_TYPE = "device_type";
+
+    private static final EnumLookup<TicketCategory> CATEGORIES = new EnumLookup<>(TicketCategory.class);
+    private static final EnumLookup<TicketPriority> PRIORITIES = new EnumLookup<>(TicketPriority.class);
+    private static final EnumLookup<TicketSource> SOURCES = new EnumLookup<>(TicketSource.class);
+    private static final EnumLookup<DeviceType> DEVICE_TYPES = new EnumLookup<>(DeviceType.class);
+
+    private final Map<String, Integer> header;
+    private final int customerId;
+    private final int customerEmail;
+    private final int customerName;
+    private final int subject;
+    private final int description;
+    private final int category;
+    private final int priority;
+    private final int assignedTo;
+    private final int tags;
+    private final int source;
+    private final int browser;
+    private final int deviceType;
+
+    private CsvBindingPlan(Map<String, Integer> header, Map<String, List<String>> aliases) {
+        this.header = header;
+        this.customerId = indexOf(CUSTOMER_ID, aliases);
+        this.customerEmail = indexOf(CUSTOMER_EMAIL, aliases);
+        this.customerName = indexOf(CUSTOMER_NAME, aliases);
+        this.subject = indexOf(SUBJECT, aliases);
+        this.description = indexOf(DESCRIPTION, aliases);
+        this.category = indexOf(CATEGORY, aliases);
+        this.priority = indexOf(PRIORITY, aliases);
+        this.assignedTo = indexOf(ASSIGNED_TO, aliases);
+        this.tags = indexOf(TAGS, aliases);
+        this.source = indexOf(SOURCE, aliases);
+        this.browser = indexOf(BROWSER, aliases);
+        this.deviceType = indexOf(DEVICE_TYPE, aliases);
+    }
+
+    /**
+     * @param header column index by header name, as reported by the CSV parser
+     */
+    static CsvBindingPlan compile(Map<String, Integer> header, Map<String, List<String>> aliases) {
+        return new CsvBindingPlan(header != null ? header : Map.of(), aliases);
+    }
+
+    CreateTicketRequest bind(CSVRecord record) {
+        CreateTicketRequest ticket = new CreateTicketRequest();
+        ticket.setCustomerId(required(record, customerId, CUSTOMER_ID));
+        ticket.setCustomerEmail(required(record, customerEmail, CUSTOMER_EMAIL));
+        ticket.setCustomerName(required(record, customerName, CUSTOMER_NAME));
+        ticket.setSubject(required(record, subject, SUBJECT));
+        ticket.setDescription(required(record, description, DESCRIPTION));
+
+        // Optional fields
+        String value;
+        if ((value = optional(record, category, CATEGORY)) != null) {
+            ticket.setCategory(CATEGORIES.get(value));
+        }
+        if ((value = optional(record, priority, PRIORITY)) != null) {
+            ticket.setPriority(PRIORITIES.get(value));
+        }
+        if ((value = optional(record, assignedTo, ASSIGNED_TO)) != null) {
+            ticket.setAssignedTo(value);
+        }
+        if ((value = optional(record, tags, TAGS)) != null) {
+            ticket.setTags(Arrays.asList(value.split(";")));
+        }
+        if ((value = optional(record, source, SOURCE)) != null) {
+            ticket.setSource(SOURCES.get(value));
+        }
+        if ((value = optional(record, browser, BROWSER)) != null) {
+            ticket.setBrowser(value);
+        }
+        if ((value = optional(record, deviceType, DEVICE_TYPE)) != null) {
+            ticket.setDeviceType(DEVICE_TYPES.get(value));
+        }
+        return ticket;
+    }
+
+    private int indexOf(String column, Map<String, List<String>> aliases) {
+        Integer exact = header.get(column);
+        if (exact != null) {
+            return exact;
+        }
+        List<String> candidates = aliases.getOrDefault(column, List.of());
+        for (Map.Entry<String, Integer> entry : header.entrySet()) {
+            String name = entry.getKey().trim();
+            if (name.equalsIgnoreCase(column) || candidates.stream().anyMatch(name::equalsIgnoreCase)) {
+                return entry.getValue();
+            }
+        }
+        return -1;
+    }
+
+    private String required(CSVRecord record, int index, String column) {
+        if (index < 0) {
+            throw new IllegalArgumentException(String.format("Mapping for %s not found, expected one of %s", column, header.keySet()));
+        }
+        return value(record, index, column);
+    }
+
+    // Null when the column is absent or the cell is empty
+    private String optional(CSVRecord record, int index, String column) {
+        if (index < 0) {
+            return null;
+        }
+        String value = value(record, index, column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private String value(CSVRecord record, int index, String column) {
+        if (index >= record.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Index for header '%s' is %d but CSVRecord only has %d values!", column, index, record.size()));
+        }
+        return record.get(index);
+    }
+
+    /**
+     * Case-insensitive {@code valueOf} that avoids upper-casing the input for the common spellings.
+     */
+    private static final class EnumLookup<E extends Enum<E>> {
+
+        private final Class<E> type;
+        private final Map<String, E> constants = new HashMap<>();
+
+        EnumLookup(Class<E> type) {
+            this.type = type;
+            for (E constant : type.getEnumConstants()) {
+                constants.put(constant.name(), constant);
+                constants.put(constant.name().toLowerCase(Locale.ROOT), constant);
+            }
+        }
+
+        E get(String value) {
+            E constant = constants.get(value);
+            if (constant == null) {
+                constant = constants.get(value.toUpperCase(Locale.ROOT));
+            }
+            if (constant == null) {
+                throw new IllegalArgumentException("No enum constant " + type.getCanonicalName() + "." + value.toUpperCase(Locale.ROOT));
+            }
+            return constant;
+        }
+    }
+}
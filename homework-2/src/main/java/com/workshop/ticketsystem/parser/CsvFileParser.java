@@ -1,89 +1,90 @@
 package com.workshop.ticketsystem.parser;
 
+import com.workshop.ticketsystem.config.ImportProperties;
 import com.workshop.ticketsystem.dto.CreateTicketRequest;
-import com.workshop.ticketsystem.enums.DeviceType;
-import com.workshop.ticketsystem.enums.TicketCategory;
-import com.workshop.ticketsystem.enums.TicketPriority;
-import com.workshop.ticketsystem.enums.TicketSource;
 import com.workshop.ticketsystem.exception.FileParseException;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Component
-public class CsvFileParser implements FileParser {
+public class CsvFileParser implements StreamingFileParser {
 
-    @Override
-    public List<CreateTicketRequest> parse(MultipartFile file) throws IOException {
-        List<CreateTicketRequest> tickets = new ArrayList<>();
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                     .builder()
-                     .setHeader()
-                     .setSkipHeaderRecord(true)
-                     .setIgnoreEmptyLines(true)
-                     .setTrim(true)
-                     .build())) {
-
-            for (CSVRecord record : csvParser) {
-                try {
-                    CreateTicketRequest ticket = new CreateTicketRequest();
-                    ticket.setCustomerId(record.get("customer_id"));
-                    ticket.setCustomerEmail(record.get("customer_email"));
-                    ticket.setCustomerName(record.get("customer_name"));
-                    ticket.setSubject(record.get("subject"));
-                    ticket.setDescription(record.get("description"));
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT
+            .builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
 
-                    // Optional fields
-                    if (record.isMapped("category") && !record.get("category").isEmpty()) {
-                        ticket.setCategory(TicketCategory.valueOf(record.get("category").toUpperCase()));
-                    }
+    private final ImportProperties importProperties;
 
-                    if (record.isMapped("priority") && !record.get("priority").isEmpty()) {
-                        ticket.setPriority(TicketPriority.valueOf(record.get("priority").toUpperCase()));
-                    }
+    public CsvFileParser(ImportProperties importProperties) {
+        this.importProperties = importProperties;
+    }
 
-                    if (record.isMapped("assigned_to") && !record.get("assigned_to").isEmpty()) {
-                        ticket.setAssignedTo(record.get("assigned_to"));
-                    }
+    @Override
+    public void parse(InputStream input, TicketRecordHandler handler) throws IOException {
+        parseRecords(input, CSV_FORMAT, 0, handler);
+    }
 
-                    if (record.isMapped("tags") && !record.get("tags").isEmpty()) {
-                        String tagsStr = record.get("tags");
-                        ticket.setTags(Arrays.asList(tagsStr.split(";")));
-                    }
+    /**
+     * Parses a slice of a larger file that starts on a record boundary past the header line.
+     * Record numbers continue from {@code recordsBefore}, the number of records in earlier slices.
+     */
+    public void parseSegment(InputStream input, String[] header, long recordsBefore, TicketRecordHandler handler) {
+        CSVFormat segmentFormat = CSV_FORMAT.builder()
+                .setHeader(header)
+                .setSkipHeaderRecord(false)
+                .build();
+        parseRecords(input, segmentFormat, recordsBefore, handler);
+    }
 
-                    if (record.isMapped("source") && !record.get("source").isEmpty()) {
-                        ticket.setSource(TicketSource.valueOf(record.get("source").toUpperCase()));
-                    }
+    public String[] parseHeader(String headerLine) {
+        try (CSVParser csvParser = CSVParser.parse(headerLine, CSVFormat.DEFAULT.builder().setTrim(true).build())) {
+            List<CSVRecord> records = csvParser.getRecords();
+            if (records.isEmpty()) {
+                throw new FileParseException("CSV file has no header line");
+            }
+            return records.getFirst().values();
+        } catch (IOException e) {
+            throw new FileParseException("Error reading CSV header: " + e.getMessage(), e);
+        }
+    }
 
-                    if (record.isMapped("browser") && !record.get("browser").isEmpty()) {
-                        ticket.setBrowser(record.get("browser"));
-                    }
+    private void parseRecords(InputStream input, CSVFormat format, long recordsBefore, TicketRecordHandler handler) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             CSVParser csvParser = new CSVParser(reader, format)) {
 
-                    if (record.isMapped("device_type") && !record.get("device_type").isEmpty()) {
-                        ticket.setDeviceType(DeviceType.valueOf(record.get("device_type").toUpperCase()));
-                    }
+            // Resolve column positions once instead of looking each field up by name on every row
+            CsvBindingPlan plan = CsvBindingPlan.compile(csvParser.getHeaderMap(), importProperties.getCsv().getColumnAliases());
 
-                    tickets.add(ticket);
+            long recordNumber = recordsBefore;
+            for (CSVRecord record : csvParser) {
+                recordNumber++;
+                CreateTicketRequest ticket;
+                try {
+                    ticket = plan.bind(record);
                 } catch (Exception e) {
-                    throw new FileParseException("Error parsing CSV record at line " + record.getRecordNumber() + ": " + e.getMessage(), e);
+                    handler.onError(recordNumber, new FileParseException(
+                            "Error parsing CSV record " + recordNumber + ": " + e.getMessage(), e));
+                    continue;
                 }
+                handler.onRecord(recordNumber, ticket);
             }
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new FileParseException("Error reading CSV file: " + e.getMessage(), e);
         }
-
-        return tickets;
     }
 
     @Override
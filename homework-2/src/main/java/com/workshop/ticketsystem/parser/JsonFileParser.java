@@ -1,45 +1,36 @@
 package com.workshop.ticketsystem.parser;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.workshop.ticketsystem.dto.CreateTicketRequest;
 import com.workshop.ticketsystem.exception.FileParseException;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
 
 @Component
-public class JsonFileParser implements FileParser {
+public class JsonFileParser implements StreamingFileParser {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
-    public List<CreateTicketRequest> parse(MultipartFile file) throws IOException {
-        try {
-            JsonNode rootNode = objectMapper.readTree(file.getInputStream());
+    public void parse(InputStream input, TicketRecordHandler handler) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            JsonToken rootToken = parser.nextToken();
 
             // Handle array format
-            if (rootNode.isArray()) {
-                return objectMapper.convertValue(rootNode, new TypeReference<List<CreateTicketRequest>>() {});
+            if (rootToken == JsonToken.START_ARRAY) {
+                streamArray(parser, handler);
+                return;
             }
 
-            // Handle object with "tickets" field
-            if (rootNode.has("tickets")) {
-                JsonNode ticketsNode = rootNode.get("tickets");
-                if (ticketsNode.isArray()) {
-                    return objectMapper.convertValue(ticketsNode, new TypeReference<List<CreateTicketRequest>>() {});
-                }
-            }
-
-            // Handle single object
-            if (rootNode.isObject()) {
-                List<CreateTicketRequest> tickets = new ArrayList<>();
-                tickets.add(objectMapper.convertValue(rootNode, CreateTicketRequest.class));
-                return tickets;
+            // Handle object with "tickets" field or a single object
+            if (rootToken == JsonToken.START_OBJECT) {
+                streamObject(parser, handler);
+                return;
             }
 
             throw new FileParseException("Invalid JSON structure. Expected array or object with 'tickets' field.");
@@ -48,6 +39,61 @@ public class JsonFileParser implements FileParser {
         }
     }
 
+    private void streamObject(JsonParser parser, TicketRecordHandler handler) throws IOException {
+        // Fields seen before "tickets" are buffered in case the root turns out to be a single ticket
+        TokenBuffer singleTicket = new TokenBuffer(parser);
+        singleTicket.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+
+            if ("tickets".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                streamArray(parser, handler);
+                return;
+            }
+
+            singleTicket.writeFieldName(fieldName);
+            singleTicket.copyCurrentStructure(parser);
+        }
+
+        singleTicket.writeEndObject();
+        // More input after a single ticket is most likely NDJSON; importing the first record alone would drop the rest
+        if (parser.nextToken() != null) {
+            throw new FileParseException("Invalid JSON structure. Unexpected content after the root object; "
+                    + "use format=ndjson for one ticket per line.");
+        }
+        emit(1, singleTicket, handler);
+    }
+
+    private void streamArray(JsonParser parser, TicketRecordHandler handler) throws IOException {
+        long recordNumber = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new FileParseException("Error parsing JSON file: unexpected end of input inside tickets array");
+            }
+            recordNumber++;
+
+            // Buffer one element so a bad record cannot leave the stream mid-object
+            TokenBuffer element = new TokenBuffer(parser);
+            element.copyCurrentStructure(parser);
+            emit(recordNumber, element, handler);
+        }
+    }
+
+    private void emit(long recordNumber, TokenBuffer buffer, TicketRecordHandler handler) throws IOException {
+        CreateTicketRequest ticket;
+        try (JsonParser recordParser = buffer.asParser(objectMapper)) {
+            ticket = objectMapper.readValue(recordParser, CreateTicketRequest.class);
+        } catch (IOException e) {
+            handler.onError(recordNumber, new FileParseException(
+                    "Error parsing JSON record " + recordNumber + ": " + e.getMessage(), e));
+            return;
+        }
+        handler.onRecord(recordNumber, ticket);
+    }
+
     @Override
     public String getSupportedFormat() {
         return "json";
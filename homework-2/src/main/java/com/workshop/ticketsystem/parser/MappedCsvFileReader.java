@@ -0,0 +1,305 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.exception.FileParseException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reads a CSV file from local disk by memory-mapping it and parsing line-aligned segments in
+ * parallel with {@link CsvFileParser}. A single sequential pass over the mapping finds segment
+ * boundaries; it tracks quotes the way the commons-csv lexer does, so a newline inside a quoted
+ * field never splits a record, and counts records so every segment knows its starting record number.
+ * <p>
+ * Parsed records are handed to the handler on the calling thread in file order. Segments are
+ * parsed concurrently into their own bounded queues, and the caller drains those queues one
+ * segment after another, so a segment that finished early waits until the ones before it are done.
+ */
+@Component
+@Slf4j
+public class MappedCsvFileReader {
+
+    // Upper bound for scanning the file in one mapping; segments themselves are smaller
+    private static final long SCAN_WINDOW = 256L * 1024 * 1024;
+
+    private final CsvFileParser csvFileParser;
+    private final ImportProperties importProperties;
+    private final ExecutorService segmentExecutor;
+
+    public MappedCsvFileReader(CsvFileParser csvFileParser, ImportProperties importProperties) {
+        this.csvFileParser = csvFileParser;
+        this.importProperties = importProperties;
+
+        int parallelism = importProperties.getParallelism() > 0
+                ? importProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.segmentExecutor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("csv-segment-", 1).daemon(true).factory());
+    }
+
+    /**
+     * @param segmentWrapper applied to each segment stream, e.g. to count bytes for progress
+     */
+    public void read(Path file, TicketRecordHandler handler, UnaryOperator<InputStream> segmentWrapper) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SegmentPlan plan = planSegments(channel);
+            log.info("Reading {} ({} bytes) in {} segments", file, channel.size(), plan.segments().size());
+            parseSegments(channel, plan, handler, segmentWrapper);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        segmentExecutor.shutdownNow();
+    }
+
+    SegmentPlan planSegments(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long targetSize = importProperties.getLocal().getSegmentSize().toBytes();
+        List<Segment> segments = new ArrayList<>();
+
+        String[] header = null;
+        long segmentStart = 0;
+        long records = 0;
+        long segmentFirstRecord = 0;
+        // A quote only opens a quoted field as the field's first character; elsewhere it is literal
+        boolean fieldStart = true;
+        boolean inQuotes = false;
+        // Inside a quoted field, a quote closes it unless the next byte is another quote
+        boolean quotePending = false;
+        boolean lineHasContent = false;
+
+        for (long windowStart = 0; windowStart < size; windowStart += SCAN_WINDOW) {
+            long windowLength = Math.min(SCAN_WINDOW, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+            for (int i = 0; i < windowLength; i++) {
+                byte b = window.get(i);
+                if (quotePending) {
+                    quotePending = false;
+                    if (b == '"') {
+                        continue;
+                    }
+                    inQuotes = false;
+                }
+                if (inQuotes) {
+                    quotePending = b == '"';
+                    continue;
+                }
+                if (b == '"' && fieldStart) {
+                    inQuotes = true;
+                    fieldStart = false;
+                    lineHasContent = true;
+                    continue;
+                }
+                fieldStart = b == ',';
+                if (b == '\n') {
+                    long lineEnd = windowStart + i + 1;
+                    if (header == null) {
+                        header = csvFileParser.parseHeader(decode(channel, 0, lineEnd));
+                        segmentStart = lineEnd;
+                    } else {
+                        if (lineHasContent) {
+                            records++;
+                        }
+                        if (lineEnd - segmentStart >= targetSize) {
+                            segments.add(new Segment(segmentStart, lineEnd, segmentFirstRecord));
+                            segmentStart = lineEnd;
+                            segmentFirstRecord = records;
+                        }
+                    }
+                    lineHasContent = false;
+                    fieldStart = true;
+                    continue;
+                }
+                if (b != '\r') {
+                    lineHasContent = true;
+                }
+            }
+        }
+
+        if (header == null) {
+            header = csvFileParser.parseHeader(decode(channel, 0, size));
+            segmentStart = size;
+        }
+        if (segmentStart < size) {
+            segments.add(new Segment(segmentStart, size, segmentFirstRecord));
+        }
+        return new SegmentPlan(header, segments);
+    }
+
+    private void parseSegments(FileChannel channel, SegmentPlan plan, TicketRecordHandler handler,
+                               UnaryOperator<InputStream> segmentWrapper) {
+        int batchSize = importProperties.getBatchSize();
+        List<BlockingQueue<List<ParsedRecord>>> queues = new ArrayList<>(plan.segments().size());
+        List<Future<?>> tasks = new ArrayList<>(plan.segments().size());
+
+        // Segments start in file order, so the one being drained is always running or done
+        for (Segment segment : plan.segments()) {
+            BlockingQueue<List<ParsedRecord>> queue = new ArrayBlockingQueue<>(importProperties.getMaxInFlightBatches());
+            queues.add(queue);
+            tasks.add(segmentExecutor.submit(() -> {
+                SegmentCollector collector = new SegmentCollector(queue, batchSize);
+                try {
+                    InputStream input = segmentWrapper.apply(new ByteBufferInputStream(map(channel, segment)));
+                    csvFileParser.parseSegment(input, plan.header(), segment.recordsBefore(), collector);
+                    collector.publish();
+                } catch (RuntimeException e) {
+                    collector.fail(e);
+                }
+                // An empty batch marks the end of a segment
+                collector.put(List.of());
+                return null;
+            }));
+        }
+
+        try {
+            for (BlockingQueue<List<ParsedRecord>> queue : queues) {
+                List<ParsedRecord> batch;
+                while (!(batch = queue.take()).isEmpty()) {
+                    for (ParsedRecord parsed : batch) {
+                        if (parsed.failure() != null) {
+                            throw parsed.failure();
+                        }
+                        if (parsed.error() != null) {
+                            handler.onError(parsed.recordNumber(), parsed.error());
+                        } else {
+                            handler.onRecord(parsed.recordNumber(), parsed.ticket());
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileParseException("CSV import interrupted", e);
+        } finally {
+            // Unblocks producers if the consumer stopped early
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private ByteBuffer map(FileChannel channel, Segment segment) {
+        long length = segment.end() - segment.start();
+        if (length > Integer.MAX_VALUE) {
+            throw new FileParseException("CSV segment starting at byte " + segment.start() + " exceeds 2 GB");
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, segment.start(), length);
+        } catch (IOException e) {
+            throw new FileParseException("Error mapping CSV file: " + e.getMessage(), e);
+        }
+    }
+
+    private String decode(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    record SegmentPlan(String[] header, List<Segment> segments) {
+    }
+
+    record Segment(long start, long end, long recordsBefore) {
+    }
+
+    private record ParsedRecord(long recordNumber, CreateTicketRequest ticket, FileParseException error,
+                                RuntimeException failure) {
+    }
+
+    private static class SegmentCollector implements TicketRecordHandler {
+
+        private final BlockingQueue<List<ParsedRecord>> queue;
+        private final int batchSize;
+        private List<ParsedRecord> batch;
+
+        SegmentCollector(BlockingQueue<List<ParsedRecord>> queue, int batchSize) {
+            this.queue = queue;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+            add(new ParsedRecord(recordNumber, ticket, null, null));
+        }
+
+        @Override
+        public void onError(long recordNumber, FileParseException error) {
+            add(new ParsedRecord(recordNumber, null, error, null));
+        }
+
+        void fail(RuntimeException failure) {
+            add(new ParsedRecord(0, null, null, failure));
+            publish();
+        }
+
+        void publish() {
+            if (!batch.isEmpty()) {
+                put(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        void put(List<ParsedRecord> records) {
+            try {
+                queue.put(records);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FileParseException("CSV import interrupted", e);
+            }
+        }
+
+        private void add(ParsedRecord record) {
+            batch.add(record);
+            if (batch.size() >= batchSize) {
+                publish();
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
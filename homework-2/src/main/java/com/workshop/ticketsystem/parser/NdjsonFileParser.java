@@ -0,0 +1,91 @@
+package com.workshop.ticketsystem.parser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.exception.FileParseException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Newline-delimited JSON: one ticket object per line. Lines are bound independently, so a
+ * malformed line is reported and the stream continues with the next one.
+ * <p>
+ * The handler writes full batches itself. A partial batch is only flushed once the sender has
+ * sent nothing for {@code ticket-system.import.ingest.idle-flush}, so a slow feed does not wait
+ * for a full batch while a fast one is not cut into small batches at every read buffer boundary.
+ */
+@Component
+public class NdjsonFileParser implements StreamingFileParser {
+
+    private static final long IDLE_POLL_MILLIS = 5;
+
+    private final ObjectReader ticketReader = new ObjectMapper().readerFor(CreateTicketRequest.class);
+    private final Duration idleFlush;
+
+    public NdjsonFileParser(ImportProperties importProperties) {
+        this.idleFlush = importProperties.getIngest().getIdleFlush();
+    }
+
+    @Override
+    public void parse(InputStream input, TicketRecordHandler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    emit(lineNumber, line, handler);
+                }
+
+                if (!reader.ready() && isIdle(reader)) {
+                    handler.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new FileParseException("Error reading NDJSON stream at line " + (lineNumber + 1) + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Waits up to the idle timeout for more input; true when none arrived
+    private boolean isIdle(BufferedReader reader) throws IOException {
+        long deadline = System.nanoTime() + idleFlush.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(IDLE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+            if (reader.ready()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void emit(long lineNumber, String line, TicketRecordHandler handler) {
+        CreateTicketRequest ticket;
+        try {
+            ticket = ticketReader.readValue(line);
+        } catch (IOException e) {
+            handler.onError(lineNumber, new FileParseException(
+                    "Error parsing NDJSON line " + lineNumber + ": " + e.getMessage(), e));
+            return;
+        }
+        handler.onRecord(lineNumber, ticket);
+    }
+
+    @Override
+    public String getSupportedFormat() {
+        return "ndjson";
+    }
+}
@@ -3,6 +3,7 @@ package com.workshop.ticketsystem.parser;
 import com.workshop.ticketsystem.exception.FileParseException;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -17,8 +18,13 @@ public class ParserFactory {
         this.parsers = parserList.stream()
                 .collect(Collectors.toMap(
                         parser -> parser.getSupportedFormat().toLowerCase(),
-                        Function.identity()
+                        Function.identity(),
+                        (a, b) -> a,
+                        LinkedHashMap::new
                 ));
+
+        // Dispatches to the parsers above, so it cannot be one of the injected beans
+        this.parsers.put(ContentSniffingParser.FORMAT, new ContentSniffingParser(this));
     }
 
     public FileParser getParser(String format) {
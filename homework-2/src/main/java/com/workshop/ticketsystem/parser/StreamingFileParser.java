@@ -0,0 +1,28 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser that hands records to a {@link TicketRecordHandler} one at a time instead of
+ * materializing the whole file. Record-level problems are reported through
+ * {@link TicketRecordHandler#onError} so the caller decides whether to continue.
+ */
+public interface StreamingFileParser extends FileParser {
+
+    void parse(InputStream input, TicketRecordHandler handler) throws IOException;
+
+    @Override
+    default List<CreateTicketRequest> parse(MultipartFile file) throws IOException {
+        List<CreateTicketRequest> tickets = new ArrayList<>();
+        try (InputStream input = file.getInputStream()) {
+            parse(input, TicketRecordHandler.collectingInto(tickets));
+        }
+        return tickets;
+    }
+}
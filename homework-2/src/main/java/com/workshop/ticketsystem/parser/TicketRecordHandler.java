@@ -0,0 +1,32 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.exception.FileParseException;
+
+import java.util.List;
+
+public interface TicketRecordHandler {
+
+    void onRecord(long recordNumber, CreateTicketRequest ticket);
+
+    void onError(long recordNumber, FileParseException error);
+
+    // Called by parsers reading a live stream when no further input is immediately available
+    default void flush() {
+    }
+
+    // Collects every record and fails on the first bad one, matching the list-based parse contract
+    static TicketRecordHandler collectingInto(List<CreateTicketRequest> tickets) {
+        return new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                tickets.add(ticket);
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                throw error;
+            }
+        };
+    }
+}
@@ -1,62 +1,90 @@
 package com.workshop.ticketsystem.parser;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
-import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import com.workshop.ticketsystem.dto.CreateTicketRequest;
 import com.workshop.ticketsystem.exception.FileParseException;
+import org.codehaus.stax2.XMLStreamReader2;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
 
 @Component
-public class XmlFileParser implements FileParser {
+public class XmlFileParser implements StreamingFileParser {
+
+    private static final String WRAPPER_ELEMENT = "tickets";
 
     private final XmlMapper xmlMapper = new XmlMapper();
 
     @Override
-    public List<CreateTicketRequest> parse(MultipartFile file) throws IOException {
+    public void parse(InputStream input, TicketRecordHandler handler) throws IOException {
+        XMLStreamReader reader = null;
         try {
-            String xmlContent = new String(file.getBytes());
+            // Reading from the byte stream lets the StAX reader honour the declared encoding
+            reader = xmlMapper.getFactory().getXMLInputFactory().createXMLStreamReader(input);
+            reader.nextTag();
 
-            // Handle wrapper <tickets> element
-            if (xmlContent.contains("<tickets>")) {
-                TicketsWrapper wrapper = xmlMapper.readValue(xmlContent, TicketsWrapper.class);
-                return wrapper.getTickets();
+            // Handle wrapper <tickets> element: every child element is one ticket
+            if (WRAPPER_ELEMENT.equals(reader.getLocalName())) {
+                long recordNumber = 0;
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    recordNumber++;
+                    emit(recordNumber, reader, handler);
+                }
+                return;
             }
 
             // Handle single ticket
-            List<CreateTicketRequest> tickets = new ArrayList<>();
-            tickets.add(xmlMapper.readValue(xmlContent, CreateTicketRequest.class));
-            return tickets;
-        } catch (IOException e) {
+            emit(1, reader, handler);
+        } catch (XMLStreamException e) {
             throw new FileParseException("Error parsing XML file: " + e.getMessage(), e);
+        } finally {
+            closeQuietly(reader);
         }
     }
 
-    @Override
-    public String getSupportedFormat() {
-        return "xml";
-    }
+    private void emit(long recordNumber, XMLStreamReader reader, TicketRecordHandler handler)
+            throws XMLStreamException {
+        int elementDepth = reader instanceof XMLStreamReader2 reader2 ? reader2.getDepth() : -1;
 
-    // Wrapper class for <tickets> element
-    @JacksonXmlRootElement(localName = "tickets")
-    private static class TicketsWrapper {
-        @JacksonXmlElementWrapper(useWrapping = false)
-        @JacksonXmlProperty(localName = "tickets")
-        private List<CreateTicketRequest> tickets;
+        CreateTicketRequest ticket;
+        try {
+            ticket = xmlMapper.readValue(reader, CreateTicketRequest.class);
+        } catch (IOException e) {
+            if (elementDepth < 0) {
+                throw new FileParseException("Error parsing XML file: " + e.getMessage(), e);
+            }
+            // Skip the rest of the broken element so the next sibling can still be read
+            skipToEndOf(reader, elementDepth);
+            handler.onError(recordNumber, new FileParseException(
+                    "Error parsing XML file at record " + recordNumber + ": " + e.getMessage(), e));
+            return;
+        }
+        handler.onRecord(recordNumber, ticket);
+    }
 
-        public List<CreateTicketRequest> getTickets() {
-            return tickets != null ? tickets : new ArrayList<>();
+    private void skipToEndOf(XMLStreamReader reader, int elementDepth) throws XMLStreamException {
+        XMLStreamReader2 reader2 = (XMLStreamReader2) reader;
+        while (!(reader2.getEventType() == XMLStreamConstants.END_ELEMENT && reader2.getDepth() == elementDepth)) {
+            reader2.next();
         }
+    }
 
-        public void setTickets(List<CreateTicketRequest> tickets) {
-            this.tickets = tickets;
+    private void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+                // Nothing left to release
+            }
         }
     }
+
+    @Override
+    public String getSupportedFormat() {
+        return "xml";
+    }
 }
@@ -0,0 +1,22 @@
+package com.workshop.ticketsystem.repository;
+
+import com.workshop.ticketsystem.entity.KeywordDictionaryEntry;
+import com.workshop.ticketsystem.enums.KeywordKind;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface KeywordDictionaryRepository extends JpaRepository<KeywordDictionaryEntry, UUID> {
+
+    List<KeywordDictionaryEntry> findAllByOrderByKindAscLabelAscPositionAsc();
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM KeywordDictionaryEntry k WHERE k.kind = :kind AND k.label = :label")
+    void deleteByKindAndLabel(@Param("kind") KeywordKind kind, @Param("label") String label);
+}
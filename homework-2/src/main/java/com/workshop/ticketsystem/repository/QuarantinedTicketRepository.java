@@ -0,0 +1,38 @@
+package com.workshop.ticketsystem.repository;
+
+import com.workshop.ticketsystem.entity.QuarantinedTicket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface QuarantinedTicketRepository extends JpaRepository<QuarantinedTicket, UUID> {
+
+    List<QuarantinedTicket> findAllByOrderByCreatedAtAscRecordNumberAsc(Pageable pageable);
+
+    List<QuarantinedTicket> findByImportIdOrderByRecordNumberAsc(UUID importId, Pageable pageable);
+
+    @Query("SELECT q.id FROM QuarantinedTicket q WHERE q.importId = :importId ORDER BY q.recordNumber")
+    List<UUID> findIdsByImportId(@Param("importId") UUID importId);
+
+    // A conditional UPDATE, so of two runs claiming the same record only one sees it change
+    @Modifying
+    @Query("UPDATE QuarantinedTicket q SET q.claimedBy = :claimedBy, q.claimedAt = :now "
+            + "WHERE q.id IN :ids AND (q.claimedBy IS NULL OR q.claimedAt < :staleBefore)")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("claimedBy") UUID claimedBy,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    List<QuarantinedTicket> findByClaimedByAndIdIn(UUID claimedBy, Collection<UUID> ids);
+
+    @Modifying
+    @Query("UPDATE QuarantinedTicket q SET q.claimedBy = NULL, q.claimedAt = NULL WHERE q.claimedBy = :claimedBy")
+    int release(@Param("claimedBy") UUID claimedBy);
+}
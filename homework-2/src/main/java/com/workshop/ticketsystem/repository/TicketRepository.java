@@ -4,12 +4,16 @@ import com.workshop.ticketsystem.entity.Ticket;
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
 import com.workshop.ticketsystem.enums.TicketStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -43,6 +47,38 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
             @Param("status") TicketStatus status
     );
 
+    // First page of matching ids; later pages continue with findIdsByFiltersAfter
+    @Query("SELECT t.id FROM Ticket t WHERE " +
+           "(:category IS NULL OR t.category = :category) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:status IS NULL OR t.status = :status) " +
+           "ORDER BY t.id")
+    List<UUID> findIdsByFilters(
+            @Param("category") TicketCategory category,
+            @Param("priority") TicketPriority priority,
+            @Param("status") TicketStatus status,
+            Limit limit
+    );
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id > :after AND " +
+           "(:category IS NULL OR t.category = :category) AND " +
+           "(:priority IS NULL OR t.priority = :priority) AND " +
+           "(:status IS NULL OR t.status = :status) " +
+           "ORDER BY t.id")
+    List<UUID> findIdsByFiltersAfter(
+            @Param("category") TicketCategory category,
+            @Param("priority") TicketPriority priority,
+            @Param("status") TicketStatus status,
+            @Param("after") UUID after,
+            Limit limit
+    );
+
+    List<TicketText> findTextByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT t.contentHash FROM Ticket t WHERE t.contentHash IN :hashes AND t.createdAt < :createdBefore")
+    Set<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes,
+                                          @Param("createdBefore") LocalDateTime createdBefore);
+
     List<Ticket> findByCustomerId(String customerId);
 
     List<Ticket> findByAssignedTo(String assignedTo);
@@ -0,0 +1,15 @@
+package com.workshop.ticketsystem.repository;
+
+import java.util.UUID;
+
+/**
+ * The columns classification needs, so batch classification does not load whole tickets.
+ */
+public interface TicketText {
+
+    UUID getId();
+
+    String getSubject();
+
+    String getDescription();
+}
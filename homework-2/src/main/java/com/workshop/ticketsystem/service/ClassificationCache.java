@@ -0,0 +1,240 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ClassificationProperties;
+import com.workshop.ticketsystem.dto.ClassificationCacheStats;
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of classification results, keyed by the ticket text and the version of
+ * the keyword dictionary the result was computed with. Many tickets are
+ * near-verbatim templates, so their classification only has to be computed once.
+ * <p>
+ * The text is normalized only by case folding, the one difference keyword matching ignores
+ * anyway; anything more (e.g. collapsing whitespace) could change which keywords match.
+ * Keys are looked up by two 64-bit polynomial hashes with multipliers chosen at random on
+ * startup. Such hashes do collide, e.g. for Thue–Morse strings whatever the multipliers, so a
+ * key keeps the text and a hit is only taken when the case-folded text matches as well. The
+ * cache is split into independently locked segments for parallel classification.
+ */
+@Component
+public class ClassificationCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final int maximumSize;
+    private final Segment[] segments;
+    private final long multiplier1 = ThreadLocalRandom.current().nextLong() | 1;
+    private final long multiplier2 = ThreadLocalRandom.current().nextLong() | 1;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ClassificationCache(ClassificationProperties classificationProperties) {
+        this.maximumSize = Math.max(0, classificationProperties.getCache().getMaximumSize());
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = (maximumSize + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Returns the cached classification of {@code "<subject> <description>"} for this
+     * dictionary version, computing and caching it when missing. Every call gets its own
+     * result instance.
+     */
+    ClassificationResult get(long dictionaryVersion, String subject, String description,
+                             Supplier<ClassificationResult> compute) {
+        if (maximumSize == 0) {
+            return compute.get();
+        }
+        Key key = key(dictionaryVersion, String.valueOf(subject), String.valueOf(description));
+        Segment segment = segments[(int) (key.hash1 >>> 60)];
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry.toResult();
+        }
+
+        misses.increment();
+        entry = new Entry(compute.get());
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+        return entry.toResult();
+    }
+
+    /**
+     * Drops every entry, e.g. after the keyword dictionary changed. Counters are kept.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public ClassificationCacheStats stats(long dictionaryVersion) {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new ClassificationCacheStats(maximumSize > 0, maximumSize, size, hitCount, missCount,
+                evictions.sum(), requests > 0 ? (double) hitCount / requests : 0.0, dictionaryVersion);
+    }
+
+    private Key key(long dictionaryVersion, String subject, String description) {
+        long hash1 = 0;
+        long hash2 = 0;
+        for (int i = 0; i < subject.length(); i++) {
+            char c = Character.toLowerCase(subject.charAt(i));
+            hash1 = hash1 * multiplier1 + c;
+            hash2 = hash2 * multiplier2 + c;
+        }
+        hash1 = hash1 * multiplier1 + ' ';
+        hash2 = hash2 * multiplier2 + ' ';
+        for (int i = 0; i < description.length(); i++) {
+            char c = Character.toLowerCase(description.charAt(i));
+            hash1 = hash1 * multiplier1 + c;
+            hash2 = hash2 * multiplier2 + c;
+        }
+        // Spread the polynomial hash so the segment index taken from the top bits is uniform
+        hash1 ^= hash1 >>> 31;
+        hash1 *= 0xbf58476d1ce4e5b9L;
+        hash1 ^= hash1 >>> 29;
+        return new Key(dictionaryVersion, hash1, hash2, subject, description);
+    }
+
+    /**
+     * Equal when the dictionary version, both hashes and the case-folded text match. The text is
+     * compared in place, so a lookup allocates no folded copy.
+     */
+    private static final class Key {
+
+        private final long dictionaryVersion;
+        private final long hash1;
+        private final long hash2;
+        private final String subject;
+        private final String description;
+
+        Key(long dictionaryVersion, long hash1, long hash2, String subject, String description) {
+            this.dictionaryVersion = dictionaryVersion;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+            this.subject = subject;
+            this.description = description;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && dictionaryVersion == key.dictionaryVersion
+                    && hash1 == key.hash1
+                    && hash2 == key.hash2
+                    && equalsFolded(subject, key.subject)
+                    && equalsFolded(description, key.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash1 ^ dictionaryVersion);
+        }
+
+        // Same folding as the hashes, one char at a time
+        private static boolean equalsFolded(String a, String b) {
+            if (a.length() != b.length()) {
+                return false;
+            }
+            for (int i = 0; i < a.length(); i++) {
+                if (Character.toLowerCase(a.charAt(i)) != Character.toLowerCase(b.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Key, Entry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Immutable copy of a result. The reasoning is still built only once it is first read,
+     * and then at most once per entry.
+     */
+    private static final class Entry {
+
+        private final TicketCategory category;
+        private final TicketPriority priority;
+        private final Double confidenceScore;
+        private final List<String> keywordsFound;
+        private ClassificationResult source;
+        private volatile String reasoning;
+
+        Entry(ClassificationResult result) {
+            this.category = result.getCategory();
+            this.priority = result.getPriority();
+            this.confidenceScore = result.getConfidenceScore();
+            this.keywordsFound = List.copyOf(result.getKeywordsFound());
+            this.source = result;
+        }
+
+        ClassificationResult toResult() {
+            ClassificationResult result = new ClassificationResult();
+            result.setCategory(category);
+            result.setPriority(priority);
+            result.setConfidenceScore(confidenceScore);
+            result.setKeywordsFound(keywordsFound);
+            result.deferReasoning(this::reasoning);
+            return result;
+        }
+
+        private String reasoning() {
+            String text = reasoning;
+            if (text == null) {
+                synchronized (this) {
+                    if (reasoning == null) {
+                        reasoning = source.getReasoning();
+                        source = null;
+                    }
+                    text = reasoning;
+                }
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.workshop.ticketsystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * Moves matched keywords of existing classification logs from the old
+ * {@code classification_keywords} table, one row per keyword, into the
+ * {@code classification_logs.keywords_found} array column, then drops the old table.
+ * Runs on startup and does nothing once the old table is gone. On PostgreSQL, instances
+ * starting at the same time take turns on an advisory lock, so only the first one migrates.
+ */
+@Component
+@Slf4j
+public class ClassificationKeywordsMigration implements SmartInitializingSingleton {
+
+    static final String LEGACY_TABLE = "classification_keywords";
+
+    private static final String COPY_KEYWORDS = """
+            UPDATE classification_logs l
+            SET keywords_found = (SELECT ARRAY_AGG(k.keyword) FROM classification_keywords k WHERE k.log_id = l.id)
+            WHERE l.keywords_found IS NULL
+              AND EXISTS (SELECT 1 FROM classification_keywords k WHERE k.log_id = l.id)
+            """;
+
+    // Logs without keywords had no rows in the old table
+    private static final String FILL_EMPTY_POSTGRES = "UPDATE classification_logs SET keywords_found = '{}' WHERE keywords_found IS NULL";
+    private static final String FILL_EMPTY = "UPDATE classification_logs SET keywords_found = ARRAY[] WHERE keywords_found IS NULL";
+
+    private static final String DROP_LEGACY_TABLE = "DROP TABLE IF EXISTS " + LEGACY_TABLE;
+
+    // Held until the migrating transaction ends
+    private static final String LOCK_POSTGRES = "SELECT pg_advisory_xact_lock(?)";
+    private static final long LOCK_KEY = LEGACY_TABLE.hashCode();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public ClassificationKeywordsMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    void migrate() {
+        if (!legacyTableExists()) {
+            return;
+        }
+        boolean postgres = isPostgres();
+        transaction.executeWithoutResult(status -> {
+            if (postgres) {
+                jdbcTemplate.query(LOCK_POSTGRES, rs -> {
+                }, LOCK_KEY);
+                // Another instance may have migrated while this one waited for the lock
+                if (!legacyTableExists()) {
+                    return;
+                }
+            }
+            int migrated = jdbcTemplate.update(COPY_KEYWORDS);
+            jdbcTemplate.update(postgres ? FILL_EMPTY_POSTGRES : FILL_EMPTY);
+            jdbcTemplate.execute(DROP_LEGACY_TABLE);
+            log.info("Moved keywords of {} classification logs into classification_logs.keywords_found", migrated);
+        });
+    }
+
+    private boolean legacyTableExists() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(), (DatabaseMetaData metaData) -> {
+                // Unquoted names are stored lower case by PostgreSQL, upper case by H2
+                for (String name : new String[]{LEGACY_TABLE, LEGACY_TABLE.toUpperCase()}) {
+                    try (ResultSet tables = metaData.getTables(null, null, name, new String[]{"TABLE"})) {
+                        if (tables.next()) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            });
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not check for table {}: {}", LEGACY_TABLE, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.workshop.ticketsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.config.ClassificationProperties;
+import com.workshop.ticketsystem.entity.ClassificationLog;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind persistence of classification logs. Logs are queued once the caller's
+ * transaction has committed and inserted in batches by a background thread, so requests
+ * that classify do not wait for the audit inserts.
+ * <p>
+ * When the queue is full the caller writes its own logs. Logs that cannot be written are
+ * appended to the optional spill file and replayed on the next start; on shutdown the queue
+ * is flushed first, unless configured otherwise. With the writer disabled, logs are inserted
+ * synchronously in the caller's transaction.
+ */
+@Component
+@Slf4j
+public class ClassificationLogWriter implements SmartInitializingSingleton {
+
+    private static final String REPLAYING_SUFFIX = ".replaying";
+
+    private final ClassificationLogRepository classificationLogRepository;
+    private final ClassificationProperties.LogWriter settings;
+    private final ObjectMapper objectMapper;
+    // Own transactions: the worker has none, and callers hand logs over after their commit
+    private final TransactionTemplate transaction;
+    private final BlockingQueue<ClassificationLog> queue;
+    private final Object spillLock = new Object();
+    // Held shared while logs are queued and exclusively to stop accepting, so nothing is queued
+    // after shutdown has drained the queue
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread worker;
+
+    public ClassificationLogWriter(ClassificationLogRepository classificationLogRepository,
+                                   ClassificationProperties classificationProperties,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.classificationLogRepository = classificationLogRepository;
+        this.settings = classificationProperties.getLogWriter();
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        replaySpillFile();
+        running = true;
+        accepting = true;
+        worker = Thread.ofPlatform().name("classification-log-writer").daemon(true).start(this::run);
+    }
+
+    /**
+     * Persists the logs, behind the caller's back when the writer is enabled.
+     */
+    public void write(List<ClassificationLog> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        if (!accepting) {
+            classificationLogRepository.saveAll(logs);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A rolled-back ticket must not leave a log behind
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(logs);
+                }
+            });
+        } else {
+            enqueue(logs);
+        }
+    }
+
+    /**
+     * Logs queued and not yet written.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker == null) {
+            return;
+        }
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        running = false;
+        if (!settings.isFlushOnShutdown()) {
+            worker.interrupt();
+        }
+        try {
+            worker.join(settings.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+        }
+
+        List<ClassificationLog> left = new ArrayList<>();
+        queue.drainTo(left);
+        if (!left.isEmpty()) {
+            spill(left);
+        }
+    }
+
+    private void enqueue(List<ClassificationLog> logs) {
+        List<ClassificationLog> overflow = null;
+        acceptLock.readLock().lock();
+        try {
+            if (!accepting) {
+                // Committed after shutdown began; the worker may already be gone
+                overflow = logs;
+            } else {
+                for (ClassificationLog entry : logs) {
+                    if (!queue.offer(entry)) {
+                        if (overflow == null) {
+                            overflow = new ArrayList<>();
+                        }
+                        overflow.add(entry);
+                    }
+                }
+            }
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        if (overflow != null) {
+            // Back-pressure: the caller pays for its own logs until the writer catches up
+            persist(overflow);
+        }
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, settings.getBatchSize());
+        long flushIntervalNanos = settings.getFlushInterval().toNanos();
+        List<ClassificationLog> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                ClassificationLog first = running ? queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || !running || remaining <= 0) {
+                        break;
+                    }
+                    ClassificationLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                persist(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Shutdown without flushing; what is left is spilled by shutdown()
+            if (!batch.isEmpty()) {
+                spill(batch);
+            }
+        }
+    }
+
+    private void persist(List<ClassificationLog> logs) {
+        try {
+            transaction.executeWithoutResult(status -> classificationLogRepository.saveAll(logs));
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} classification logs: {}", logs.size(), e.getMessage());
+            spill(logs);
+        }
+    }
+
+    void spill(List<ClassificationLog> logs) {
+        String spillFile = settings.getSpillFile();
+        if (spillFile == null || spillFile.isBlank()) {
+            log.warn("Dropped {} classification logs, no spill file configured", logs.size());
+            return;
+        }
+        synchronized (spillLock) {
+            Path path = Path.of(spillFile);
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (ClassificationLog entry : logs) {
+                        writer.write(objectMapper.writeValueAsString(SpilledLog.of(entry)));
+                        writer.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Dropped {} classification logs, could not write spill file {}: {}",
+                        logs.size(), path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the logs spilled by an earlier run. The file is moved aside before the insert
+     * commits, so a crash after the commit cannot replay the same logs twice; if the insert
+     * fails it is moved back for the next start.
+     */
+    void replaySpillFile() {
+        String spillFile = settings.getSpillFile();
+        if (spillFile == null || spillFile.isBlank()) {
+            return;
+        }
+        Path replaying = Path.of(spillFile + REPLAYING_SUFFIX);
+        if (Files.exists(replaying)) {
+            log.warn("Found {} from an interrupted replay; its logs may already be written and are not replayed again",
+                    replaying);
+        }
+        if (!Files.isRegularFile(Path.of(spillFile))) {
+            return;
+        }
+        synchronized (spillLock) {
+            Path path = Path.of(spillFile);
+            List<ClassificationLog> logs = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(path)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        logs.add(objectMapper.readValue(line, SpilledLog.class).toLog());
+                    } catch (JsonProcessingException e) {
+                        log.warn("Skipping unreadable line in classification spill file {}: {}", path, e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Could not read classification spill file {}: {}", path, e.getMessage());
+                return;
+            }
+
+            try {
+                Files.move(path, replaying, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                log.warn("Could not move classification spill file {} aside, not replaying it: {}", path, e.getMessage());
+                return;
+            }
+
+            try {
+                int batchSize = Math.max(1, settings.getBatchSize());
+                transaction.executeWithoutResult(status -> {
+                    for (int from = 0; from < logs.size(); from += batchSize) {
+                        classificationLogRepository.saveAll(logs.subList(from, Math.min(logs.size(), from + batchSize)));
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.warn("Could not replay classification spill file {}: {}", path, e.getMessage());
+                try {
+                    // Kept for the next start
+                    Files.move(replaying, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException moveBack) {
+                    log.error("Could not move {} back to {}: {}", replaying, path, moveBack.getMessage());
+                }
+                return;
+            }
+            log.info("Replayed {} spilled classification logs from {}", logs.size(), path);
+            try {
+                Files.delete(replaying);
+            } catch (IOException e) {
+                log.warn("Could not delete replayed classification spill file {}: {}", replaying, e.getMessage());
+            }
+        }
+    }
+
+    // Detached from the entity, so ids assigned during a failed insert are not carried over
+    private record SpilledLog(UUID ticketId, TicketCategory suggestedCategory, TicketPriority suggestedPriority,
+                              Double confidenceScore, String reasoning, List<String> keywordsFound,
+                              LocalDateTime classifiedAt) {
+
+        static SpilledLog of(ClassificationLog log) {
+            return new SpilledLog(log.getTicketId(), log.getSuggestedCategory(), log.getSuggestedPriority(),
+                    log.getConfidenceScore(), log.getReasoning(), List.copyOf(log.getKeywordsFound()),
+                    log.getClassifiedAt());
+        }
+
+        ClassificationLog toLog() {
+            ClassificationLog log = new ClassificationLog();
+            log.setTicketId(ticketId);
+            log.setSuggestedCategory(suggestedCategory);
+            log.setSuggestedPriority(suggestedPriority);
+            log.setConfidenceScore(confidenceScore);
+            log.setReasoning(reasoning);
+            log.setKeywordsFound(new ArrayList<>(keywordsFound));
+            log.setClassifiedAt(classifiedAt);
+            return log;
+        }
+    }
+}
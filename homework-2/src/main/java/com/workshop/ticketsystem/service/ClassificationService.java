@@ -1,13 +1,47 @@
 package com.workshop.ticketsystem.service;
 
+import com.workshop.ticketsystem.dto.AutoClassifyRequest;
+import com.workshop.ticketsystem.dto.BatchClassificationResponse;
+import com.workshop.ticketsystem.dto.ClassificationCacheStats;
 import com.workshop.ticketsystem.dto.ClassificationResult;
 import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.enums.ClassificationEngine;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface ClassificationService {
 
+    ClassificationEngine getEngine();
+
+    /**
+     * Throws a {@link com.workshop.ticketsystem.exception.ValidationException} when the engine
+     * cannot classify yet, e.g. before its model has been trained.
+     */
+    default void requireReady() {
+    }
+
     ClassificationResult classify(Ticket ticket);
 
+    ClassificationResult evaluate(String subject, String description);
+
+    void logClassification(UUID ticketId, ClassificationResult result);
+
+    /**
+     * Logs several classifications with batched inserts; {@code results.get(i)} belongs to
+     * {@code ticketIds.get(i)}.
+     */
+    void logClassifications(List<UUID> ticketIds, List<ClassificationResult> results);
+
     ClassificationResult classifyById(UUID ticketId);
+
+    /**
+     * Classifies the requested tickets batch by batch, in parallel within a batch, and logs
+     * each batch in one transaction.
+     */
+    BatchClassificationResponse classifyAll(AutoClassifyRequest request);
+
+    ClassificationCacheStats cacheStats();
+
+    void clearCache();
 }
@@ -0,0 +1,25 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class ClassificationServiceFactory {
+
+    private final Map<ClassificationEngine, ClassificationService> services = new EnumMap<>(ClassificationEngine.class);
+
+    public ClassificationServiceFactory(List<ClassificationService> serviceList) {
+        serviceList.forEach(service -> services.putIfAbsent(service.getEngine(), service));
+    }
+
+    /**
+     * @param engine null for the default keyword engine
+     */
+    public ClassificationService getService(ClassificationEngine engine) {
+        return services.get(engine != null ? engine : ClassificationEngine.KEYWORD);
+    }
+}
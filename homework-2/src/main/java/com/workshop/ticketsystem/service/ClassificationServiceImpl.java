@@ -1,98 +1,129 @@
 package com.workshop.ticketsystem.service;
 
+import com.workshop.ticketsystem.config.ClassificationProperties;
+import com.workshop.ticketsystem.dto.AutoClassifyRequest;
+import com.workshop.ticketsystem.dto.BatchClassificationResponse;
+import com.workshop.ticketsystem.dto.ClassificationCacheStats;
 import com.workshop.ticketsystem.dto.ClassificationResult;
 import com.workshop.ticketsystem.entity.ClassificationLog;
 import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.enums.ClassificationEngine;
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
 import com.workshop.ticketsystem.exception.TicketNotFoundException;
 import com.workshop.ticketsystem.repository.ClassificationLogRepository;
 import com.workshop.ticketsystem.repository.TicketRepository;
+import com.workshop.ticketsystem.repository.TicketText;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 @Service
+@Primary
 @RequiredArgsConstructor
 public class ClassificationServiceImpl implements ClassificationService {
 
     private final TicketRepository ticketRepository;
     private final ClassificationLogRepository classificationLogRepository;
+    private final ClassificationProperties classificationProperties;
+    private final ClassificationCache classificationCache;
+    private final KeywordDictionaryService keywordDictionaryService;
+    private final ClassificationLogWriter classificationLogWriter;
 
-    // Category keywords mapping
-    private static final Map<TicketCategory, List<String>> CATEGORY_KEYWORDS = Map.of(
-            TicketCategory.ACCOUNT_ACCESS, Arrays.asList("login", "password", "2fa", "sign in", "authentication", "access denied", "locked out", "reset password", "forgot password", "cannot login"),
-            TicketCategory.TECHNICAL_ISSUE, Arrays.asList("error", "bug", "crash", "broken", "not working", "failure", "exception", "timeout", "slow", "performance"),
-            TicketCategory.BILLING_QUESTION, Arrays.asList("billing", "invoice", "payment", "charge", "refund", "subscription", "pricing", "credit card", "cost", "fee"),
-            TicketCategory.FEATURE_REQUEST, Arrays.asList("feature", "request", "enhancement", "improvement", "add", "new feature", "would like", "suggest", "could you add", "need"),
-            TicketCategory.BUG_REPORT, Arrays.asList("bug", "issue", "defect", "incorrect", "wrong", "broken functionality", "not behaving", "unexpected", "error message", "fails"),
-            TicketCategory.OTHER, Arrays.asList("other", "general", "question", "help", "support", "inquiry")
-    );
-
-    // Priority keywords mapping
-    private static final Map<TicketPriority, List<String>> PRIORITY_KEYWORDS = Map.of(
-            TicketPriority.URGENT, Arrays.asList("urgent", "critical", "production down", "can't access", "immediately", "asap", "emergency", "outage", "cannot work", "blocking"),
-            TicketPriority.HIGH, Arrays.asList("important", "high priority", "serious", "major", "significant impact", "affecting many", "soon", "quickly"),
-            TicketPriority.MEDIUM, Arrays.asList("moderate", "normal", "standard", "regular", "when possible", "sometime"),
-            TicketPriority.LOW, Arrays.asList("low", "minor", "small", "cosmetic", "nice to have", "eventually", "whenever", "not urgent")
-    );
+    // Reused by every classification on a thread, so matching itself allocates nothing
+    private static final ThreadLocal<MatchScratch> SCRATCH = new ThreadLocal<>();
+
+    @Override
+    public ClassificationEngine getEngine() {
+        return ClassificationEngine.KEYWORD;
+    }
 
     @Override
     @Transactional
     public ClassificationResult classify(Ticket ticket) {
-        String content = (ticket.getSubject() + " " + ticket.getDescription()).toLowerCase();
+        ClassificationResult result = evaluate(ticket.getSubject(), ticket.getDescription());
+        logClassification(ticket.getId(), result);
+        return result;
+    }
 
-        // Classify category
-        Map.Entry<TicketCategory, CategoryMatchResult> categoryResult = classifyCategory(content);
-        TicketCategory category = categoryResult.getKey();
-        CategoryMatchResult categoryMatch = categoryResult.getValue();
+    @Override
+    public ClassificationResult evaluate(String subject, String description) {
+        // One snapshot for the whole classification; a concurrent dictionary edit publishes a new one
+        KeywordDictionary dictionary = keywordDictionaryService.current();
+        return classificationCache.get(dictionary.version(), subject, description,
+                () -> match(dictionary, subject, description));
+    }
 
-        // Classify priority
-        Map.Entry<TicketPriority, PriorityMatchResult> priorityResult = classifyPriority(content);
-        TicketPriority priority = priorityResult.getKey();
-        PriorityMatchResult priorityMatch = priorityResult.getValue();
+    private ClassificationResult match(KeywordDictionary dictionary, String subject, String description) {
+        // Matched as the text "<subject> <description>" without building it
+        MatchScratch scratch = scratchFor(dictionary);
+        scratch.reset();
+        int state = dictionary.matcher.scan(String.valueOf(subject), 0, scratch);
+        state = dictionary.matcher.scan(" ", state, scratch);
+        dictionary.matcher.scan(String.valueOf(description), state, scratch);
+
+        // Classify category and priority: the group with the most distinct keywords wins
+        int categoryGroupCount = dictionary.categoryGroups.length;
+        int categoryGroup = bestGroup(scratch, 0, categoryGroupCount);
+        int priorityGroup = bestGroup(scratch, categoryGroupCount, dictionary.groupCount());
+        TicketCategory category = categoryGroup >= 0 ? dictionary.categoryGroups[categoryGroup] : TicketCategory.OTHER;
+        TicketPriority priority = priorityGroup >= 0
+                ? dictionary.priorityGroups[priorityGroup - categoryGroupCount]
+                : TicketPriority.MEDIUM;
+        int categoryMatches = categoryGroup >= 0 ? scratch.groupMatches[categoryGroup] : 0;
+        int priorityMatches = priorityGroup >= 0 ? scratch.groupMatches[priorityGroup] : 0;
+
+        double categoryScore = categoryMatches > 0 ? Math.min(1.0, categoryMatches / 3.0) : 0.3;
+        double priorityScore = priorityMatches > 0 ? Math.min(1.0, priorityMatches / 2.0) : 0.3;
 
         // Calculate overall confidence score
-        double confidenceScore = (categoryMatch.getScore() + priorityMatch.getScore()) / 2.0;
-
-        // Generate reasoning
-        String reasoning = "Category: %s (%.0f%% confidence based on keywords: %s). Priority: %s (%.0f%% confidence based on keywords: %s).".formatted(
-                category,
-                categoryMatch.getScore() * 100,
-                String.join(", ", categoryMatch.getKeywords()),
-                priority,
-                priorityMatch.getScore() * 100,
-                String.join(", ", priorityMatch.getKeywords())
-        );
-
-        // Combine all found keywords
-        List<String> allKeywords = new ArrayList<>();
-        allKeywords.addAll(categoryMatch.getKeywords());
-        allKeywords.addAll(priorityMatch.getKeywords());
+        double confidenceScore = (categoryScore + priorityScore) / 2.0;
 
-        // Save classification log
-        ClassificationLog log = new ClassificationLog();
-        log.setTicketId(ticket.getId());
-        log.setSuggestedCategory(category);
-        log.setSuggestedPriority(priority);
-        log.setConfidenceScore(confidenceScore);
-        log.setReasoning(reasoning);
-        log.setKeywordsFound(allKeywords);
-        classificationLogRepository.save(log);
+        // Combine all found keywords, category keywords first, each group in dictionary order
+        List<String> allKeywords = new ArrayList<>(categoryMatches + priorityMatches);
+        addFoundKeywords(dictionary, scratch, categoryGroup, allKeywords);
+        addFoundKeywords(dictionary, scratch, priorityGroup, allKeywords);
 
         // Create result
         ClassificationResult result = new ClassificationResult();
         result.setCategory(category);
         result.setPriority(priority);
         result.setConfidenceScore(confidenceScore);
-        result.setReasoning(reasoning);
         result.setKeywordsFound(allKeywords);
+        // Formatting is comparatively expensive, so the reasoning is only built when read
+        result.deferReasoning(() -> "Category: %s (%.0f%% confidence based on keywords: %s). Priority: %s (%.0f%% confidence based on keywords: %s).".formatted(
+                category,
+                categoryScore * 100,
+                String.join(", ", allKeywords.subList(0, categoryMatches)),
+                priority,
+                priorityScore * 100,
+                String.join(", ", allKeywords.subList(categoryMatches, categoryMatches + priorityMatches))
+        ));
 
         return result;
     }
 
+    @Override
+    public void logClassification(UUID ticketId, ClassificationResult result) {
+        classificationLogWriter.write(List.of(toLog(ticketId, result)));
+    }
+
+    @Override
+    public void logClassifications(List<UUID> ticketIds, List<ClassificationResult> results) {
+        List<ClassificationLog> logs = new ArrayList<>(ticketIds.size());
+        for (int i = 0; i < ticketIds.size(); i++) {
+            logs.add(toLog(ticketIds.get(i), results.get(i)));
+        }
+        classificationLogWriter.write(logs);
+    }
+
     @Override
     @Transactional
     public ClassificationResult classifyById(UUID ticketId) {
@@ -101,94 +132,164 @@ public class ClassificationServiceImpl implements ClassificationService {
         return classify(ticket);
     }
 
-    private Map.Entry<TicketCategory, CategoryMatchResult> classifyCategory(String content) {
-        TicketCategory bestCategory = TicketCategory.OTHER;
-        int maxMatches = 0;
-        List<String> matchedKeywords = new ArrayList<>();
-
-        for (Map.Entry<TicketCategory, List<String>> entry : CATEGORY_KEYWORDS.entrySet()) {
-            List<String> foundKeywords = new ArrayList<>();
-            int matches = 0;
+    @Override
+    public BatchClassificationResponse classifyAll(AutoClassifyRequest request) {
+        return classifyAll(request, this);
+    }
 
-            for (String keyword : entry.getValue()) {
-                if (content.contains(keyword.toLowerCase())) {
-                    matches++;
-                    foundKeywords.add(keyword);
-                }
+    /**
+     * Batch classification with the given engine's {@code evaluate}; loading and logging are the
+     * same for every engine. Filtered runs page through the matching ids by primary key, so only
+     * one batch of ids is held at a time.
+     */
+    public BatchClassificationResponse classifyAll(AutoClassifyRequest request, ClassificationService engine) {
+        boolean includeResults = Boolean.TRUE.equals(request.getIncludeResults());
+        int batchSize = Math.max(1, classificationProperties.getBatchSize());
+        BatchClassificationResponse response = new BatchClassificationResponse();
+
+        if (request.getIds() != null) {
+            List<UUID> ids = request.getIds().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                classifyBatch(ids.subList(from, Math.min(ids.size(), from + batchSize)), engine, includeResults, response);
             }
+            return response;
+        }
 
-            if (matches > maxMatches) {
-                maxMatches = matches;
-                bestCategory = entry.getKey();
-                matchedKeywords = foundKeywords;
+        Limit limit = Limit.of(batchSize);
+        List<UUID> batch = ticketRepository.findIdsByFilters(
+                request.getCategory(), request.getPriority(), request.getStatus(), limit);
+        while (!batch.isEmpty()) {
+            classifyBatch(batch, engine, includeResults, response);
+            if (batch.size() < batchSize) {
+                break;
             }
+            batch = ticketRepository.findIdsByFiltersAfter(
+                    request.getCategory(), request.getPriority(), request.getStatus(), batch.getLast(), limit);
         }
+        return response;
+    }
 
-        double score = maxMatches > 0 ? Math.min(1.0, maxMatches / 3.0) : 0.3;
-        return Map.entry(bestCategory, new CategoryMatchResult(score, matchedKeywords));
+    private void classifyBatch(List<UUID> batch, ClassificationService engine, boolean includeResults,
+                               BatchClassificationResponse response) {
+        List<TicketText> tickets = ticketRepository.findTextByIdIn(batch);
+
+        // Matching is CPU-bound and needs nothing from the database, so the batch is split across cores
+        List<ClassificationResult> results = tickets.parallelStream()
+                .map(ticket -> engine.evaluate(ticket.getSubject(), ticket.getDescription()))
+                .toList();
+        List<UUID> ticketIds = tickets.stream().map(TicketText::getId).toList();
+        List<ClassificationLog> logs = IntStream.range(0, tickets.size()).parallel()
+                .mapToObj(i -> toLog(ticketIds.get(i), results.get(i)))
+                .toList();
+        // One transaction per batch, written directly so a bulk run cannot swamp the write-behind queue
+        classificationLogRepository.saveAll(logs);
+
+        response.setRequestedTickets(response.getRequestedTickets() + batch.size());
+        response.setClassifiedTickets(response.getClassifiedTickets() + tickets.size());
+        if (tickets.size() < batch.size()) {
+            Set<UUID> found = new HashSet<>(ticketIds);
+            batch.stream().filter(id -> !found.contains(id)).forEach(response.getNotFound()::add);
+        }
+        if (includeResults) {
+            for (int i = 0; i < tickets.size(); i++) {
+                response.getResults().put(ticketIds.get(i), results.get(i));
+            }
+        }
     }
 
-    private Map.Entry<TicketPriority, PriorityMatchResult> classifyPriority(String content) {
-        TicketPriority bestPriority = TicketPriority.MEDIUM;
-        int maxMatches = 0;
-        List<String> matchedKeywords = new ArrayList<>();
+    @Override
+    public ClassificationCacheStats cacheStats() {
+        return classificationCache.stats(keywordDictionaryService.current().version());
+    }
 
-        for (Map.Entry<TicketPriority, List<String>> entry : PRIORITY_KEYWORDS.entrySet()) {
-            List<String> foundKeywords = new ArrayList<>();
-            int matches = 0;
+    @Override
+    public void clearCache() {
+        classificationCache.invalidateAll();
+    }
 
-            for (String keyword : entry.getValue()) {
-                if (content.contains(keyword.toLowerCase())) {
-                    matches++;
-                    foundKeywords.add(keyword);
-                }
-            }
+    private ClassificationLog toLog(UUID ticketId, ClassificationResult result) {
+        ClassificationLog log = new ClassificationLog();
+        log.setTicketId(ticketId);
+        log.setSuggestedCategory(result.getCategory());
+        log.setSuggestedPriority(result.getPriority());
+        log.setConfidenceScore(result.getConfidenceScore());
+        log.setReasoning(result.getReasoning());
+        log.setKeywordsFound(new ArrayList<>(result.getKeywordsFound()));
+        log.setClassifiedAt(LocalDateTime.now());
+        return log;
+    }
 
-            if (matches > maxMatches) {
-                maxMatches = matches;
-                bestPriority = entry.getKey();
-                matchedKeywords = foundKeywords;
+    // Ties go to the group iterated first; -1 when no group matched at all
+    private static int bestGroup(MatchScratch scratch, int fromGroup, int toGroup) {
+        int bestGroup = -1;
+        int maxMatches = 0;
+        for (int group = fromGroup; group < toGroup; group++) {
+            if (scratch.groupMatches[group] > maxMatches) {
+                maxMatches = scratch.groupMatches[group];
+                bestGroup = group;
             }
         }
-
-        double score = maxMatches > 0 ? Math.min(1.0, maxMatches / 2.0) : 0.3;
-        return Map.entry(bestPriority, new PriorityMatchResult(score, matchedKeywords));
+        return bestGroup;
     }
 
-    // Inner classes for match results
-    private static class CategoryMatchResult {
-        private final double score;
-        private final List<String> keywords;
-
-        public CategoryMatchResult(double score, List<String> keywords) {
-            this.score = score;
-            this.keywords = keywords;
+    private static void addFoundKeywords(KeywordDictionary dictionary, MatchScratch scratch, int group,
+                                         List<String> keywords) {
+        if (group < 0) {
+            return;
         }
-
-        public double getScore() {
-            return score;
+        for (int id = dictionary.groupStart[group]; id < dictionary.groupStart[group + 1]; id++) {
+            if (scratch.isFound(id)) {
+                keywords.add(dictionary.keywords[id]);
+            }
         }
+    }
 
-        public List<String> getKeywords() {
-            return keywords;
+    private static MatchScratch scratchFor(KeywordDictionary dictionary) {
+        MatchScratch scratch = SCRATCH.get();
+        if (scratch == null || scratch.dictionary != dictionary) {
+            scratch = new MatchScratch(dictionary);
+            SCRATCH.set(scratch);
         }
+        return scratch;
     }
 
-    private static class PriorityMatchResult {
-        private final double score;
-        private final List<String> keywords;
+    /**
+     * Per-thread match state for one dictionary snapshot. Keywords found in the current
+     * classification are marked with the current round number, so nothing has to be cleared
+     * between classifications.
+     */
+    private static final class MatchScratch implements IntConsumer {
+
+        private final KeywordDictionary dictionary;
+        private final int[] foundInRound;
+        private final int[] groupMatches;
+        private int round;
+
+        MatchScratch(KeywordDictionary dictionary) {
+            this.dictionary = dictionary;
+            this.foundInRound = new int[dictionary.keywords.length];
+            this.groupMatches = new int[dictionary.groupCount()];
+        }
 
-        public PriorityMatchResult(double score, List<String> keywords) {
-            this.score = score;
-            this.keywords = keywords;
+        void reset() {
+            if (++round == 0) {
+                Arrays.fill(foundInRound, 0);
+                round = 1;
+            }
+            Arrays.fill(groupMatches, 0);
         }
 
-        public double getScore() {
-            return score;
+        boolean isFound(int id) {
+            return foundInRound[id] == round;
         }
 
-        public List<String> getKeywords() {
-            return keywords;
+        // Counts each keyword once, however often it occurs
+        @Override
+        public void accept(int id) {
+            if (foundInRound[id] != round) {
+                foundInRound[id] = round;
+                groupMatches[dictionary.keywordGroup[id]]++;
+            }
         }
     }
 }
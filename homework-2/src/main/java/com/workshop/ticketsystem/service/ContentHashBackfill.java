@@ -0,0 +1,74 @@
+package com.workshop.ticketsystem.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Computes the {@code content_hash} fingerprint of tickets stored before the column existed,
+ * so resumed imports recognise them too. Runs on startup, a page at a time, and does nothing
+ * once every ticket has a fingerprint.
+ */
+@Component
+@Slf4j
+public class ContentHashBackfill implements SmartInitializingSingleton {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String SELECT_MISSING = """
+            SELECT id, customer_id, subject, description, source FROM tickets
+            WHERE content_hash IS NULL
+            ORDER BY id LIMIT ?
+            """;
+
+    private static final String UPDATE_HASH = "UPDATE tickets SET content_hash = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final TicketMapper ticketMapper;
+
+    public ContentHashBackfill(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               TicketMapper ticketMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.ticketMapper = ticketMapper;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    int backfill() {
+        int total = 0;
+        int updated;
+        do {
+            updated = transaction.execute(status -> {
+                List<Object[]> hashes = jdbcTemplate.query(SELECT_MISSING, (resultSet, rowNumber) -> new Object[]{
+                        ticketMapper.fingerprint(
+                                resultSet.getString("customer_id"),
+                                resultSet.getString("subject"),
+                                resultSet.getString("description"),
+                                resultSet.getString("source")),
+                        resultSet.getObject("id", UUID.class)
+                }, PAGE_SIZE);
+                if (!hashes.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_HASH, hashes);
+                }
+                return hashes.size();
+            });
+            total += updated;
+        } while (updated == PAGE_SIZE);
+
+        if (total > 0) {
+            log.info("Computed content_hash of {} tickets stored without one", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,249 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.dto.ImportError;
+import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.entity.TicketMetadata;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk loader for PostgreSQL. Rows are streamed with COPY into session-local staging
+ * tables, rows the target columns would reject are removed and reported, and the rest
+ * are moved into {@code tickets} and {@code ticket_tags} with set-based INSERT ... SELECT.
+ * Entities are built with {@link TicketMapper} and the entity defaults, so the stored
+ * rows match what the JPA path writes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CopyTicketWriter {
+
+    private static final String CREATE_TICKET_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS ticket_import_staging (
+                record_index integer, id uuid, customer_id text, customer_email text, customer_name text,
+                subject text, description text, category text, priority text, status text,
+                created_at timestamp(6), updated_at timestamp(6), assigned_to text,
+                source text, browser text, device_type text, content_hash text
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String CREATE_TAG_STAGING = """
+            CREATE TEMP TABLE IF NOT EXISTS ticket_tag_import_staging (
+                ticket_id uuid, tag text
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String COPY_TICKETS = """
+            COPY ticket_import_staging (record_index, id, customer_id, customer_email, customer_name,
+                subject, description, category, priority, status, created_at, updated_at, assigned_to,
+                source, browser, device_type, content_hash) FROM STDIN WITH (FORMAT csv)""";
+
+    private static final String COPY_TAGS = "COPY ticket_tag_import_staging (ticket_id, tag) FROM STDIN WITH (FORMAT csv)";
+
+    // Same limits the entity columns enforce; violating rows are reported instead of failing the chunk
+    private static final String DELETE_REJECTED = """
+            DELETE FROM ticket_import_staging s
+            WHERE length(s.customer_id) > 255 OR length(s.customer_email) > 255 OR length(s.customer_name) > 255
+               OR length(s.subject) > 200 OR length(s.description) > 2000 OR length(s.assigned_to) > 255
+               OR length(s.browser) > 255
+               OR EXISTS (SELECT 1 FROM ticket_tag_import_staging t WHERE t.ticket_id = s.id AND length(t.tag) > 255)
+            RETURNING s.record_index, CASE
+                WHEN length(s.customer_id) > 255 THEN 'customerId'
+                WHEN length(s.customer_email) > 255 THEN 'customerEmail'
+                WHEN length(s.customer_name) > 255 THEN 'customerName'
+                WHEN length(s.subject) > 200 THEN 'subject'
+                WHEN length(s.description) > 2000 THEN 'description'
+                WHEN length(s.assigned_to) > 255 THEN 'assignedTo'
+                WHEN length(s.browser) > 255 THEN 'browser'
+                ELSE 'tags'
+            END AS field, CASE
+                WHEN length(s.customer_id) > 255 OR length(s.customer_email) > 255 OR length(s.customer_name) > 255
+                    THEN 'must be at most 255 characters'
+                WHEN length(s.subject) > 200 THEN 'must be at most 200 characters'
+                WHEN length(s.description) > 2000 THEN 'must be at most 2000 characters'
+                WHEN length(s.assigned_to) > 255 OR length(s.browser) > 255 THEN 'must be at most 255 characters'
+                ELSE 'each tag must be at most 255 characters'
+            END AS message""";
+
+    private static final String INSERT_TICKETS = """
+            INSERT INTO tickets (id, customer_id, customer_email, customer_name, subject, description,
+                category, priority, status, created_at, updated_at, assigned_to, source, browser, device_type,
+                content_hash)
+            SELECT id, customer_id, customer_email, customer_name, subject, description,
+                category, priority, status, created_at, updated_at, assigned_to, source, browser, device_type,
+                content_hash
+            FROM ticket_import_staging""";
+
+    private static final String INSERT_TAGS = """
+            INSERT INTO ticket_tags (ticket_id, tag)
+            SELECT t.ticket_id, t.tag
+            FROM ticket_tag_import_staging t
+            JOIN ticket_import_staging s ON s.id = t.ticket_id""";
+
+    private final DataSource dataSource;
+    private final TicketMapper ticketMapper;
+    private final ClassificationService classificationService;
+    private volatile Boolean supported;
+
+    public boolean isSupported() {
+        if (supported == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                supported = connection.isWrapperFor(PGConnection.class);
+            } catch (SQLException e) {
+                log.warn("Could not determine whether COPY import is available: {}", e.getMessage());
+                return false;
+            }
+        }
+        return supported;
+    }
+
+    /**
+     * Loads one chunk in the current transaction.
+     *
+     * @return rejection reasons keyed by the index of the request within {@code requests};
+     *         the record number is left for the caller to fill in
+     */
+    @Transactional
+    public Map<Integer, ImportError> write(List<CreateTicketRequest> requests, List<ClassificationResult> classifications) {
+        List<Ticket> tickets = new ArrayList<>(requests.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < requests.size(); i++) {
+            Ticket ticket = ticketMapper.toEntity(requests.get(i));
+            if (classifications != null && classifications.get(i) != null) {
+                ticketMapper.applyClassification(ticket, classifications.get(i));
+            }
+            ticket.prePersist();
+            ticket.setId(UUID.randomUUID());
+            ticket.setCreatedAt(now);
+            ticket.setUpdatedAt(now);
+            tickets.add(ticket);
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TICKET_STAGING);
+                statement.execute(CREATE_TAG_STAGING);
+            }
+
+            copyTickets(pgConnection, tickets);
+            copyTags(pgConnection, tickets);
+
+            Map<Integer, ImportError> rejected = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet resultSet = statement.executeQuery(DELETE_REJECTED)) {
+                    while (resultSet.next()) {
+                        rejected.put(resultSet.getInt("record_index"),
+                                new ImportError(null, resultSet.getString("field"), resultSet.getString("message")));
+                    }
+                }
+                statement.executeUpdate(INSERT_TICKETS);
+                statement.executeUpdate(INSERT_TAGS);
+            }
+
+            List<UUID> classifiedIds = new ArrayList<>();
+            List<ClassificationResult> classified = new ArrayList<>();
+            for (int i = 0; i < tickets.size(); i++) {
+                if (!rejected.containsKey(i) && classifications != null && classifications.get(i) != null) {
+                    classifiedIds.add(tickets.get(i).getId());
+                    classified.add(classifications.get(i));
+                }
+            }
+            classificationService.logClassifications(classifiedIds, classified);
+            return rejected;
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY import failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void copyTickets(PGConnection connection, List<Ticket> tickets) throws SQLException {
+        try (Writer writer = copyWriter(connection, COPY_TICKETS)) {
+            for (int i = 0; i < tickets.size(); i++) {
+                Ticket ticket = tickets.get(i);
+                TicketMetadata metadata = ticket.getMetadata();
+                writeRow(writer,
+                        String.valueOf(i),
+                        ticket.getId().toString(),
+                        ticket.getCustomerId(),
+                        ticket.getCustomerEmail(),
+                        ticket.getCustomerName(),
+                        ticket.getSubject(),
+                        ticket.getDescription(),
+                        ticket.getCategory().name(),
+                        ticket.getPriority().name(),
+                        ticket.getStatus().name(),
+                        ticket.getCreatedAt().toString(),
+                        ticket.getUpdatedAt().toString(),
+                        ticket.getAssignedTo(),
+                        metadata != null && metadata.getSource() != null ? metadata.getSource().name() : null,
+                        metadata != null ? metadata.getBrowser() : null,
+                        metadata != null && metadata.getDeviceType() != null ? metadata.getDeviceType().name() : null,
+                        ticket.getContentHash());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error streaming tickets to COPY: " + e.getMessage(), e);
+        }
+    }
+
+    private void copyTags(PGConnection connection, List<Ticket> tickets) throws SQLException {
+        try (Writer writer = copyWriter(connection, COPY_TAGS)) {
+            for (Ticket ticket : tickets) {
+                if (ticket.getTags() == null) {
+                    continue;
+                }
+                String ticketId = ticket.getId().toString();
+                for (String tag : ticket.getTags()) {
+                    writeRow(writer, ticketId, tag);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error streaming ticket tags to COPY: " + e.getMessage(), e);
+        }
+    }
+
+    private Writer copyWriter(PGConnection connection, String sql) throws SQLException {
+        return new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(connection, sql), StandardCharsets.UTF_8));
+    }
+
+    // CSV COPY format: an unquoted empty field is NULL, a quoted one is an empty string
+    static void writeRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value != null) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+}
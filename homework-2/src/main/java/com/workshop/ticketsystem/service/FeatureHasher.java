@@ -0,0 +1,75 @@
+package com.workshop.ticketsystem.service;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Splits text into words (runs of letters, digits and apostrophes, case-folded) and reports
+ * every word and every pair of adjacent words as a hashed feature in {@code [0, 2^bits)}.
+ * Nothing is allocated: each word is hashed character by character as it is read.
+ * <p>
+ * Several pieces of text can be fed one after another; they are treated as one text with a
+ * word break in between. Instances are not thread-safe but can be reused after
+ * {@link #reset()}.
+ */
+final class FeatureHasher {
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+    private static final int PAIR_MULTIPLIER = 0x9e3779b1;
+
+    private final int mask;
+    private final IntConsumer features;
+    private int hash = FNV_OFFSET;
+    private int length;
+    private int previousWord;
+    private boolean hasPreviousWord;
+
+    FeatureHasher(int bits, IntConsumer features) {
+        this.mask = (1 << bits) - 1;
+        this.features = features;
+    }
+
+    void reset() {
+        hash = FNV_OFFSET;
+        length = 0;
+        hasPreviousWord = false;
+    }
+
+    void feed(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '\'') {
+                hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                length++;
+            } else {
+                endWord();
+            }
+        }
+        endWord();
+    }
+
+    private void endWord() {
+        if (length == 0) {
+            return;
+        }
+        int word = mix(hash);
+        features.accept(word & mask);
+        if (hasPreviousWord) {
+            features.accept(mix(previousWord * PAIR_MULTIPLIER + word) & mask);
+        }
+        previousWord = word;
+        hasPreviousWord = true;
+        hash = FNV_OFFSET;
+        length = 0;
+    }
+
+    // Murmur3 finalizer, so the low bits used as bucket depend on every bit of the hash
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,83 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ImportError;
+import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Collects the errors of one import. Every error goes to the error report; only the
+ * {@code maxInline} failed records with the lowest record numbers are kept in memory for
+ * the summary, since records do not always fail in record order.
+ */
+class ImportErrorCollector {
+
+    private static final Comparator<FailedRecord> BY_RECORD_NUMBER = Comparator.comparingLong(FailedRecord::recordNumber);
+
+    private final int maxInline;
+    private final ImportErrorReportStore.Report report;
+    // Highest record number on top, so it is the one evicted when a lower one fails later
+    private final PriorityQueue<FailedRecord> inline = new PriorityQueue<>(BY_RECORD_NUMBER.reversed());
+    private int failedRecords;
+
+    ImportErrorCollector(int maxInline, ImportErrorReportStore.Report report) {
+        this.maxInline = maxInline;
+        this.report = report;
+    }
+
+    void add(long recordNumber, List<ImportError> errors) {
+        failedRecords++;
+        errors.forEach(report::append);
+
+        if (maxInline <= 0) {
+            return;
+        }
+        if (inline.size() < maxInline) {
+            inline.add(new FailedRecord(recordNumber, errors));
+        } else if (recordNumber < inline.peek().recordNumber()) {
+            inline.poll();
+            inline.add(new FailedRecord(recordNumber, errors));
+        }
+    }
+
+    /**
+     * Closes the report and fills in the error fields of the summary.
+     *
+     * @param fileError error that ended the import early, or null
+     */
+    void complete(ImportSummaryResponse summary, String fileError) {
+        if (fileError != null) {
+            report.append(new ImportError(null, null, fileError));
+        }
+        report.close();
+
+        List<FailedRecord> kept = new ArrayList<>(inline);
+        kept.sort(BY_RECORD_NUMBER);
+        kept.forEach(failed -> summary.addError(failed.format()));
+        if (fileError != null) {
+            summary.addError(fileError);
+        }
+        summary.setErrorsTruncated(failedRecords > kept.size());
+        summary.setErrorReportId(report.id());
+    }
+
+    /**
+     * One line for the errors of a record, e.g. {@code "customerEmail: Invalid email format, subject: ..."}.
+     */
+    static String describe(List<ImportError> errors) {
+        return errors.stream()
+                .map(error -> error.getField() != null ? error.getField() + ": " + error.getMessage() : error.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private record FailedRecord(long recordNumber, List<ImportError> errors) {
+
+        String format() {
+            return "Record " + recordNumber + ": " + describe(errors);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.workshop.ticketsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.ImportError;
+import com.workshop.ticketsystem.exception.ImportErrorReportNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Per-import error reports, spilled to disk as NDJSON while the import runs so memory use
+ * does not depend on the number of failed records. Reports are kept for the configured
+ * retention and can be streamed back as NDJSON or CSV.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportErrorReportStore {
+
+    private static final String REPORT_SUFFIX = ".ndjson";
+
+    private final ImportProperties importProperties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Starts a report for one import. Nothing is written to disk until the first error.
+     */
+    Report create() {
+        purgeExpiredReports();
+        return new Report(UUID.randomUUID());
+    }
+
+    /**
+     * Fails with {@link ImportErrorReportNotFoundException} when the report does not exist or has expired.
+     */
+    public void requireReport(UUID reportId) {
+        if (!Files.isRegularFile(reportFile(reportId))) {
+            throw new ImportErrorReportNotFoundException(reportId);
+        }
+    }
+
+    public void writeNdjson(UUID reportId, OutputStream output) throws IOException {
+        requireReport(reportId);
+        Files.copy(reportFile(reportId), output);
+    }
+
+    public void writeCsv(UUID reportId, OutputStream output) throws IOException {
+        requireReport(reportId);
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader("record_number", "field", "message")
+                .build();
+        try (BufferedReader reader = Files.newBufferedReader(reportFile(reportId));
+             CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(output, StandardCharsets.UTF_8), format)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ImportError error = objectMapper.readValue(line, ImportError.class);
+                printer.printRecord(error.getRecordNumber(), error.getField(), error.getMessage());
+            }
+        }
+    }
+
+    private Path directory() {
+        String directory = importProperties.getErrors().getDirectory();
+        return directory == null || directory.isBlank()
+                ? Path.of(System.getProperty("java.io.tmpdir"), "ticket-import-errors")
+                : Path.of(directory);
+    }
+
+    private Path reportFile(UUID reportId) {
+        return directory().resolve(reportId + REPORT_SUFFIX);
+    }
+
+    private void purgeExpiredReports() {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(importProperties.getErrors().getRetention());
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(REPORT_SUFFIX))
+                    .filter(file -> lastModified(file).isBefore(cutoff))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not purge import error reports in {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import error report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Append-only writer for one import's report. Used by a single thread.
+     */
+    class Report implements Closeable {
+
+        private final UUID id;
+        private BufferedWriter writer;
+        private boolean failed;
+
+        private Report(UUID id) {
+            this.id = id;
+        }
+
+        void append(ImportError error) {
+            if (failed) {
+                return;
+            }
+            try {
+                if (writer == null) {
+                    Files.createDirectories(directory());
+                    writer = Files.newBufferedWriter(reportFile(id));
+                }
+                writer.write(objectMapper.writeValueAsString(error));
+                writer.newLine();
+            } catch (IOException e) {
+                // The import itself goes on; the summary then simply has no report to point to
+                log.warn("Could not write import error report {}: {}", id, e.getMessage());
+                failed = true;
+                close();
+                deleteQuietly(reportFile(id));
+            }
+        }
+
+        /**
+         * @return the report id, or null when no error was written
+         */
+        UUID id() {
+            return writer != null && !failed ? id : null;
+        }
+
+        @Override
+        public void close() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Could not close import error report {}: {}", id, e.getMessage());
+                failed = true;
+            }
+        }
+    }
+}
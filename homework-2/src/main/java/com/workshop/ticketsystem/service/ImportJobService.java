@@ -0,0 +1,15 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ImportJobResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+public interface ImportJobService {
+
+    ImportJobResponse submit(MultipartFile file, String format, ImportOptions options);
+
+    ImportJobResponse submitLocalFile(String path, ImportOptions options);
+
+    ImportJobResponse getJob(UUID jobId);
+}
@@ -0,0 +1,244 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.ImportJobResponse;
+import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+import com.workshop.ticketsystem.enums.ImportJobStatus;
+import com.workshop.ticketsystem.exception.ImportJobNotFoundException;
+import com.workshop.ticketsystem.exception.ImportRejectedException;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.parser.Compression;
+import com.workshop.ticketsystem.parser.ParserFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class ImportJobServiceImpl implements ImportJobService {
+
+    private final ImportService importService;
+    private final ParserFactory parserFactory;
+    private final ImportProperties importProperties;
+    private final ExecutorService importExecutor;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobServiceImpl(ImportService importService, ParserFactory parserFactory,
+                                ImportProperties importProperties) {
+        this.importService = importService;
+        this.parserFactory = parserFactory;
+        this.importProperties = importProperties;
+
+        // Bounded pool and queue: a burst of uploads is rejected instead of exhausting the node
+        ImportProperties.Async async = importProperties.getAsync();
+        this.importExecutor = new ThreadPoolExecutor(
+                async.getMaxConcurrentJobs(), async.getMaxConcurrentJobs(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(async.getQueueCapacity()),
+                Thread.ofPlatform().name("import-job-", 1).factory());
+    }
+
+    @Override
+    public ImportJobResponse submit(MultipartFile file, String format, ImportOptions options) {
+        purgeExpiredJobs();
+
+        // Fail fast on an unknown format instead of reporting it from the background job
+        parserFactory.getParser(format);
+        importService.validateOptions(options);
+
+        // The multipart upload is deleted when the request ends, so keep a private copy for the job
+        Path spoolFile = spool(file);
+        Compression compression = Compression.fromFileName(file.getOriginalFilename());
+        ImportJob job = new ImportJob(UUID.randomUUID(), file.getOriginalFilename(), format,
+                new ImportProgress(sizeOf(spoolFile)));
+        return enqueue(job, () -> {
+            try (InputStream input = Files.newInputStream(spoolFile)) {
+                return importService.importTickets(input, format, compression, options, job.progress);
+            }
+        }, () -> deleteQuietly(spoolFile));
+    }
+
+    @Override
+    public ImportJobResponse submitLocalFile(String path, ImportOptions options) {
+        purgeExpiredJobs();
+        importService.validateOptions(options);
+
+        Path file = resolveLocalFile(path);
+        ImportJob job = new ImportJob(UUID.randomUUID(), file.toString(), "csv", new ImportProgress(sizeOf(file)));
+        return enqueue(job, () -> importService.importLocalFile(file, options, job.progress), () -> {
+        });
+    }
+
+    @Override
+    public ImportJobResponse getJob(UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return toResponse(job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+    }
+
+    private ImportJobResponse enqueue(ImportJob job, ImportTask task, Runnable cleanup) {
+        jobs.put(job.id, job);
+        try {
+            importExecutor.execute(() -> run(job, task, cleanup));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            cleanup.run();
+            throw new ImportRejectedException("Import queue is full, please retry later", e);
+        }
+
+        log.info("Queued import job {} for file {} ({} bytes)", job.id, job.fileName, job.progress.getTotalBytes());
+        return toResponse(job);
+    }
+
+    private void run(ImportJob job, ImportTask task, Runnable cleanup) {
+        job.startedAt = LocalDateTime.now();
+        job.status = ImportJobStatus.RUNNING;
+
+        ImportJobStatus finalStatus;
+        try {
+            ImportSummaryResponse result = task.run();
+            job.result = result;
+            finalStatus = ImportJobStatus.COMPLETED;
+            log.info("Import job {} completed: {} succeeded, {} failed",
+                    job.id, result.getSuccessfulImports(), result.getFailedImports());
+        } catch (Exception e) {
+            log.error("Import job {} failed: {}", job.id, e.getMessage(), e);
+            job.error = e.getMessage();
+            finalStatus = ImportJobStatus.FAILED;
+        } finally {
+            cleanup.run();
+        }
+
+        job.completedAt = LocalDateTime.now();
+        job.status = finalStatus;
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(importProperties.getAsync().getJobRetention());
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private Path spool(MultipartFile file) {
+        try {
+            Path spoolFile = Files.createTempFile("ticket-import-", ".upload");
+            file.transferTo(spoolFile);
+            return spoolFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store upload for import: " + e.getMessage(), e);
+        }
+    }
+
+    // Only files below the configured base directory may be read, also after resolving symlinks
+    private Path resolveLocalFile(String path) {
+        String baseDirectory = importProperties.getLocal().getBaseDirectory();
+        if (baseDirectory == null || baseDirectory.isBlank()) {
+            throw new ValidationException("Local file import is disabled");
+        }
+
+        try {
+            Path base = Path.of(baseDirectory).toRealPath();
+            Path file = base.resolve(path).normalize();
+            if (!file.startsWith(base)) {
+                throw new ValidationException("Path must be inside the import directory: " + path);
+            }
+            Path realFile = file.toRealPath();
+            if (!realFile.startsWith(base) || !Files.isRegularFile(realFile)) {
+                throw new ValidationException("Path must be a file inside the import directory: " + path);
+            }
+            return realFile;
+        } catch (IOException | InvalidPathException e) {
+            throw new ValidationException("Import file not found: " + path);
+        }
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private ImportJobResponse toResponse(ImportJob job) {
+        ImportProgress progress = job.progress;
+        ImportJobResponse response = new ImportJobResponse();
+        response.setJobId(job.id);
+        response.setStatus(job.status);
+        response.setFileName(job.fileName);
+        response.setFormat(job.format);
+        response.setSubmittedAt(job.submittedAt);
+        response.setStartedAt(job.startedAt);
+        response.setCompletedAt(job.completedAt);
+        response.setRecordsParsed(progress.getRecordsParsed());
+        response.setRecordsSucceeded(progress.getRecordsSucceeded());
+        response.setRecordsFailed(progress.getRecordsFailed());
+        response.setRecordsSkipped(progress.getRecordsSkipped());
+        response.setBytesRead(progress.getBytesRead());
+        response.setTotalBytes(progress.getTotalBytes());
+        response.setPercentComplete(progress.getPercentComplete());
+        response.setRecordsPerSecond(progress.getRecordsPerSecond());
+        if (job.status == ImportJobStatus.RUNNING) {
+            response.setEstimatedSecondsRemaining(progress.getEstimatedSecondsRemaining());
+        }
+        response.setError(job.error);
+        response.setResult(job.result);
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface ImportTask {
+        ImportSummaryResponse run() throws Exception;
+    }
+
+    private static class ImportJob {
+        private final UUID id;
+        private final String fileName;
+        private final String format;
+        private final ImportProgress progress;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile ImportSummaryResponse result;
+        private volatile String error;
+
+        ImportJob(UUID id, String fileName, String format, ImportProgress progress) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.progress = progress;
+        }
+    }
+}
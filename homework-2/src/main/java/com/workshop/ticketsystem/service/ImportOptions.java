@@ -0,0 +1,28 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.enums.ImportMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportOptions {
+
+    private boolean autoClassify;
+
+    private ImportMode mode = ImportMode.JPA;
+
+    // Skip records whose fingerprint is already stored, so a failed import can simply be re-run
+    private boolean resume;
+
+    public ImportOptions(boolean autoClassify) {
+        this.autoClassify = autoClassify;
+    }
+
+    public ImportOptions(boolean autoClassify, ImportMode mode) {
+        this.autoClassify = autoClassify;
+        this.mode = mode;
+    }
+}
@@ -0,0 +1,131 @@
+package com.workshop.ticketsystem.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters for a running import. Written by the importing thread and safe to read
+ * from any other thread, e.g. a status poll.
+ */
+public class ImportProgress {
+
+    private final long totalBytes;
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong recordsParsed = new AtomicLong();
+    private final AtomicLong recordsSucceeded = new AtomicLong();
+    private final AtomicLong recordsFailed = new AtomicLong();
+    private final AtomicLong recordsSkipped = new AtomicLong();
+    private volatile Instant startedAt;
+
+    public ImportProgress(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public InputStream track(InputStream input) {
+        // A local file import tracks several segment streams against the same progress
+        if (startedAt == null) {
+            startedAt = Instant.now();
+        }
+        return new FilterInputStream(input) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    bytesRead.incrementAndGet();
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    bytesRead.addAndGet(n);
+                }
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                bytesRead.addAndGet(skipped);
+                return skipped;
+            }
+        };
+    }
+
+    void recordParsed() {
+        recordsParsed.incrementAndGet();
+    }
+
+    void recordSucceeded(int count) {
+        recordsSucceeded.addAndGet(count);
+    }
+
+    void recordFailed() {
+        recordsFailed.incrementAndGet();
+    }
+
+    void recordSkipped(int count) {
+        recordsSkipped.addAndGet(count);
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRecordsParsed() {
+        return recordsParsed.get();
+    }
+
+    public long getRecordsSucceeded() {
+        return recordsSucceeded.get();
+    }
+
+    public long getRecordsFailed() {
+        return recordsFailed.get();
+    }
+
+    public long getRecordsSkipped() {
+        return recordsSkipped.get();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Double getPercentComplete() {
+        if (totalBytes <= 0) {
+            return null;
+        }
+        return Math.min(100.0, bytesRead.get() * 100.0 / totalBytes);
+    }
+
+    public double getRecordsPerSecond() {
+        double seconds = elapsedSeconds();
+        return seconds > 0 ? (recordsSucceeded.get() + recordsFailed.get() + recordsSkipped.get()) / seconds : 0.0;
+    }
+
+    // Extrapolated from the share of the input consumed so far
+    public Long getEstimatedSecondsRemaining() {
+        long read = bytesRead.get();
+        if (totalBytes <= 0 || read <= 0) {
+            return null;
+        }
+        double seconds = elapsedSeconds();
+        return Math.round(seconds * (totalBytes - Math.min(read, totalBytes)) / read);
+    }
+
+    private double elapsedSeconds() {
+        Instant started = startedAt;
+        return started == null ? 0.0 : Duration.between(started, Instant.now()).toMillis() / 1000.0;
+    }
+}
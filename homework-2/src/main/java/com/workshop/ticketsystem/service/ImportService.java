@@ -1,9 +1,28 @@
 package com.workshop.ticketsystem.service;
 
 import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+import com.workshop.ticketsystem.parser.Compression;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
 public interface ImportService {
 
-    ImportSummaryResponse importTickets(MultipartFile file, String format, boolean autoClassify);
+    ImportSummaryResponse importTickets(MultipartFile file, String format, ImportOptions options);
+
+    ImportSummaryResponse importTickets(InputStream input, String format, Compression compression,
+                                        ImportOptions options, ImportProgress progress);
+
+    ImportSummaryResponse importLocalFile(Path file, ImportOptions options, ImportProgress progress);
+
+    /**
+     * Runs quarantined records through the import pipeline again. Records that now succeed
+     * leave the quarantine; the others stay with their new failure reason.
+     */
+    ImportSummaryResponse reprocessQuarantined(List<UUID> ids, ImportOptions options);
+
+    void validateOptions(ImportOptions options);
 }
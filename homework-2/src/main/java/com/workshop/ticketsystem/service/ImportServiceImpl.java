@@ -1,89 +1,502 @@
 package com.workshop.ticketsystem.service;
 
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.ClassificationResult;
 import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.dto.ImportError;
 import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+import com.workshop.ticketsystem.enums.ImportMode;
 import com.workshop.ticketsystem.exception.FileParseException;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.parser.CompressedInputReader;
+import com.workshop.ticketsystem.parser.Compression;
 import com.workshop.ticketsystem.parser.FileParser;
+import com.workshop.ticketsystem.parser.MappedCsvFileReader;
 import com.workshop.ticketsystem.parser.ParserFactory;
+import com.workshop.ticketsystem.parser.StreamingFileParser;
+import com.workshop.ticketsystem.parser.TicketRecordHandler;
+import jakarta.annotation.PreDestroy;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
+/**
+ * Imports run as a three-stage pipeline: the calling thread parses records into batches,
+ * a fork/join pool validates and classifies each batch in parallel, and the calling thread
+ * persists prepared batches one at a time in record order. Keeping persistence on the
+ * caller means a single writer and the caller's transactional context.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ImportServiceImpl implements ImportService {
 
     private final ParserFactory parserFactory;
     private final TicketService ticketService;
+    private final ClassificationService classificationService;
     private final Validator validator;
+    private final ImportProperties importProperties;
+    private final CopyTicketWriter copyTicketWriter;
+    private final TicketMapper ticketMapper;
+    private final MappedCsvFileReader mappedCsvFileReader;
+    private final CompressedInputReader compressedInputReader;
+    private final ImportErrorReportStore errorReportStore;
+    private final QuarantineService quarantineService;
+    private final ImportThrottle importThrottle;
+    private final TransactionTemplate transaction;
+    private final ForkJoinPool preparePool;
 
-    @Override
-    @Transactional
-    public ImportSummaryResponse importTickets(MultipartFile file, String format, boolean autoClassify) {
-        ImportSummaryResponse summary = new ImportSummaryResponse();
+    public ImportServiceImpl(ParserFactory parserFactory, TicketService ticketService,
+                             ClassificationService classificationService, Validator validator,
+                             ImportProperties importProperties, CopyTicketWriter copyTicketWriter,
+                             TicketMapper ticketMapper, MappedCsvFileReader mappedCsvFileReader,
+                             CompressedInputReader compressedInputReader,
+                             ImportErrorReportStore errorReportStore, QuarantineService quarantineService,
+                             ImportThrottle importThrottle, PlatformTransactionManager transactionManager) {
+        this.parserFactory = parserFactory;
+        this.ticketService = ticketService;
+        this.classificationService = classificationService;
+        this.validator = validator;
+        this.importProperties = importProperties;
+        this.copyTicketWriter = copyTicketWriter;
+        this.ticketMapper = ticketMapper;
+        this.mappedCsvFileReader = mappedCsvFileReader;
+        this.compressedInputReader = compressedInputReader;
+        this.errorReportStore = errorReportStore;
+        this.quarantineService = quarantineService;
+        this.importThrottle = importThrottle;
+        this.transaction = new TransactionTemplate(transactionManager);
 
-        try {
+        int parallelism = importProperties.getParallelism() > 0
+                ? importProperties.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.preparePool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public ImportSummaryResponse importTickets(MultipartFile file, String format, ImportOptions options) {
+        validateOptions(options);
+        ImportProgress progress = new ImportProgress(file.getSize());
+        return runImport(progress, options, handler -> {
             // Get appropriate parser
             FileParser parser = parserFactory.getParser(format);
 
-            // Parse file
-            List<CreateTicketRequest> tickets = parser.parse(file);
-            summary.setTotalRecords(tickets.size());
-
-            // Process each ticket
-            int successCount = 0;
-            int failCount = 0;
-
-            for (int i = 0; i < tickets.size(); i++) {
-                CreateTicketRequest ticket = tickets.get(i);
-                try {
-                    // Validate ticket
-                    Set<ConstraintViolation<CreateTicketRequest>> violations = validator.validate(ticket);
-                    if (!violations.isEmpty()) {
-                        String errors = violations.stream()
-                                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
-                                .reduce((a, b) -> a + ", " + b)
-                                .orElse("Unknown validation error");
-                        summary.addError("Record " + (i + 1) + ": " + errors);
-                        failCount++;
-                        continue;
-                    }
-
-                    // Set auto-classify flag
-                    ticket.setAutoClassify(autoClassify);
-
-                    // Create ticket
-                    ticketService.createTicket(ticket);
-                    successCount++;
-
-                } catch (Exception e) {
-                    log.error("Error importing ticket at index {}: {}", i, e.getMessage(), e);
-                    summary.addError("Record " + (i + 1) + ": " + e.getMessage());
-                    failCount++;
+            // Stream records in fixed-size batches when the parser supports it
+            Compression compression = Compression.fromFileName(file.getOriginalFilename());
+            if (parser instanceof StreamingFileParser streamingParser) {
+                try (InputStream input = progress.track(file.getInputStream())) {
+                    compressedInputReader.parse(input, compression, streamingParser, handler);
                 }
+            } else if (compression != Compression.NONE) {
+                throw new FileParseException("Format " + format + " does not support compressed import");
+            } else {
+                List<CreateTicketRequest> tickets = parser.parse(file);
+                for (int i = 0; i < tickets.size(); i++) {
+                    handler.onRecord(i + 1, tickets.get(i));
+                }
+            }
+        });
+    }
+
+    @Override
+    public ImportSummaryResponse importTickets(InputStream input, String format, Compression compression,
+                                               ImportOptions options, ImportProgress progress) {
+        validateOptions(options);
+        return runImport(progress, options, handler -> {
+            FileParser parser = parserFactory.getParser(format);
+            if (!(parser instanceof StreamingFileParser streamingParser)) {
+                throw new FileParseException("Format " + format + " does not support streaming import");
             }
+            compressedInputReader.parse(progress.track(input), compression, streamingParser, handler);
+        });
+    }
 
-            summary.setSuccessfulImports(successCount);
-            summary.setFailedImports(failCount);
+    @Override
+    public ImportSummaryResponse importLocalFile(Path file, ImportOptions options, ImportProgress progress) {
+        validateOptions(options);
+        return runImport(progress, options, handler -> mappedCsvFileReader.read(file, handler, progress::track));
+    }
 
+    @Override
+    public ImportSummaryResponse reprocessQuarantined(List<UUID> ids, ImportOptions options) {
+        validateOptions(options);
+        return runImport(new ImportProgress(-1), options, handler -> {
+            try {
+                // Claimed a batch at a time, so reprocessing a large quarantine does not hold every payload
+                int batchSize = importProperties.getBatchSize();
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<UUID> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                    quarantineService.claim(handler.importId, chunk).forEach(handler::onQuarantined);
+                }
+                handler.flush();
+            } finally {
+                quarantineService.release(handler.importId);
+            }
+        });
+    }
+
+    @Override
+    public void validateOptions(ImportOptions options) {
+        if (options.getMode() == ImportMode.COPY && !copyTicketWriter.isSupported()) {
+            throw new ValidationException("Import mode COPY is only available on PostgreSQL");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        preparePool.shutdownNow();
+    }
+
+    private ImportSummaryResponse runImport(ImportProgress progress, ImportOptions options, RecordSource source) {
+        ImportSummaryResponse summary = new ImportSummaryResponse();
+        BatchingRecordHandler handler = new BatchingRecordHandler(progress, options);
+        String fileError = null;
+
+        try {
+            source.feed(handler);
         } catch (FileParseException e) {
             log.error("Error parsing file: {}", e.getMessage(), e);
-            summary.addError("File parsing error: " + e.getMessage());
-            summary.setFailedImports(summary.getTotalRecords());
+            fileError = "File parsing error: " + e.getMessage();
         } catch (Exception e) {
             log.error("Unexpected error during import: {}", e.getMessage(), e);
-            summary.addError("Unexpected error: " + e.getMessage());
-            summary.setFailedImports(summary.getTotalRecords());
+            fileError = "Unexpected error: " + e.getMessage();
         }
 
+        // Records parsed before a file-level failure are still persisted
+        try {
+            handler.finish();
+        } catch (Exception e) {
+            log.error("Unexpected error while persisting import: {}", e.getMessage(), e);
+            fileError = fileError != null ? fileError : "Unexpected error: " + e.getMessage();
+        }
+
+        handler.errors.complete(summary, fileError);
+        summary.setImportId(handler.importId);
+        summary.setQuarantinedRecords(handler.quarantinedCount);
+        summary.setTotalRecords(handler.totalRecords);
+        summary.setSuccessfulImports(handler.successCount);
+        summary.setFailedImports(handler.failCount);
+        summary.setSkippedDuplicates(handler.skippedCount);
+        summary.setChunksRetriedIndividually(handler.chunksRetriedIndividually);
         return summary;
     }
+
+    private List<PreparedTicket> prepareBatch(List<ParsedTicket> batch, ImportOptions options) {
+        return batch.parallelStream()
+                .map(parsed -> prepare(parsed, options))
+                .toList();
+    }
+
+    private PreparedTicket prepare(ParsedTicket parsed, ImportOptions options) {
+        CreateTicketRequest ticket = parsed.ticket();
+        try {
+            // Validate ticket
+            Set<ConstraintViolation<CreateTicketRequest>> violations = validator.validate(ticket);
+            if (!violations.isEmpty()) {
+                List<ImportError> errors = violations.stream()
+                        .map(v -> new ImportError(parsed.recordNumber(), v.getPropertyPath().toString(), v.getMessage()))
+                        .toList();
+                return new PreparedTicket(parsed.recordNumber(), parsed.quarantineId(), ticket, null, null, errors);
+            }
+
+            // Set auto-classify flag and classify while still off the persistence path
+            ticket.setAutoClassify(options.isAutoClassify());
+            ClassificationResult classification = options.isAutoClassify()
+                    ? classificationService.evaluate(ticket.getSubject(), ticket.getDescription())
+                    : null;
+            String contentHash = options.isResume() ? ticketMapper.fingerprint(ticket) : null;
+            return new PreparedTicket(parsed.recordNumber(), parsed.quarantineId(), ticket, classification, contentHash, null);
+        } catch (Exception e) {
+            return new PreparedTicket(parsed.recordNumber(), parsed.quarantineId(), ticket, null, null,
+                    List.of(new ImportError(parsed.recordNumber(), null, e.getMessage())));
+        }
+    }
+
+    private void persistBatch(List<PreparedTicket> batch, BatchingRecordHandler handler) {
+        List<PreparedTicket> validTickets = new ArrayList<>(batch.size());
+        for (PreparedTicket prepared : batch) {
+            if (prepared.errors() != null) {
+                handler.recordFailure(prepared, prepared.errors());
+            } else {
+                validTickets.add(prepared);
+            }
+        }
+
+        if (handler.options.isResume()) {
+            validTickets = skipAlreadyImported(validTickets, handler);
+        }
+
+        if (validTickets.isEmpty()) {
+            return;
+        }
+
+        try {
+            // Each chunk commits on its own, so a failure only rolls back these rows. Reprocessed
+            // records leave the quarantine in the same transaction, so none can be imported twice
+            List<PreparedTicket> chunk = validTickets;
+            List<CreateTicketRequest> requests = chunk.stream().map(PreparedTicket::ticket).toList();
+            List<ClassificationResult> classifications = chunk.stream().map(PreparedTicket::classification).toList();
+            Map<Integer, ImportError> rejected = transaction.execute(status -> {
+                Map<Integer, ImportError> rejectedInChunk;
+                if (handler.options.getMode() == ImportMode.COPY) {
+                    rejectedInChunk = copyTicketWriter.write(requests, classifications);
+                } else {
+                    ticketService.createTickets(requests, classifications);
+                    rejectedInChunk = Map.of();
+                }
+                quarantineService.resolve(quarantineIds(chunk, rejectedInChunk));
+                return rejectedInChunk;
+            });
+
+            List<PreparedTicket> written = new ArrayList<>(chunk.size() - rejected.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                PreparedTicket prepared = chunk.get(i);
+                ImportError error = rejected.get(i);
+                if (error != null) {
+                    error.setRecordNumber(prepared.recordNumber());
+                    handler.recordFailure(prepared, List.of(error));
+                } else {
+                    written.add(prepared);
+                }
+            }
+            handler.recordSuccess(written);
+        } catch (Exception e) {
+            // A failing COPY is not a bad record but a broken bulk path; every chunk is then written
+            // row by row, so it is reported in the summary instead of only in the log
+            handler.chunksRetriedIndividually++;
+            if (handler.options.getMode() == ImportMode.COPY) {
+                log.error("COPY of a chunk of {} records failed, retrying records individually through JPA: {}",
+                        validTickets.size(), e.getMessage(), e);
+            } else {
+                log.warn("Import chunk of {} records failed, retrying records individually: {}",
+                        validTickets.size(), e.getMessage());
+            }
+            createIndividually(validTickets, handler);
+        }
+    }
+
+    // Quarantine ids of the records of a chunk that were written
+    private static List<UUID> quarantineIds(List<PreparedTicket> chunk, Map<Integer, ImportError> rejected) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UUID quarantineId = chunk.get(i).quarantineId();
+            if (quarantineId != null && !rejected.containsKey(i)) {
+                ids.add(quarantineId);
+            }
+        }
+        return ids;
+    }
+
+    private void updateQuarantine(BatchingRecordHandler handler) {
+        if (handler.quarantined.isEmpty()) {
+            return;
+        }
+        try {
+            quarantineService.update(handler.importId, handler.quarantined);
+        } catch (Exception e) {
+            // The failures are still in the summary and the error report; reprocessed records stay
+            // quarantined with their previous reason and are released with the run
+            log.error("Could not update import quarantine for import {}: {}", handler.importId, e.getMessage(), e);
+        } finally {
+            handler.quarantined.clear();
+        }
+    }
+
+    // Drops records committed by an earlier run. Repeats within the file are imported like any
+    // other record, so only what existed before this run started counts
+    private List<PreparedTicket> skipAlreadyImported(List<PreparedTicket> tickets, BatchingRecordHandler handler) {
+        Set<String> existing = ticketService.findExistingContentHashes(
+                tickets.stream().map(PreparedTicket::contentHash).collect(Collectors.toSet()), handler.startedAt);
+        List<PreparedTicket> remaining = new ArrayList<>(tickets.size());
+        List<PreparedTicket> skipped = new ArrayList<>();
+        for (PreparedTicket prepared : tickets) {
+            if (!existing.contains(prepared.contentHash())) {
+                remaining.add(prepared);
+            } else {
+                skipped.add(prepared);
+            }
+        }
+        handler.recordSkipped(skipped);
+        return remaining;
+    }
+
+    private void createIndividually(List<PreparedTicket> tickets, BatchingRecordHandler handler) {
+        for (PreparedTicket prepared : tickets) {
+            try {
+                transaction.executeWithoutResult(status -> {
+                    ticketService.createTickets(List.of(prepared.ticket()),
+                            Collections.singletonList(prepared.classification()));
+                    quarantineService.resolve(quarantineIds(List.of(prepared), Map.of()));
+                });
+                handler.recordSuccess(List.of(prepared));
+            } catch (Exception e) {
+                log.error("Error importing ticket at record {}: {}", prepared.recordNumber(), e.getMessage(), e);
+                handler.recordFailure(prepared, List.of(new ImportError(prepared.recordNumber(), null, e.getMessage())));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordSource {
+        void feed(BatchingRecordHandler handler) throws IOException;
+    }
+
+    // quarantineId is set when the record is being reprocessed from the quarantine
+    private record ParsedTicket(long recordNumber, UUID quarantineId, CreateTicketRequest ticket) {
+    }
+
+    private record PreparedTicket(long recordNumber, UUID quarantineId, CreateTicketRequest ticket,
+                                  ClassificationResult classification, String contentHash, List<ImportError> errors) {
+    }
+
+    private class BatchingRecordHandler implements TicketRecordHandler {
+
+        private final ImportProgress progress;
+        private final ImportOptions options;
+        private final Deque<Future<List<PreparedTicket>>> inFlight = new ArrayDeque<>();
+        private final ImportErrorCollector errors;
+        private final UUID importId = UUID.randomUUID();
+        // Creation timestamps are stored to the microsecond; every row of this run is at or after this
+        private final LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        // Quarantine failures of the current chunk, written once the chunk is persisted
+        private final List<QuarantinedRecord> quarantined = new ArrayList<>();
+        private List<ParsedTicket> buffer;
+        private int totalRecords;
+        private int successCount;
+        private int failCount;
+        private int skippedCount;
+        private int chunksRetriedIndividually;
+        private int quarantinedCount;
+
+        BatchingRecordHandler(ImportProgress progress, ImportOptions options) {
+            this.progress = progress;
+            this.options = options;
+            this.errors = new ImportErrorCollector(importProperties.getErrors().getMaxInline(), errorReportStore.create());
+            this.buffer = new ArrayList<>(importProperties.getBatchSize());
+        }
+
+        @Override
+        public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+            add(new ParsedTicket(recordNumber, null, ticket));
+        }
+
+        void onQuarantined(QuarantinedRecord record) {
+            add(new ParsedTicket(record.recordNumber(), record.id(), record.ticket()));
+        }
+
+        @Override
+        public void onError(long recordNumber, FileParseException error) {
+            totalRecords++;
+            progress.recordParsed();
+            recordFailure(recordNumber, error.getMessage());
+        }
+
+        void recordSuccess(List<PreparedTicket> tickets) {
+            successCount += tickets.size();
+            progress.recordSucceeded(tickets.size());
+        }
+
+        // Already in the database, so they leave the quarantine without being written
+        void recordSkipped(List<PreparedTicket> tickets) {
+            skippedCount += tickets.size();
+            progress.recordSkipped(tickets.size());
+            quarantineService.resolve(quarantineIds(tickets, Map.of()));
+        }
+
+        // Parse errors have no payload to quarantine
+        void recordFailure(long recordNumber, String message) {
+            recordFailure(recordNumber, List.of(new ImportError(recordNumber, null, message)));
+        }
+
+        void recordFailure(PreparedTicket prepared, List<ImportError> recordErrors) {
+            recordFailure(prepared.recordNumber(), recordErrors);
+            quarantined.add(new QuarantinedRecord(prepared.quarantineId(), prepared.recordNumber(), prepared.ticket(),
+                    ImportErrorCollector.describe(recordErrors)));
+            quarantinedCount++;
+        }
+
+        private void recordFailure(long recordNumber, List<ImportError> recordErrors) {
+            errors.add(recordNumber, recordErrors);
+            failCount++;
+            progress.recordFailed();
+        }
+
+        private void add(ParsedTicket parsed) {
+            totalRecords++;
+            progress.recordParsed();
+            buffer.add(parsed);
+            if (buffer.size() >= importProperties.getBatchSize()) {
+                submitBuffer();
+            }
+        }
+
+        @Override
+        public void flush() {
+            submitBuffer();
+            while (!inFlight.isEmpty()) {
+                persistNext();
+            }
+        }
+
+        void finish() {
+            flush();
+        }
+
+        private void submitBuffer() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            List<ParsedTicket> batch = buffer;
+            buffer = new ArrayList<>(importProperties.getBatchSize());
+            inFlight.addLast(preparePool.submit(() -> prepareBatch(batch, options)));
+
+            // Back-pressure: the parser waits for the writer once enough batches are queued
+            while (inFlight.size() > importProperties.getMaxInFlightBatches()) {
+                persistNext();
+            }
+        }
+
+        private void persistNext() {
+            List<PreparedTicket> prepared;
+            try {
+                prepared = inFlight.removeFirst().get();
+                importThrottle.acquireRows(prepared.size());
+                importThrottle.acquireConnection();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                inFlight.forEach(future -> future.cancel(true));
+                inFlight.clear();
+                throw new IllegalStateException("Import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Import batch preparation failed: " + e.getCause().getMessage(), e.getCause());
+            }
+            try {
+                persistBatch(prepared, this);
+                updateQuarantine(this);
+            } finally {
+                importThrottle.releaseConnection();
+            }
+        }
+    }
 }
@@ -0,0 +1,173 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Budget shared by every running import: a token bucket for rows per second and a cap on
+ * how many connections imports may hold at once, so the pool always has room for the
+ * interactive endpoints.
+ * <p>
+ * The row rate adapts to {@link InteractiveLatencyMonitor}: while p99 latency of the ticket
+ * endpoints is above the threshold the rate is halved once per adjust interval, and once it
+ * is back below, the rate recovers in steps of a tenth of the rate it started from.
+ * Without a configured rate imports run unthrottled until the first back-off, which starts
+ * from the throughput observed at that moment.
+ */
+@Component
+@Slf4j
+public class ImportThrottle {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final double BACKOFF_FACTOR = 0.5;
+    private static final double RECOVERY_STEP = 0.1;
+
+    private final ImportProperties.Throttle config;
+    private final InteractiveLatencyMonitor latencyMonitor;
+    private final Semaphore connections;
+
+    // Rows per second currently granted; infinite while unthrottled
+    private double rate;
+    // Rate recovery returns to, and the size of a recovery step
+    private double baseRate;
+    private double tokens;
+    private long lastRefill;
+    private long lastAdjust;
+    private long rowsSinceAdjust;
+
+    public ImportThrottle(ImportProperties importProperties, InteractiveLatencyMonitor latencyMonitor,
+                          DataSource dataSource) {
+        this.config = importProperties.getThrottle();
+        this.latencyMonitor = latencyMonitor;
+
+        int permits = Math.max(1, (int) (poolSize(dataSource) * config.getMaxConnectionShare()));
+        this.connections = new Semaphore(permits, true);
+
+        long now = System.nanoTime();
+        this.rate = configuredRate();
+        this.baseRate = config.getRowsPerSecond();
+        this.lastRefill = now;
+        this.lastAdjust = now;
+    }
+
+    /**
+     * Blocks until the budget allows {@code rows} more rows to be written. Rows are taken in
+     * slices of at most one second's worth (or one adjust interval's, if shorter), and the rate
+     * is re-evaluated between slices, so a large chunk at a low rate speeds up as soon as the
+     * rate recovers.
+     */
+    public void acquireRows(int rows) throws InterruptedException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        int remaining = rows;
+        while (remaining > 0) {
+            int slice;
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                adjust(now);
+                if (Double.isInfinite(rate)) {
+                    rowsSinceAdjust += remaining;
+                    return;
+                }
+                refill(now);
+                slice = (int) Math.min(remaining, Math.max(1, Math.ceil(rate * sliceSeconds())));
+                rowsSinceAdjust += slice;
+                // A slice may take the bucket into debt; the wait pays it back
+                tokens -= slice;
+                waitNanos = tokens < 0 ? (long) (-tokens / rate * 1e9) : 0;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            remaining -= slice;
+        }
+    }
+
+    /**
+     * Takes one of the connections imports may use; pair with {@link #releaseConnection()}.
+     */
+    public void acquireConnection() throws InterruptedException {
+        if (config.isEnabled()) {
+            connections.acquire();
+        }
+    }
+
+    public void releaseConnection() {
+        if (config.isEnabled()) {
+            connections.release();
+        }
+    }
+
+    synchronized double rate() {
+        return rate;
+    }
+
+    synchronized void adjust(long now) {
+        long elapsed = now - lastAdjust;
+        if (elapsed < config.getAdjustInterval().toNanos()) {
+            return;
+        }
+        double observedRate = rowsSinceAdjust / (elapsed / 1e9);
+        lastAdjust = now;
+        rowsSinceAdjust = 0;
+
+        long p99 = latencyMonitor.percentile(0.99, config.getLatencyWindow(), MIN_LATENCY_SAMPLES, now);
+        double minRate = config.getMinRowsPerSecond();
+        if (p99 > config.getLatencyThreshold().toNanos()) {
+            if (Double.isInfinite(rate)) {
+                baseRate = Math.max(minRate, observedRate);
+                rate = baseRate;
+                tokens = 0;
+                lastRefill = now;
+            }
+            double reduced = Math.max(minRate, rate * BACKOFF_FACTOR);
+            if (reduced < rate) {
+                log.info("Interactive p99 latency is {} ms, throttling imports to {} rows/s",
+                        TimeUnit.NANOSECONDS.toMillis(p99), Math.round(reduced));
+            }
+            rate = reduced;
+        } else if (!Double.isInfinite(rate) && rate < baseRate) {
+            rate = Math.min(baseRate, rate + Math.max(baseRate * RECOVERY_STEP, minRate));
+            if (rate >= baseRate) {
+                log.info("Interactive latency recovered, import throttle back to {}",
+                        config.getRowsPerSecond() > 0 ? config.getRowsPerSecond() + " rows/s" : "unlimited");
+                rate = configuredRate();
+            }
+        }
+    }
+
+    private void refill(long now) {
+        // At most one second worth of rows can be saved up
+        tokens = Math.min(rate, tokens + (now - lastRefill) / 1e9 * rate);
+        lastRefill = now;
+    }
+
+    private double sliceSeconds() {
+        return Math.min(1.0, config.getAdjustInterval().toNanos() / 1e9);
+    }
+
+    private double configuredRate() {
+        return config.getRowsPerSecond() > 0 ? config.getRowsPerSecond() : Double.POSITIVE_INFINITY;
+    }
+
+    private int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not determine connection pool size: {}", e.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
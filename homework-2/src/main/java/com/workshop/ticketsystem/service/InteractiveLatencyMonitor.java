@@ -0,0 +1,56 @@
+package com.workshop.ticketsystem.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent response times of the interactive ticket endpoints so imports can
+ * back off when agents start to feel them.
+ */
+@Component
+public class InteractiveLatencyMonitor {
+
+    private static final int CAPACITY = 2048;
+
+    private final long[] latencies = new long[CAPACITY];
+    private final long[] timestamps = new long[CAPACITY];
+    private int next;
+    private int size;
+
+    public void record(long latencyNanos) {
+        record(latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * @return the latency quantile in nanoseconds over the samples within {@code window},
+     *         or -1 when there are fewer than {@code minSamples} of them
+     */
+    public long percentile(double quantile, Duration window, int minSamples) {
+        return percentile(quantile, window, minSamples, System.nanoTime());
+    }
+
+    synchronized void record(long latencyNanos, long timestamp) {
+        latencies[next] = latencyNanos;
+        timestamps[next] = timestamp;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+    }
+
+    synchronized long percentile(double quantile, Duration window, int minSamples, long now) {
+        long cutoff = now - window.toNanos();
+        long[] recent = new long[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] - cutoff >= 0) {
+                recent[count++] = latencies[i];
+            }
+        }
+        if (count == 0 || count < minSamples) {
+            return -1;
+        }
+        Arrays.sort(recent, 0, count);
+        return recent[(int) Math.ceil(quantile * count) - 1];
+    }
+}
@@ -0,0 +1,128 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled snapshot of the category and priority keyword sets. All keywords of
+ * both sets go into one {@link KeywordMatcher}; keyword ids are consecutive per group (one
+ * category or priority), and groups are numbered in enum declaration order, categories first,
+ * so ties between groups always resolve the same way.
+ * <p>
+ * A dictionary change compiles a new snapshot and publishes it with a single reference
+ * write, so a classification works on one consistent snapshot from start to end.
+ */
+public final class KeywordDictionary {
+
+    private final long version;
+    private final Map<TicketCategory, List<String>> categoryKeywords;
+    private final Map<TicketPriority, List<String>> priorityKeywords;
+
+    final TicketCategory[] categoryGroups;
+    final TicketPriority[] priorityGroups;
+    // Keyword ids of group g are groupStart[g] until groupStart[g + 1]
+    final int[] groupStart;
+    final String[] keywords;
+    final int[] keywordGroup;
+    final KeywordMatcher matcher;
+
+    private KeywordDictionary(Map<TicketCategory, List<String>> categoryKeywords,
+                              Map<TicketPriority, List<String>> priorityKeywords) {
+        this.categoryKeywords = copy(categoryKeywords, TicketCategory.class);
+        this.priorityKeywords = copy(priorityKeywords, TicketPriority.class);
+
+        List<String> allKeywords = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> groups = new ArrayList<>();
+        for (List<String> groupKeywords : this.categoryKeywords.values()) {
+            addGroup(groupKeywords, allKeywords, starts, groups);
+        }
+        for (List<String> groupKeywords : this.priorityKeywords.values()) {
+            addGroup(groupKeywords, allKeywords, starts, groups);
+        }
+        starts.add(allKeywords.size());
+
+        this.categoryGroups = this.categoryKeywords.keySet().toArray(TicketCategory[]::new);
+        this.priorityGroups = this.priorityKeywords.keySet().toArray(TicketPriority[]::new);
+        this.groupStart = starts.stream().mapToInt(Integer::intValue).toArray();
+        this.keywords = allKeywords.toArray(String[]::new);
+        this.keywordGroup = groups.stream().mapToInt(Integer::intValue).toArray();
+        this.matcher = KeywordMatcher.compile(allKeywords);
+        this.version = fingerprint();
+    }
+
+    /**
+     * Compiles a snapshot. Only enum constants present as keys form a group.
+     */
+    static KeywordDictionary compile(Map<TicketCategory, List<String>> categoryKeywords,
+                                     Map<TicketPriority, List<String>> priorityKeywords) {
+        return new KeywordDictionary(categoryKeywords, priorityKeywords);
+    }
+
+    /**
+     * Fingerprint of the keyword sets: the same keywords always give the same version, on
+     * every instance, so results cached for one version are valid for exactly that dictionary.
+     */
+    public long version() {
+        return version;
+    }
+
+    public Map<TicketCategory, List<String>> categoryKeywords() {
+        return categoryKeywords;
+    }
+
+    public Map<TicketPriority, List<String>> priorityKeywords() {
+        return priorityKeywords;
+    }
+
+    int groupCount() {
+        return groupStart.length - 1;
+    }
+
+    private static <E extends Enum<E>> Map<E, List<String>> copy(Map<E, List<String>> source, Class<E> type) {
+        // EnumMap iterates in declaration order
+        Map<E, List<String>> copy = new EnumMap<>(type);
+        source.forEach((key, value) -> copy.put(key, List.copyOf(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    private static void addGroup(List<String> groupKeywords, List<String> keywords, List<Integer> groupStart,
+                                 List<Integer> keywordGroup) {
+        int group = groupStart.size();
+        groupStart.add(keywords.size());
+        for (String keyword : groupKeywords) {
+            keywords.add(keyword);
+            keywordGroup.add(group);
+        }
+    }
+
+    private long fingerprint() {
+        long hash = 1;
+        for (Map.Entry<TicketCategory, List<String>> entry : categoryKeywords.entrySet()) {
+            hash = hash(hash, entry.getKey().name(), entry.getValue());
+        }
+        hash = hash * 31 + '|';
+        for (Map.Entry<TicketPriority, List<String>> entry : priorityKeywords.entrySet()) {
+            hash = hash(hash, entry.getKey().name(), entry.getValue());
+        }
+        // Finalizer of SplitMix64, so small edits change every bit
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return (hash ^ (hash >>> 31)) & Long.MAX_VALUE;
+    }
+
+    private static long hash(long hash, String label, List<String> groupKeywords) {
+        hash = hash * 31 + label.hashCode();
+        for (String keyword : groupKeywords) {
+            hash = hash * 1_000_003 + keyword.hashCode();
+            hash = hash * 31 + keyword.length();
+        }
+        return hash * 31 + ';';
+    }
+}
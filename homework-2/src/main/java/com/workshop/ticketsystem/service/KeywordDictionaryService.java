@@ -0,0 +1,26 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.KeywordDictionaryDto;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+
+import java.util.List;
+
+public interface KeywordDictionaryService {
+
+    /**
+     * The dictionary classifications currently use. Never blocks.
+     */
+    KeywordDictionary current();
+
+    KeywordDictionaryDto getDictionary();
+
+    KeywordDictionaryDto replaceCategoryKeywords(TicketCategory category, List<String> keywords);
+
+    KeywordDictionaryDto replacePriorityKeywords(TicketPriority priority, List<String> keywords);
+
+    /**
+     * Recompiles the dictionary from the database, e.g. after another instance edited it.
+     */
+    KeywordDictionaryDto reload();
+}
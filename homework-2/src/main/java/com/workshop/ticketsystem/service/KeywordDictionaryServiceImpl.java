@@ -0,0 +1,215 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.KeywordDictionaryDto;
+import com.workshop.ticketsystem.entity.KeywordDictionaryEntry;
+import com.workshop.ticketsystem.enums.KeywordKind;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.repository.KeywordDictionaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the keyword dictionary in the {@code keyword_dictionary} table and publishes it to
+ * classification as an immutable {@link KeywordDictionary}. Every edit recompiles the whole
+ * dictionary once its transaction has committed and swaps it in with one volatile write;
+ * classifications read that reference without locking and keep the snapshot they started
+ * with. Recompiling is serialized so an older snapshot can never replace a newer one.
+ */
+@Service
+@Slf4j
+public class KeywordDictionaryServiceImpl implements KeywordDictionaryService, SmartInitializingSingleton {
+
+    // Seeded into an empty keyword_dictionary table
+    private static final Map<TicketCategory, List<String>> DEFAULT_CATEGORY_KEYWORDS = Map.of(
+            TicketCategory.ACCOUNT_ACCESS, Arrays.asList("login", "password", "2fa", "sign in", "authentication", "access denied", "locked out", "reset password", "forgot password", "cannot login"),
+            TicketCategory.TECHNICAL_ISSUE, Arrays.asList("error", "bug", "crash", "broken", "not working", "failure", "exception", "timeout", "slow", "performance"),
+            TicketCategory.BILLING_QUESTION, Arrays.asList("billing", "invoice", "payment", "charge", "refund", "subscription", "pricing", "credit card", "cost", "fee"),
+            TicketCategory.FEATURE_REQUEST, Arrays.asList("feature", "request", "enhancement", "improvement", "add", "new feature", "would like", "suggest", "could you add", "need"),
+            TicketCategory.BUG_REPORT, Arrays.asList("bug", "issue", "defect", "incorrect", "wrong", "broken functionality", "not behaving", "unexpected", "error message", "fails"),
+            TicketCategory.OTHER, Arrays.asList("other", "general", "question", "help", "support", "inquiry")
+    );
+
+    private static final Map<TicketPriority, List<String>> DEFAULT_PRIORITY_KEYWORDS = Map.of(
+            TicketPriority.URGENT, Arrays.asList("urgent", "critical", "production down", "can't access", "immediately", "asap", "emergency", "outage", "cannot work", "blocking"),
+            TicketPriority.HIGH, Arrays.asList("important", "high priority", "serious", "major", "significant impact", "affecting many", "soon", "quickly"),
+            TicketPriority.MEDIUM, Arrays.asList("moderate", "normal", "standard", "regular", "when possible", "sometime"),
+            TicketPriority.LOW, Arrays.asList("low", "minor", "small", "cosmetic", "nice to have", "eventually", "whenever", "not urgent")
+    );
+
+    private final KeywordDictionaryRepository keywordDictionaryRepository;
+    private final ClassificationCache classificationCache;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    // The defaults until the table has been read, so classification works from the first request
+    private volatile KeywordDictionary current = KeywordDictionary.compile(
+            withAllGroups(DEFAULT_CATEGORY_KEYWORDS, TicketCategory.class),
+            withAllGroups(DEFAULT_PRIORITY_KEYWORDS, TicketPriority.class));
+
+    public KeywordDictionaryServiceImpl(KeywordDictionaryRepository keywordDictionaryRepository,
+                                        ClassificationCache classificationCache,
+                                        PlatformTransactionManager transactionManager) {
+        this.keywordDictionaryRepository = keywordDictionaryRepository;
+        this.classificationCache = classificationCache;
+        // Own transactions, as reloads also run from after-commit callbacks of edits
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        writeTransaction.executeWithoutResult(status -> seedIfEmpty());
+        reload();
+    }
+
+    @Override
+    public KeywordDictionary current() {
+        return current;
+    }
+
+    @Override
+    public KeywordDictionaryDto getDictionary() {
+        return toDto(current);
+    }
+
+    @Override
+    @Transactional
+    public KeywordDictionaryDto replaceCategoryKeywords(TicketCategory category, List<String> keywords) {
+        return replace(KeywordKind.CATEGORY, category.name(), keywords);
+    }
+
+    @Override
+    @Transactional
+    public KeywordDictionaryDto replacePriorityKeywords(TicketPriority priority, List<String> keywords) {
+        return replace(KeywordKind.PRIORITY, priority.name(), keywords);
+    }
+
+    @Override
+    public synchronized KeywordDictionaryDto reload() {
+        List<KeywordDictionaryEntry> entries = readTransaction.execute(
+                status -> keywordDictionaryRepository.findAllByOrderByKindAscLabelAscPositionAsc());
+        KeywordDictionary dictionary = compile(entries);
+        if (dictionary.version() != current.version()) {
+            log.info("Keyword dictionary changed, now version {}", dictionary.version());
+        }
+        current = dictionary;
+        // Entries of older versions can no longer be hit; dropping them just frees the memory
+        classificationCache.invalidateAll();
+        return toDto(dictionary);
+    }
+
+    private KeywordDictionaryDto replace(KeywordKind kind, String label, List<String> keywords) {
+        List<String> normalized = normalize(keywords);
+        keywordDictionaryRepository.deleteByKindAndLabel(kind, label);
+        List<KeywordDictionaryEntry> entries = new ArrayList<>(normalized.size());
+        for (int i = 0; i < normalized.size(); i++) {
+            entries.add(new KeywordDictionaryEntry(null, kind, label, normalized.get(i), i));
+        }
+        keywordDictionaryRepository.saveAll(entries);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Publish only what has been committed
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        }
+
+        Map<TicketCategory, List<String>> categories = new EnumMap<>(current.categoryKeywords());
+        Map<TicketPriority, List<String>> priorities = new EnumMap<>(current.priorityKeywords());
+        if (kind == KeywordKind.CATEGORY) {
+            categories.put(TicketCategory.valueOf(label), normalized);
+        } else {
+            priorities.put(TicketPriority.valueOf(label), normalized);
+        }
+        return toDto(KeywordDictionary.compile(categories, priorities));
+    }
+
+    // Trimmed, non-blank and unique ignoring case; a duplicate would count as two matches
+    private List<String> normalize(List<String> keywords) {
+        List<String> normalized = new ArrayList<>(keywords.size());
+        Set<String> seen = new HashSet<>();
+        for (String keyword : keywords) {
+            String trimmed = keyword != null ? keyword.trim() : "";
+            if (trimmed.isEmpty()) {
+                throw new ValidationException("Keywords must not be blank");
+            }
+            if (trimmed.length() > KeywordDictionaryEntry.MAX_KEYWORD_LENGTH) {
+                throw new ValidationException("Keyword exceeds " + KeywordDictionaryEntry.MAX_KEYWORD_LENGTH
+                        + " characters: " + trimmed.substring(0, 20) + "...");
+            }
+            if (seen.add(KeywordMatcher.fold(trimmed))) {
+                normalized.add(trimmed);
+            }
+        }
+        return normalized;
+    }
+
+    private void seedIfEmpty() {
+        if (keywordDictionaryRepository.count() > 0) {
+            return;
+        }
+        List<KeywordDictionaryEntry> entries = new ArrayList<>();
+        DEFAULT_CATEGORY_KEYWORDS.forEach((category, keywords) -> addEntries(entries, KeywordKind.CATEGORY, category.name(), keywords));
+        DEFAULT_PRIORITY_KEYWORDS.forEach((priority, keywords) -> addEntries(entries, KeywordKind.PRIORITY, priority.name(), keywords));
+        keywordDictionaryRepository.saveAll(entries);
+        log.info("Seeded keyword dictionary with {} default keywords", entries.size());
+    }
+
+    private static void addEntries(List<KeywordDictionaryEntry> entries, KeywordKind kind, String label, List<String> keywords) {
+        for (int i = 0; i < keywords.size(); i++) {
+            entries.add(new KeywordDictionaryEntry(null, kind, label, keywords.get(i), i));
+        }
+    }
+
+    private static KeywordDictionary compile(List<KeywordDictionaryEntry> entries) {
+        Map<TicketCategory, List<String>> categories = withAllGroups(Map.of(), TicketCategory.class);
+        Map<TicketPriority, List<String>> priorities = withAllGroups(Map.of(), TicketPriority.class);
+        for (KeywordDictionaryEntry entry : entries) {
+            try {
+                if (entry.getKind() == KeywordKind.CATEGORY) {
+                    categories.get(TicketCategory.valueOf(entry.getLabel())).add(entry.getKeyword());
+                } else {
+                    priorities.get(TicketPriority.valueOf(entry.getLabel())).add(entry.getKeyword());
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring keyword '{}' for unknown {} {}", entry.getKeyword(), entry.getKind(), entry.getLabel());
+            }
+        }
+        return KeywordDictionary.compile(categories, priorities);
+    }
+
+    // Every enum constant as a group, so a category or priority without keywords is still listed
+    private static <E extends Enum<E>> Map<E, List<String>> withAllGroups(Map<E, List<String>> keywords, Class<E> type) {
+        Map<E, List<String>> groups = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            groups.put(constant, new ArrayList<>(keywords.getOrDefault(constant, List.of())));
+        }
+        return groups;
+    }
+
+    private static KeywordDictionaryDto toDto(KeywordDictionary dictionary) {
+        return new KeywordDictionaryDto(dictionary.version(), dictionary.categoryKeywords(), dictionary.priorityKeywords());
+    }
+}
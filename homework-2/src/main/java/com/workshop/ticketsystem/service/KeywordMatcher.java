@@ -0,0 +1,201 @@
+package com.workshop.ticketsystem.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton over a fixed set of keywords. One pass over the text reports every
+ * keyword that occurs in it as a substring, the same as calling {@code text.contains(keyword)}
+ * for each keyword, at a cost independent of the number of keywords. Matching ignores case:
+ * keywords and input are folded with {@link Character#toLowerCase(char)} character by
+ * character, so the input never has to be copied.
+ * <p>
+ * The automaton is compiled into a dense transition table over the distinct characters of the
+ * keywords, so matching is one array lookup per input character. Instances are immutable and
+ * safe to share between threads.
+ */
+final class KeywordMatcher {
+
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final int patternCount;
+    // Characters that occur in any keyword: ASCII by table, the rest by binary search
+    private final int[] asciiClasses = new int[128];
+    private final char[] otherChars;
+    private final int[] otherClasses;
+    private final int classCount;
+    // transitions[state * classCount + charClass]; class 0 is every character not in a keyword
+    private final int[] transitions;
+    // Keyword ids ending at each state, including those reached through failure links
+    private final int[][] outputs;
+
+    private KeywordMatcher(List<String> patterns) {
+        this.patternCount = patterns.size();
+        patterns = patterns.stream().map(KeywordMatcher::fold).toList();
+
+        TreeSet<Character> chars = new TreeSet<>();
+        int totalLength = 0;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                chars.add(pattern.charAt(i));
+            }
+            totalLength += pattern.length();
+        }
+        int nonAscii = (int) chars.stream().filter(c -> c >= 128).count();
+        this.otherChars = new char[nonAscii];
+        this.otherClasses = new int[nonAscii];
+        int nextClass = 1;
+        int other = 0;
+        for (char c : chars) {
+            if (c < 128) {
+                asciiClasses[c] = nextClass++;
+            } else {
+                otherChars[other] = c;
+                otherClasses[other++] = nextClass++;
+            }
+        }
+        this.classCount = nextClass;
+        for (char c = 'A'; c <= 'Z'; c++) {
+            asciiClasses[c] = asciiClasses[Character.toLowerCase(c)];
+        }
+
+        // Trie, with -1 for missing edges until the failure links are known
+        int maxStates = totalLength + 1;
+        int[] table = new int[maxStates * classCount];
+        Arrays.fill(table, -1);
+        int[][] stateOutputs = new int[maxStates][];
+        int states = 1;
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = state * classCount + charClass(pattern.charAt(i));
+                if (table[slot] < 0) {
+                    table[slot] = states++;
+                }
+                state = table[slot];
+            }
+            stateOutputs[state] = append(stateOutputs[state], id);
+        }
+
+        // Breadth-first: each state's failure target is complete before its children need it
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < classCount; c++) {
+            int child = table[c];
+            if (child < 0) {
+                table[c] = 0;
+            } else {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fallback = failure[state];
+            stateOutputs[state] = merge(stateOutputs[state], stateOutputs[fallback]);
+            for (int c = 0; c < classCount; c++) {
+                int slot = state * classCount + c;
+                int child = table[slot];
+                if (child < 0) {
+                    table[slot] = table[fallback * classCount + c];
+                } else {
+                    failure[child] = table[fallback * classCount + c];
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(table, states * classCount);
+        this.outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            outputs[state] = stateOutputs[state] != null ? stateOutputs[state] : NO_OUTPUTS;
+        }
+    }
+
+    /**
+     * @param patterns keywords; a keyword's id is its index in the list. Empty keywords never match
+     */
+    static KeywordMatcher compile(List<String> patterns) {
+        return new KeywordMatcher(patterns);
+    }
+
+    int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Sets {@code found[id]} for every keyword that occurs in {@code text}. Entries for
+     * keywords that do not occur are left untouched.
+     */
+    void findAll(CharSequence text, boolean[] found) {
+        scan(text, 0, id -> found[id] = true);
+    }
+
+    /**
+     * Feeds {@code text} through the automaton starting at {@code state}, so several pieces can be
+     * matched as if they were concatenated. Every keyword occurrence is reported to {@code hits},
+     * a keyword occurring more than once is reported each time.
+     *
+     * @param state 0 at the start of the text, otherwise the value returned for the previous piece
+     * @return the state to continue with
+     */
+    int scan(CharSequence text, int state, IntConsumer hits) {
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * classCount + charClass(text.charAt(i))];
+            int[] ids = outputs[state];
+            for (int j = 0; j < ids.length; j++) {
+                hits.accept(ids[j]);
+            }
+        }
+        return state;
+    }
+
+    private int charClass(char c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        char lower = Character.toLowerCase(c);
+        if (lower < 128) {
+            return asciiClasses[lower];
+        }
+        int index = Arrays.binarySearch(otherChars, lower);
+        return index >= 0 ? otherClasses[index] : 0;
+    }
+
+    static String fold(String pattern) {
+        char[] folded = new char[pattern.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(pattern.charAt(i));
+        }
+        return new String(folded);
+    }
+
+    private static int[] append(int[] ids, int id) {
+        if (ids == null) {
+            return new int[]{id};
+        }
+        int[] appended = Arrays.copyOf(ids, ids.length + 1);
+        appended[ids.length] = id;
+        return appended;
+    }
+
+    private static int[] merge(int[] own, int[] inherited) {
+        if (inherited == null || inherited.length == 0) {
+            return own;
+        }
+        if (own == null) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+        return merged;
+    }
+}
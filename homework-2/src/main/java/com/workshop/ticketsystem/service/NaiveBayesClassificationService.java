@@ -0,0 +1,187 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.AutoClassifyRequest;
+import com.workshop.ticketsystem.dto.BatchClassificationResponse;
+import com.workshop.ticketsystem.dto.ClassificationCacheStats;
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.exception.TicketNotFoundException;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Classifies with the trained {@link NaiveBayesModel} instead of keyword counts, so the
+ * confidence is the model's probability of the predicted category and priority. Logging and
+ * batch classification are shared with the keyword engine.
+ * <p>
+ * Results are not cached: scoring a ticket costs about as much as hashing it for a cache key.
+ */
+@Service
+@RequiredArgsConstructor
+public class NaiveBayesClassificationService implements ClassificationService {
+
+    private final NaiveBayesModelService naiveBayesModelService;
+    private final ClassificationServiceImpl keywordClassificationService;
+    private final TicketRepository ticketRepository;
+
+    // Reused by every classification on a thread, so scoring itself allocates nothing
+    private static final ThreadLocal<ScoreScratch> SCRATCH = new ThreadLocal<>();
+
+    @Override
+    public ClassificationEngine getEngine() {
+        return ClassificationEngine.NAIVE_BAYES;
+    }
+
+    @Override
+    public void requireReady() {
+        currentModel();
+    }
+
+    @Override
+    @Transactional
+    public ClassificationResult classify(Ticket ticket) {
+        ClassificationResult result = evaluate(ticket.getSubject(), ticket.getDescription());
+        logClassification(ticket.getId(), result);
+        return result;
+    }
+
+    @Override
+    public ClassificationResult evaluate(String subject, String description) {
+        NaiveBayesModel model = currentModel();
+        ScoreScratch scratch = scratchFor(model);
+        scratch.score(subject, description);
+
+        int categoryClass = bestClass(scratch.scores, 0, NaiveBayesModel.CATEGORIES.length);
+        int priorityClass = bestClass(scratch.scores, NaiveBayesModel.CATEGORIES.length, NaiveBayesModel.STRIDE);
+        TicketCategory category = NaiveBayesModel.CATEGORIES[categoryClass];
+        TicketPriority priority = NaiveBayesModel.PRIORITIES[priorityClass - NaiveBayesModel.CATEGORIES.length];
+        double categoryProbability = probability(scratch.scores, categoryClass, 0, NaiveBayesModel.CATEGORIES.length);
+        double priorityProbability = probability(scratch.scores, priorityClass,
+                NaiveBayesModel.CATEGORIES.length, NaiveBayesModel.STRIDE);
+
+        ClassificationResult result = new ClassificationResult();
+        result.setCategory(category);
+        result.setPriority(priority);
+        result.setConfidenceScore((categoryProbability + priorityProbability) / 2.0);
+        result.setKeywordsFound(List.of());
+        result.deferReasoning(() -> "Category: %s (%.0f%% probability). Priority: %s (%.0f%% probability). Naive Bayes model trained on %d tickets.".formatted(
+                category,
+                categoryProbability * 100,
+                priority,
+                priorityProbability * 100,
+                model.trainedTickets()
+        ));
+        return result;
+    }
+
+    @Override
+    public void logClassification(UUID ticketId, ClassificationResult result) {
+        keywordClassificationService.logClassification(ticketId, result);
+    }
+
+    @Override
+    public void logClassifications(List<UUID> ticketIds, List<ClassificationResult> results) {
+        keywordClassificationService.logClassifications(ticketIds, results);
+    }
+
+    @Override
+    @Transactional
+    public ClassificationResult classifyById(UUID ticketId) {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new TicketNotFoundException(ticketId));
+        return classify(ticket);
+    }
+
+    @Override
+    public BatchClassificationResponse classifyAll(AutoClassifyRequest request) {
+        return keywordClassificationService.classifyAll(request, this);
+    }
+
+    @Override
+    public ClassificationCacheStats cacheStats() {
+        return new ClassificationCacheStats();
+    }
+
+    @Override
+    public void clearCache() {
+    }
+
+    private NaiveBayesModel currentModel() {
+        NaiveBayesModel model = naiveBayesModelService.current();
+        if (model == null) {
+            throw new ValidationException("The naive Bayes model has not been trained yet");
+        }
+        return model;
+    }
+
+    // Ties go to the class declared first
+    private static int bestClass(float[] scores, int fromClass, int toClass) {
+        int best = fromClass;
+        for (int c = fromClass + 1; c < toClass; c++) {
+            if (scores[c] > scores[best]) {
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    // Softmax of the log scores, relative to the best one so nothing overflows
+    private static double probability(float[] scores, int best, int fromClass, int toClass) {
+        double sum = 0;
+        for (int c = fromClass; c < toClass; c++) {
+            sum += Math.exp(scores[c] - scores[best]);
+        }
+        return 1.0 / sum;
+    }
+
+    private static ScoreScratch scratchFor(NaiveBayesModel model) {
+        ScoreScratch scratch = SCRATCH.get();
+        if (scratch == null || scratch.model != model) {
+            scratch = new ScoreScratch(model);
+            SCRATCH.set(scratch);
+        }
+        return scratch;
+    }
+
+    /**
+     * Per-thread scoring state for one model: the class scores and the hasher feeding them.
+     */
+    private static final class ScoreScratch implements IntConsumer {
+
+        private final NaiveBayesModel model;
+        private final float[] weights;
+        private final float[] scores = new float[NaiveBayesModel.STRIDE];
+        private final FeatureHasher hasher;
+
+        ScoreScratch(NaiveBayesModel model) {
+            this.model = model;
+            this.weights = model.weights;
+            this.hasher = new FeatureHasher(model.featureBits, this);
+        }
+
+        void score(String subject, String description) {
+            System.arraycopy(model.priors, 0, scores, 0, scores.length);
+            hasher.reset();
+            hasher.feed(String.valueOf(subject));
+            hasher.feed(String.valueOf(description));
+        }
+
+        @Override
+        public void accept(int feature) {
+            int row = feature * NaiveBayesModel.STRIDE;
+            for (int c = 0; c < NaiveBayesModel.STRIDE; c++) {
+                scores[c] += weights[row + c];
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable multinomial naive Bayes model over hashed word and word pair features (see
+ * {@link FeatureHasher}), predicting category and priority at once. Each feature bucket owns
+ * one row of log probabilities, one per category followed by one per priority, so scoring a
+ * feature adds one contiguous row of floats to the class scores.
+ * <p>
+ * Models are built by a {@link Trainer} and can be written to and read from a stream.
+ */
+public final class NaiveBayesModel {
+
+    static final TicketCategory[] CATEGORIES = TicketCategory.values();
+    static final TicketPriority[] PRIORITIES = TicketPriority.values();
+    // Classes per feature row: every category, then every priority
+    static final int STRIDE = CATEGORIES.length + PRIORITIES.length;
+
+    private static final int FORMAT = 0x4e420001;
+
+    final int featureBits;
+    // Log prior per class, in row order
+    final float[] priors;
+    // weights[feature * STRIDE + class] = log P(feature | class)
+    final float[] weights;
+    private final int trainedTickets;
+    private final int correctedTickets;
+    private final Instant trainedAt;
+
+    private NaiveBayesModel(int featureBits, float[] priors, float[] weights, int trainedTickets,
+                            int correctedTickets, Instant trainedAt) {
+        this.featureBits = featureBits;
+        this.priors = priors;
+        this.weights = weights;
+        this.trainedTickets = trainedTickets;
+        this.correctedTickets = correctedTickets;
+        this.trainedAt = trainedAt;
+    }
+
+    /**
+     * @param correctionWeight how much more a ticket counts for a label an agent corrected
+     */
+    public static Trainer trainer(int featureBits, double smoothing, double correctionWeight) {
+        if (featureBits < 1 || featureBits > 24) {
+            throw new IllegalArgumentException("featureBits must be between 1 and 24, was " + featureBits);
+        }
+        return new Trainer(featureBits, smoothing, correctionWeight);
+    }
+
+    public int featureBits() {
+        return featureBits;
+    }
+
+    public int trainedTickets() {
+        return trainedTickets;
+    }
+
+    public int correctedTickets() {
+        return correctedTickets;
+    }
+
+    public Instant trainedAt() {
+        return trainedAt;
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(FORMAT);
+        // Class names, so a model trained before an enum change is not applied to the wrong classes
+        data.writeInt(STRIDE);
+        for (TicketCategory category : CATEGORIES) {
+            data.writeUTF(category.name());
+        }
+        for (TicketPriority priority : PRIORITIES) {
+            data.writeUTF(priority.name());
+        }
+        data.writeInt(featureBits);
+        data.writeInt(trainedTickets);
+        data.writeInt(correctedTickets);
+        data.writeLong(trainedAt.toEpochMilli());
+        for (float prior : priors) {
+            data.writeFloat(prior);
+        }
+        for (float weight : weights) {
+            data.writeFloat(weight);
+        }
+        data.flush();
+    }
+
+    public static NaiveBayesModel readFrom(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != FORMAT) {
+            throw new IOException("Not a naive Bayes model file");
+        }
+        String[] expected = new String[STRIDE];
+        Arrays.setAll(expected, i -> i < CATEGORIES.length ? CATEGORIES[i].name() : PRIORITIES[i - CATEGORIES.length].name());
+        String[] classes = new String[data.readInt()];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = data.readUTF();
+        }
+        if (!Arrays.equals(classes, expected)) {
+            throw new IOException("Model was trained for classes " + Arrays.toString(classes)
+                    + ", expected " + Arrays.toString(expected));
+        }
+        int featureBits = data.readInt();
+        if (featureBits < 1 || featureBits > 24) {
+            throw new IOException("Invalid feature bits: " + featureBits);
+        }
+        int trainedTickets = data.readInt();
+        int correctedTickets = data.readInt();
+        Instant trainedAt = Instant.ofEpochMilli(data.readLong());
+        float[] priors = new float[STRIDE];
+        for (int i = 0; i < priors.length; i++) {
+            priors[i] = data.readFloat();
+        }
+        float[] weights = new float[(1 << featureBits) * STRIDE];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = data.readFloat();
+        }
+        return new NaiveBayesModel(featureBits, priors, weights, trainedTickets, correctedTickets, trainedAt);
+    }
+
+    /**
+     * Accumulates weighted feature counts per class, one ticket at a time. Not thread-safe.
+     */
+    public static final class Trainer implements IntConsumer {
+
+        private final int featureBits;
+        private final double smoothing;
+        private final double correctionWeight;
+        private final FeatureHasher hasher;
+        // Float counts stop growing once a bucket passes 2^24, so training accumulates in double
+        private final double[] counts;
+        private final double[] documents = new double[STRIDE];
+        private int tickets;
+        private int correctedTickets;
+        // Labels of the ticket being added
+        private int categoryClass;
+        private int priorityClass;
+        private double categoryWeight;
+        private double priorityWeight;
+
+        private Trainer(int featureBits, double smoothing, double correctionWeight) {
+            this.featureBits = featureBits;
+            this.smoothing = smoothing;
+            this.correctionWeight = correctionWeight;
+            this.hasher = new FeatureHasher(featureBits, this);
+            this.counts = new double[(1 << featureBits) * STRIDE];
+        }
+
+        /**
+         * @param categoryCorrected whether an agent changed the category from a logged suggestion
+         * @param priorityCorrected whether an agent changed the priority from a logged suggestion
+         */
+        public void add(String subject, String description, TicketCategory category, TicketPriority priority,
+                        boolean categoryCorrected, boolean priorityCorrected) {
+            categoryClass = category.ordinal();
+            priorityClass = CATEGORIES.length + priority.ordinal();
+            categoryWeight = categoryCorrected ? correctionWeight : 1;
+            priorityWeight = priorityCorrected ? correctionWeight : 1;
+
+            hasher.reset();
+            hasher.feed(String.valueOf(subject));
+            hasher.feed(String.valueOf(description));
+
+            documents[categoryClass] += categoryWeight;
+            documents[priorityClass] += priorityWeight;
+            tickets++;
+            if (categoryCorrected || priorityCorrected) {
+                correctedTickets++;
+            }
+        }
+
+        public int tickets() {
+            return tickets;
+        }
+
+        @Override
+        public void accept(int feature) {
+            counts[feature * STRIDE + categoryClass] += categoryWeight;
+            counts[feature * STRIDE + priorityClass] += priorityWeight;
+        }
+
+        public NaiveBayesModel build() {
+            int features = 1 << featureBits;
+            double[] totals = new double[STRIDE];
+            for (int feature = 0; feature < features; feature++) {
+                for (int c = 0; c < STRIDE; c++) {
+                    totals[c] += counts[feature * STRIDE + c];
+                }
+            }
+
+            float[] weights = new float[counts.length];
+            double[] denominators = new double[STRIDE];
+            for (int c = 0; c < STRIDE; c++) {
+                denominators[c] = Math.log(totals[c] + smoothing * features);
+            }
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = (float) (Math.log(counts[i] + smoothing) - denominators[i % STRIDE]);
+            }
+
+            float[] priors = new float[STRIDE];
+            setPriors(priors, 0, CATEGORIES.length);
+            setPriors(priors, CATEGORIES.length, STRIDE);
+            return new NaiveBayesModel(featureBits, priors, weights, tickets, correctedTickets, Instant.now());
+        }
+
+        // Add-one smoothed, so a class without tickets is unlikely but not impossible
+        private void setPriors(float[] priors, int fromClass, int toClass) {
+            double total = 0;
+            for (int c = fromClass; c < toClass; c++) {
+                total += documents[c];
+            }
+            for (int c = fromClass; c < toClass; c++) {
+                priors[c] = (float) Math.log((documents[c] + 1) / (total + toClass - fromClass));
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.NaiveBayesModelInfo;
+
+public interface NaiveBayesModelService {
+
+    /**
+     * The model naive Bayes classifications currently use, or null before one has been trained
+     * or loaded. Never blocks.
+     */
+    NaiveBayesModel current();
+
+    NaiveBayesModelInfo getModelInfo();
+
+    /**
+     * Trains a new model from every ticket's category and priority and swaps it in.
+     */
+    NaiveBayesModelInfo train();
+}
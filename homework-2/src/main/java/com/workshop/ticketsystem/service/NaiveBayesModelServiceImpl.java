@@ -0,0 +1,141 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ClassificationProperties;
+import com.workshop.ticketsystem.dto.NaiveBayesModelInfo;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.exception.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Trains the naive Bayes model offline, i.e. on request and never on the classification
+ * path, from the category and priority every ticket currently has. A label an agent changed
+ * through the ticket API is flagged as corrected on the ticket and counts
+ * {@code correction-weight} times; suggestions in {@code classification_logs} are not used, as
+ * bulk and on-demand classifications log suggestions nobody acted on.
+ * <p>
+ * A trained model is published with one volatile write and, when a model file is configured,
+ * saved there and loaded again on the next start.
+ */
+@Service
+@Slf4j
+public class NaiveBayesModelServiceImpl implements NaiveBayesModelService, SmartInitializingSingleton {
+
+    private static final String SELECT_TRAINING_TICKETS = """
+            SELECT subject, description, category, priority, category_corrected, priority_corrected
+            FROM tickets
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final ClassificationProperties.NaiveBayes settings;
+
+    private volatile NaiveBayesModel current;
+
+    public NaiveBayesModelServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      ClassificationProperties classificationProperties) {
+        // Streams the tickets instead of loading them all; PostgreSQL only does so inside a transaction
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.settings = classificationProperties.getNaiveBayes();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Path modelFile = modelFile();
+        if (modelFile == null || !Files.exists(modelFile)) {
+            return;
+        }
+        try (InputStream input = Files.newInputStream(modelFile)) {
+            current = NaiveBayesModel.readFrom(input);
+            log.info("Loaded naive Bayes model trained on {} tickets from {}", current.trainedTickets(), modelFile);
+        } catch (IOException e) {
+            log.warn("Could not load naive Bayes model from {}, train a new one: {}", modelFile, e.getMessage());
+        }
+    }
+
+    @Override
+    public NaiveBayesModel current() {
+        return current;
+    }
+
+    @Override
+    public NaiveBayesModelInfo getModelInfo() {
+        return toInfo(current);
+    }
+
+    @Override
+    public synchronized NaiveBayesModelInfo train() {
+        long start = System.nanoTime();
+        NaiveBayesModel.Trainer trainer = NaiveBayesModel.trainer(
+                settings.getFeatureBits(), settings.getSmoothing(), settings.getCorrectionWeight());
+        readTransaction.executeWithoutResult(status -> jdbcTemplate.query(SELECT_TRAINING_TICKETS, resultSet -> {
+            trainer.add(
+                    resultSet.getString("subject"),
+                    resultSet.getString("description"),
+                    TicketCategory.valueOf(resultSet.getString("category")),
+                    TicketPriority.valueOf(resultSet.getString("priority")),
+                    resultSet.getBoolean("category_corrected"),
+                    resultSet.getBoolean("priority_corrected"));
+        }));
+        if (trainer.tickets() == 0) {
+            throw new ValidationException("There are no tickets to train the naive Bayes model on");
+        }
+
+        NaiveBayesModel model = trainer.build();
+        save(model);
+        current = model;
+        log.info("Trained naive Bayes model on {} tickets ({} corrected) in {} ms",
+                model.trainedTickets(), model.correctedTickets(), (System.nanoTime() - start) / 1_000_000);
+        return toInfo(model);
+    }
+
+    private void save(NaiveBayesModel model) {
+        Path modelFile = modelFile();
+        if (modelFile == null) {
+            return;
+        }
+        try {
+            Path directory = modelFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            // Written aside and moved into place, so a crash never leaves a half-written model
+            Path temporary = Files.createTempFile(directory, modelFile.getFileName().toString(), ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporary)) {
+                model.writeTo(output);
+            }
+            Files.move(temporary, modelFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save naive Bayes model to " + modelFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Path modelFile() {
+        return StringUtils.hasText(settings.getModelFile()) ? Path.of(settings.getModelFile()) : null;
+    }
+
+    private NaiveBayesModelInfo toInfo(NaiveBayesModel model) {
+        if (model == null) {
+            return new NaiveBayesModelInfo(false, settings.getFeatureBits(), 0, 0, null);
+        }
+        return new NaiveBayesModelInfo(true, model.featureBits(), model.trainedTickets(), model.correctedTickets(),
+                model.trainedAt());
+    }
+}
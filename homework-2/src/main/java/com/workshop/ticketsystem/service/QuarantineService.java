@@ -0,0 +1,47 @@
+package com.workshop.ticketsystem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.workshop.ticketsystem.dto.QuarantinedTicketDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface QuarantineService {
+
+    /**
+     * Stores new failures of an import, and updates the reason of records that failed again
+     * and releases their claim.
+     */
+    void update(UUID importId, List<QuarantinedRecord> failed);
+
+    /**
+     * Claims the given records for the reprocess run {@code importId} and loads them. Records
+     * another run has claimed are left out, so no record is reprocessed twice at the same time.
+     */
+    List<QuarantinedRecord> claim(UUID importId, Collection<UUID> ids);
+
+    /**
+     * Removes records that have been imported. Runs in the caller's transaction, so the removal
+     * commits or rolls back together with the imported tickets.
+     */
+    void resolve(Collection<UUID> ids);
+
+    /**
+     * Releases whatever the reprocess run {@code importId} still holds, e.g. after it was aborted.
+     */
+    void release(UUID importId);
+
+    List<UUID> findIdsByImportId(UUID importId);
+
+    List<QuarantinedTicketDto> list(UUID importId, int page, int size);
+
+    QuarantinedTicketDto get(UUID id);
+
+    /**
+     * Applies the given fields to the quarantined payload, leaving the others as they are.
+     */
+    QuarantinedTicketDto patch(UUID id, JsonNode changes);
+
+    void delete(UUID id);
+}
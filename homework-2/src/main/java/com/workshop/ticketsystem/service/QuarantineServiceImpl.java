@@ -0,0 +1,180 @@
+package com.workshop.ticketsystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.dto.QuarantinedTicketDto;
+import com.workshop.ticketsystem.entity.QuarantinedTicket;
+import com.workshop.ticketsystem.exception.QuarantinedTicketNotFoundException;
+import com.workshop.ticketsystem.exception.ValidationException;
+import com.workshop.ticketsystem.repository.QuarantinedTicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class QuarantineServiceImpl implements QuarantineService {
+
+    private final QuarantinedTicketRepository quarantinedTicketRepository;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties importProperties;
+
+    @Override
+    @Transactional
+    public void update(UUID importId, List<QuarantinedRecord> failed) {
+        List<UUID> retried = failed.stream().map(QuarantinedRecord::id).filter(Objects::nonNull).toList();
+        Map<UUID, QuarantinedTicket> existing = quarantinedTicketRepository.findAllById(retried).stream()
+                .collect(Collectors.toMap(QuarantinedTicket::getId, Function.identity()));
+
+        List<QuarantinedTicket> changed = new ArrayList<>(failed.size());
+        for (QuarantinedRecord record : failed) {
+            QuarantinedTicket quarantined = record.id() != null ? existing.get(record.id()) : null;
+            if (quarantined == null) {
+                if (record.id() != null) {
+                    // Discarded while it was being reprocessed
+                    continue;
+                }
+                quarantined = new QuarantinedTicket();
+                quarantined.setImportId(importId);
+                quarantined.setRecordNumber(record.recordNumber());
+            }
+            quarantined.setPayload(write(record.ticket()));
+            quarantined.setReason(truncate(record.reason()));
+            quarantined.setAttempts(quarantined.getAttempts() + 1);
+            quarantined.setClaimedBy(null);
+            quarantined.setClaimedAt(null);
+            changed.add(quarantined);
+        }
+        quarantinedTicketRepository.saveAll(changed);
+    }
+
+    @Override
+    @Transactional
+    public List<QuarantinedRecord> claim(UUID importId, Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        quarantinedTicketRepository.claim(ids, importId, now, now.minus(importProperties.getQuarantine().getClaimTimeout()));
+        return quarantinedTicketRepository.findByClaimedByAndIdIn(importId, ids).stream()
+                .sorted(Comparator.comparing(QuarantinedTicket::getCreatedAt).thenComparing(QuarantinedTicket::getRecordNumber))
+                .map(q -> new QuarantinedRecord(q.getId(), q.getRecordNumber(), read(q.getPayload()), q.getReason()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void resolve(Collection<UUID> ids) {
+        if (!ids.isEmpty()) {
+            quarantinedTicketRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID importId) {
+        quarantinedTicketRepository.release(importId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findIdsByImportId(UUID importId) {
+        return quarantinedTicketRepository.findIdsByImportId(importId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<QuarantinedTicketDto> list(UUID importId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        List<QuarantinedTicket> quarantined = importId != null
+                ? quarantinedTicketRepository.findByImportIdOrderByRecordNumberAsc(importId, pageRequest)
+                : quarantinedTicketRepository.findAllByOrderByCreatedAtAscRecordNumberAsc(pageRequest);
+        return quarantined.stream().map(this::mapToDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuarantinedTicketDto get(UUID id) {
+        return mapToDto(find(id));
+    }
+
+    @Override
+    @Transactional
+    public QuarantinedTicketDto patch(UUID id, JsonNode changes) {
+        QuarantinedTicket quarantined = find(id);
+        CreateTicketRequest ticket = read(quarantined.getPayload());
+        try {
+            objectMapper.readerForUpdating(ticket).readValue(changes);
+        } catch (IOException e) {
+            throw new ValidationException("Invalid ticket fields: " + e.getMessage());
+        }
+        quarantined.setPayload(write(ticket));
+        return mapToDto(quarantinedTicketRepository.save(quarantined));
+    }
+
+    @Override
+    @Transactional
+    public void delete(UUID id) {
+        if (!quarantinedTicketRepository.existsById(id)) {
+            throw new QuarantinedTicketNotFoundException(id);
+        }
+        quarantinedTicketRepository.deleteById(id);
+    }
+
+    private QuarantinedTicket find(UUID id) {
+        return quarantinedTicketRepository.findById(id)
+                .orElseThrow(() -> new QuarantinedTicketNotFoundException(id));
+    }
+
+    private String write(CreateTicketRequest ticket) {
+        try {
+            return objectMapper.writeValueAsString(ticket);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize quarantined ticket: " + e.getMessage(), e);
+        }
+    }
+
+    private CreateTicketRequest read(String payload) {
+        try {
+            return objectMapper.readValue(payload, CreateTicketRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not read quarantined ticket: " + e.getMessage(), e);
+        }
+    }
+
+    private String truncate(String reason) {
+        return reason != null && reason.length() > QuarantinedTicket.MAX_REASON_LENGTH
+                ? reason.substring(0, QuarantinedTicket.MAX_REASON_LENGTH)
+                : reason;
+    }
+
+    private QuarantinedTicketDto mapToDto(QuarantinedTicket quarantined) {
+        return new QuarantinedTicketDto(
+                quarantined.getId(),
+                quarantined.getImportId(),
+                quarantined.getRecordNumber(),
+                read(quarantined.getPayload()),
+                quarantined.getReason(),
+                quarantined.getAttempts(),
+                quarantined.getCreatedAt(),
+                quarantined.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+
+import java.util.UUID;
+
+/**
+ * A failed import record on its way into, or out of, the quarantine.
+ *
+ * @param id null for a record that is not quarantined yet
+ */
+public record QuarantinedRecord(UUID id, long recordNumber, CreateTicketRequest ticket, String reason) {
+}
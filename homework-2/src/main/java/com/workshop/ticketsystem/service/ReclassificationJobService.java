@@ -0,0 +1,28 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ReclassificationJobResponse;
+import com.workshop.ticketsystem.dto.ReclassificationRequest;
+
+import java.util.UUID;
+
+public interface ReclassificationJobService {
+
+    /**
+     * Starts reclassifying every matching ticket in the background. Only one job runs at a time.
+     */
+    ReclassificationJobResponse start(ReclassificationRequest request);
+
+    ReclassificationJobResponse getJob(UUID jobId);
+
+    /**
+     * Stops the job after its current batch until it is resumed.
+     */
+    ReclassificationJobResponse pause(UUID jobId);
+
+    ReclassificationJobResponse resume(UUID jobId);
+
+    /**
+     * Stops the job after its current batch; lastTicketId tells where to start after again.
+     */
+    ReclassificationJobResponse cancel(UUID jobId);
+}
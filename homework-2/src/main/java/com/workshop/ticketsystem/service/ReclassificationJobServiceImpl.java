@@ -0,0 +1,439 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ClassificationProperties;
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.dto.ReclassificationJobResponse;
+import com.workshop.ticketsystem.dto.ReclassificationRequest;
+import com.workshop.ticketsystem.enums.ClassificationEngine;
+import com.workshop.ticketsystem.enums.ReclassificationJobStatus;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.enums.TicketStatus;
+import com.workshop.ticketsystem.exception.ReclassificationJobNotFoundException;
+import com.workshop.ticketsystem.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Reclassifies the ticket corpus in the background, e.g. after a keyword dictionary change.
+ * Tickets are read in primary key order with keyset pagination ({@code id > last id}), so every
+ * page is an index range scan no matter how far the job has got. Each page is classified in
+ * parallel and the changed tickets are written with one batched UPDATE in one transaction.
+ * <p>
+ * Like {@link TicketMapper#applyClassification}, a job only replaces default labels (OTHER,
+ * MEDIUM) unless the request opts into overwriting explicit ones. Labels an agent corrected are
+ * never replaced. An UPDATE only applies while the ticket still has the values it was read with,
+ * so edits made while the job runs are not overwritten, and every applied change is logged in
+ * the same transaction. Pausing, cancelling and the rate limit take effect between pages.
+ */
+@Service
+@Slf4j
+public class ReclassificationJobServiceImpl implements ReclassificationJobService {
+
+    private static final List<TicketStatus> OPEN_STATUSES =
+            List.of(TicketStatus.NEW, TicketStatus.IN_PROGRESS, TicketStatus.WAITING_CUSTOMER);
+
+    private static final String COUNT_TICKETS = "SELECT COUNT(*) FROM tickets WHERE status IN (:statuses)";
+
+    private static final String SELECT_FIRST_PAGE = """
+            SELECT id, subject, description, category, priority, category_corrected, priority_corrected FROM tickets
+            WHERE status IN (:statuses)
+            ORDER BY id LIMIT :limit
+            """;
+
+    private static final String SELECT_NEXT_PAGE = """
+            SELECT id, subject, description, category, priority, category_corrected, priority_corrected FROM tickets
+            WHERE status IN (:statuses) AND id > :after
+            ORDER BY id LIMIT :limit
+            """;
+
+    private static final String UPDATE_CLASSIFICATION = """
+            UPDATE tickets SET category = :category, priority = :priority, updated_at = :updatedAt
+            WHERE id = :id AND category = :oldCategory AND priority = :oldPriority
+              AND (category = :category OR category_corrected = FALSE)
+              AND (priority = :priority OR priority_corrected = FALSE)
+            """;
+
+    private final ClassificationServiceFactory classificationServiceFactory;
+    private final KeywordDictionaryService keywordDictionaryService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ClassificationProperties.Reclassification settings;
+    private final ExecutorService jobExecutor;
+    private final ForkJoinPool classifyPool;
+    private final Map<UUID, ReclassificationJob> jobs = new ConcurrentHashMap<>();
+
+    public ReclassificationJobServiceImpl(ClassificationServiceFactory classificationServiceFactory,
+                                          KeywordDictionaryService keywordDictionaryService,
+                                          NamedParameterJdbcTemplate jdbcTemplate,
+                                          PlatformTransactionManager transactionManager,
+                                          ClassificationProperties classificationProperties) {
+        this.classificationServiceFactory = classificationServiceFactory;
+        this.keywordDictionaryService = keywordDictionaryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.settings = classificationProperties.getReclassification();
+
+        this.jobExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("reclassification-job-", 1).factory());
+        int parallelism = settings.getParallelism() > 0
+                ? settings.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.classifyPool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public synchronized ReclassificationJobResponse start(ReclassificationRequest request) {
+        purgeExpiredJobs();
+        boolean active = jobs.values().stream().anyMatch(job -> !job.isFinished());
+        if (active) {
+            throw new ValidationException("A reclassification job is already running; pause or cancel it first");
+        }
+        int rowsPerSecond = request.getRowsPerSecond() != null ? request.getRowsPerSecond() : settings.getRowsPerSecond();
+        if (rowsPerSecond < 0) {
+            throw new ValidationException("rowsPerSecond must not be negative");
+        }
+        List<TicketStatus> statuses = request.getStatuses() != null && !request.getStatuses().isEmpty()
+                ? List.copyOf(request.getStatuses())
+                : OPEN_STATUSES;
+
+        ClassificationEngine engine = request.getEngine() != null ? request.getEngine() : ClassificationEngine.KEYWORD;
+        // Rejected up front rather than failing on the first page in the background
+        classificationServiceFactory.getService(engine).requireReady();
+
+        ReclassificationJob job = new ReclassificationJob(UUID.randomUUID(), statuses, engine, rowsPerSecond,
+                request.getStartAfter(), Boolean.TRUE.equals(request.getOverwriteLabels()));
+        jobs.put(job.id, job);
+        jobExecutor.execute(() -> run(job));
+        log.info("Queued reclassification job {} for tickets with status {}", job.id, statuses);
+        return toResponse(job);
+    }
+
+    @Override
+    public ReclassificationJobResponse getJob(UUID jobId) {
+        return toResponse(find(jobId));
+    }
+
+    @Override
+    public ReclassificationJobResponse pause(UUID jobId) {
+        ReclassificationJob job = find(jobId);
+        synchronized (job) {
+            if (job.status != ReclassificationJobStatus.QUEUED && job.status != ReclassificationJobStatus.RUNNING) {
+                throw new ValidationException("Only a queued or running job can be paused, job is " + job.status);
+            }
+            job.pauseRequested = true;
+            job.status = ReclassificationJobStatus.PAUSED;
+            job.notifyAll();
+        }
+        return toResponse(job);
+    }
+
+    @Override
+    public ReclassificationJobResponse resume(UUID jobId) {
+        ReclassificationJob job = find(jobId);
+        synchronized (job) {
+            if (job.status != ReclassificationJobStatus.PAUSED) {
+                throw new ValidationException("Only a paused job can be resumed, job is " + job.status);
+            }
+            job.pauseRequested = false;
+            job.status = job.startedAt != null ? ReclassificationJobStatus.RUNNING : ReclassificationJobStatus.QUEUED;
+            job.notifyAll();
+        }
+        return toResponse(job);
+    }
+
+    @Override
+    public ReclassificationJobResponse cancel(UUID jobId) {
+        ReclassificationJob job = find(jobId);
+        synchronized (job) {
+            if (job.isFinished()) {
+                throw new ValidationException("Job has already finished, job is " + job.status);
+            }
+            job.cancelRequested = true;
+            job.notifyAll();
+        }
+        return toResponse(job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> {
+            synchronized (job) {
+                job.cancelRequested = true;
+                job.notifyAll();
+            }
+        });
+        jobExecutor.shutdownNow();
+        classifyPool.shutdownNow();
+    }
+
+    private void run(ReclassificationJob job) {
+        synchronized (job) {
+            job.startedAt = LocalDateTime.now();
+            if (job.status == ReclassificationJobStatus.QUEUED) {
+                job.status = ReclassificationJobStatus.RUNNING;
+            }
+        }
+        job.dictionaryVersion = keywordDictionaryService.current().version();
+        ClassificationService engine = classificationServiceFactory.getService(job.engine);
+        MapSqlParameterSource statuses = new MapSqlParameterSource("statuses",
+                job.statuses.stream().map(Enum::name).toList());
+
+        try {
+            job.totalTickets = jdbcTemplate.queryForObject(COUNT_TICKETS, statuses, Long.class);
+            int batchSize = Math.max(1, settings.getBatchSize());
+            job.resetPacing();
+            while (awaitTurn(job)) {
+                List<TicketRow> page = readPage(statuses, job.lastTicketId, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                apply(job, engine, classify(job, engine, page));
+                job.ticketsScanned += page.size();
+                job.lastTicketId = page.getLast().id();
+                if (page.size() < batchSize) {
+                    break;
+                }
+            }
+            finish(job, job.cancelRequested ? ReclassificationJobStatus.CANCELLED : ReclassificationJobStatus.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(job, ReclassificationJobStatus.CANCELLED, null);
+        } catch (Exception e) {
+            log.error("Reclassification job {} failed: {}", job.id, e.getMessage(), e);
+            finish(job, ReclassificationJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Blocks while the job is paused or ahead of its rate limit.
+     *
+     * @return false when the job was cancelled
+     */
+    private boolean awaitTurn(ReclassificationJob job) throws InterruptedException {
+        synchronized (job) {
+            while (!job.cancelRequested) {
+                if (job.pauseRequested) {
+                    job.wait();
+                    // Time spent paused does not count towards the rate
+                    job.resetPacing();
+                    continue;
+                }
+                long waitNanos = job.nanosAheadOfRate();
+                if (waitNanos <= 0) {
+                    return true;
+                }
+                job.wait(Math.max(1, waitNanos / 1_000_000));
+            }
+            return false;
+        }
+    }
+
+    private List<TicketRow> readPage(MapSqlParameterSource statuses, UUID after, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource(statuses.getValues()).addValue("limit", limit);
+        if (after == null) {
+            return jdbcTemplate.query(SELECT_FIRST_PAGE, parameters, this::mapRow);
+        }
+        return jdbcTemplate.query(SELECT_NEXT_PAGE, parameters.addValue("after", after), this::mapRow);
+    }
+
+    private TicketRow mapRow(ResultSet resultSet, int rowNumber) throws SQLException {
+        return new TicketRow(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("subject"),
+                resultSet.getString("description"),
+                TicketCategory.valueOf(resultSet.getString("category")),
+                TicketPriority.valueOf(resultSet.getString("priority")),
+                resultSet.getBoolean("category_corrected"),
+                resultSet.getBoolean("priority_corrected"));
+    }
+
+    // Only tickets whose classification actually changes are returned
+    private List<LabelChange> classify(ReclassificationJob job, ClassificationService engine, List<TicketRow> page) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return classifyPool.submit(() -> page.parallelStream()
+                .<LabelChange>mapMulti((ticket, changes) -> {
+                    ClassificationResult result = engine.evaluate(ticket.subject(), ticket.description());
+                    TicketCategory category = !ticket.categoryCorrected()
+                            && (job.overwriteLabels || ticket.category() == TicketCategory.OTHER)
+                            ? result.getCategory() : ticket.category();
+                    TicketPriority priority = !ticket.priorityCorrected()
+                            && (job.overwriteLabels || ticket.priority() == TicketPriority.MEDIUM)
+                            ? result.getPriority() : ticket.priority();
+                    if (category != ticket.category() || priority != ticket.priority()) {
+                        changes.accept(new LabelChange(ticket.id(), result, new MapSqlParameterSource()
+                                .addValue("id", ticket.id())
+                                .addValue("category", category.name())
+                                .addValue("priority", priority.name())
+                                .addValue("updatedAt", now)
+                                .addValue("oldCategory", ticket.category().name())
+                                .addValue("oldPriority", ticket.priority().name())));
+                    }
+                })
+                .toList()).join();
+    }
+
+    private void apply(ReclassificationJob job, ClassificationService engine, List<LabelChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long updated = transaction.execute(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_CLASSIFICATION,
+                    changes.stream().map(LabelChange::parameters).toArray(SqlParameterSource[]::new));
+            List<UUID> ticketIds = new ArrayList<>(counts.length);
+            List<ClassificationResult> results = new ArrayList<>(counts.length);
+            long applied = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    applied++;
+                } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    // Some drivers report batched statements without a row count; the UPDATE may have
+                    // matched nothing because the ticket was edited meanwhile, so it is not counted
+                    job.updatedCountUnknown = true;
+                } else {
+                    continue;
+                }
+                ticketIds.add(changes.get(i).ticketId());
+                results.add(changes.get(i).result());
+            }
+            engine.logClassifications(ticketIds, results);
+            return applied;
+        });
+        job.ticketsUpdated += updated;
+    }
+
+    private void finish(ReclassificationJob job, ReclassificationJobStatus status, String error) {
+        synchronized (job) {
+            job.error = error;
+            job.completedAt = LocalDateTime.now();
+            job.status = status;
+        }
+        log.info("Reclassification job {} {}: {} tickets scanned, {} updated",
+                job.id, status.name().toLowerCase(), job.ticketsScanned,
+                job.updatedCountUnknown ? "unknown number of" : job.ticketsUpdated);
+    }
+
+    private ReclassificationJob find(UUID jobId) {
+        ReclassificationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ReclassificationJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(settings.getJobRetention());
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private ReclassificationJobResponse toResponse(ReclassificationJob job) {
+        ReclassificationJobResponse response = new ReclassificationJobResponse();
+        response.setJobId(job.id);
+        response.setStatus(job.status);
+        response.setStatuses(job.statuses);
+        response.setEngine(job.engine);
+        response.setOverwriteLabels(job.overwriteLabels);
+        response.setDictionaryVersion(job.dictionaryVersion);
+        response.setSubmittedAt(job.submittedAt);
+        response.setStartedAt(job.startedAt);
+        response.setCompletedAt(job.completedAt);
+        response.setTotalTickets(job.totalTickets);
+        response.setTicketsScanned(job.ticketsScanned);
+        response.setTicketsUpdated(job.updatedCountUnknown ? null : job.ticketsUpdated);
+        response.setLastTicketId(job.lastTicketId);
+        if (job.totalTickets > 0) {
+            response.setPercentComplete(Math.min(100.0, job.ticketsScanned * 100.0 / job.totalTickets));
+        }
+        response.setTicketsPerSecond(job.ticketsPerSecond());
+        response.setRowsPerSecondLimit(job.rowsPerSecond);
+        response.setError(job.error);
+        return response;
+    }
+
+    private record TicketRow(UUID id, String subject, String description, TicketCategory category,
+                             TicketPriority priority, boolean categoryCorrected, boolean priorityCorrected) {
+    }
+
+    private record LabelChange(UUID ticketId, ClassificationResult result, SqlParameterSource parameters) {
+    }
+
+    private static class ReclassificationJob {
+        private final UUID id;
+        private final List<TicketStatus> statuses;
+        private final ClassificationEngine engine;
+        private final int rowsPerSecond;
+        private final boolean overwriteLabels;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ReclassificationJobStatus status = ReclassificationJobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile long dictionaryVersion;
+        private volatile long totalTickets;
+        private volatile long ticketsScanned;
+        private volatile long ticketsUpdated;
+        private volatile boolean updatedCountUnknown;
+        private volatile UUID lastTicketId;
+        private volatile String error;
+        // Guarded by the job's monitor
+        private boolean pauseRequested;
+        private boolean cancelRequested;
+        private long pacingStartNanos;
+        private long pacingStartScanned;
+        private long runNanos;
+
+        ReclassificationJob(UUID id, List<TicketStatus> statuses, ClassificationEngine engine, int rowsPerSecond,
+                            UUID startAfter, boolean overwriteLabels) {
+            this.id = id;
+            this.statuses = statuses;
+            this.engine = engine;
+            this.rowsPerSecond = rowsPerSecond;
+            this.lastTicketId = startAfter;
+            this.overwriteLabels = overwriteLabels;
+        }
+
+        boolean isFinished() {
+            return completedAt != null;
+        }
+
+        synchronized void resetPacing() {
+            if (pacingStartNanos != 0) {
+                runNanos += System.nanoTime() - pacingStartNanos;
+            }
+            pacingStartNanos = System.nanoTime();
+            pacingStartScanned = ticketsScanned;
+        }
+
+        synchronized long nanosAheadOfRate() {
+            if (rowsPerSecond <= 0) {
+                return 0;
+            }
+            long dueNanos = (ticketsScanned - pacingStartScanned) * 1_000_000_000L / rowsPerSecond;
+            return dueNanos - (System.nanoTime() - pacingStartNanos);
+        }
+
+        synchronized double ticketsPerSecond() {
+            long nanos = runNanos + (pacingStartNanos != 0 && completedAt == null ? System.nanoTime() - pacingStartNanos : 0);
+            return nanos > 0 ? ticketsScanned * 1e9 / nanos : 0.0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.entity.TicketMetadata;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Component
+public class TicketMapper {
+
+    public Ticket toEntity(CreateTicketRequest request) {
+        Ticket ticket = new Ticket();
+        ticket.setCustomerId(request.getCustomerId());
+        ticket.setCustomerEmail(request.getCustomerEmail());
+        ticket.setCustomerName(request.getCustomerName());
+        ticket.setSubject(request.getSubject());
+        ticket.setDescription(request.getDescription());
+        ticket.setCategory(request.getCategory());
+        ticket.setPriority(request.getPriority());
+        ticket.setAssignedTo(request.getAssignedTo());
+        ticket.setTags(request.getTags());
+        ticket.setContentHash(fingerprint(request));
+
+        // Set metadata if provided
+        if (request.getSource() != null || request.getBrowser() != null || request.getDeviceType() != null) {
+            TicketMetadata metadata = new TicketMetadata();
+            metadata.setSource(request.getSource());
+            metadata.setBrowser(request.getBrowser());
+            metadata.setDeviceType(request.getDeviceType());
+            ticket.setMetadata(metadata);
+        }
+
+        return ticket;
+    }
+
+    /**
+     * SHA-256 over customer ID, subject, description and source. Two requests with the same
+     * fingerprint are treated as the same ticket when an import is resumed.
+     */
+    public String fingerprint(CreateTicketRequest request) {
+        return fingerprint(request.getCustomerId(), request.getSubject(), request.getDescription(),
+                request.getSource() != null ? request.getSource().name() : null);
+    }
+
+    public String fingerprint(String customerId, String subject, String description, String source) {
+        MessageDigest digest = sha256();
+        update(digest, customerId);
+        update(digest, subject);
+        update(digest, description);
+        update(digest, source);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Suggestions only replace values the requester left unset or at their defaults
+    public void applyClassification(Ticket ticket, ClassificationResult result) {
+        if (ticket.getCategory() == null || ticket.getCategory() == TicketCategory.OTHER) {
+            ticket.setCategory(result.getCategory());
+        }
+        if (ticket.getPriority() == null || ticket.getPriority() == TicketPriority.MEDIUM) {
+            ticket.setPriority(result.getPriority());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // Separator keeps ("ab", "c") and ("a", "bc") apart
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
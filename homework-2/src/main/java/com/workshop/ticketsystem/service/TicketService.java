@@ -1,5 +1,6 @@
 package com.workshop.ticketsystem.service;
 
+import com.workshop.ticketsystem.dto.ClassificationResult;
 import com.workshop.ticketsystem.dto.CreateTicketRequest;
 import com.workshop.ticketsystem.dto.TicketDto;
 import com.workshop.ticketsystem.dto.UpdateTicketRequest;
@@ -7,13 +8,26 @@ import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
 import com.workshop.ticketsystem.enums.TicketStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TicketService {
 
     TicketDto createTicket(CreateTicketRequest request);
 
+    void createTickets(List<CreateTicketRequest> requests);
+
+    void createTickets(List<CreateTicketRequest> requests, List<ClassificationResult> classifications);
+
+    /**
+     * Fingerprints among the given ones of tickets stored before {@code createdBefore}, so an
+     * import only matches what earlier runs committed and not its own earlier chunks.
+     */
+    Set<String> findExistingContentHashes(Collection<String> contentHashes, LocalDateTime createdBefore);
+
     TicketDto getTicketById(UUID id);
 
     List<TicketDto> getAllTickets();
@@ -5,7 +5,6 @@ import com.workshop.ticketsystem.dto.CreateTicketRequest;
 import com.workshop.ticketsystem.dto.TicketDto;
 import com.workshop.ticketsystem.dto.UpdateTicketRequest;
 import com.workshop.ticketsystem.entity.Ticket;
-import com.workshop.ticketsystem.entity.TicketMetadata;
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
 import com.workshop.ticketsystem.enums.TicketStatus;
@@ -15,7 +14,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,25 +28,71 @@ public class TicketServiceImpl implements TicketService {
 
     private final TicketRepository ticketRepository;
     private final ClassificationService classificationService;
+    private final TicketMapper ticketMapper;
 
     @Override
     @Transactional
     public TicketDto createTicket(CreateTicketRequest request) {
-        Ticket ticket = mapToEntity(request);
+        Ticket ticket = ticketMapper.toEntity(request);
+        ClassificationResult classification = autoClassify(request, ticket);
 
-        // Auto-classify if requested
-        if (Boolean.TRUE.equals(request.getAutoClassify())) {
-            ClassificationResult result = classificationService.classify(ticket);
-            if (ticket.getCategory() == null || ticket.getCategory() == TicketCategory.OTHER) {
-                ticket.setCategory(result.getCategory());
+        Ticket savedTicket = ticketRepository.save(ticket);
+
+        // The log references the ticket, so it can only be written once the ID is assigned
+        if (classification != null) {
+            classificationService.logClassification(savedTicket.getId(), classification);
+        }
+        return mapToDto(savedTicket);
+    }
+
+    @Override
+    @Transactional
+    public void createTickets(List<CreateTicketRequest> requests) {
+        createTickets(requests, null);
+    }
+
+    @Override
+    @Transactional
+    public void createTickets(List<CreateTicketRequest> requests, List<ClassificationResult> classifications) {
+        List<Ticket> tickets = new ArrayList<>(requests.size());
+        List<ClassificationResult> applied = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTicketRequest request = requests.get(i);
+            Ticket ticket = ticketMapper.toEntity(request);
+
+            // Classifications computed up front (e.g. by the import pipeline) are reused as-is
+            ClassificationResult classification = classifications != null
+                    ? classifications.get(i)
+                    : autoClassify(request, ticket);
+            if (classifications != null && classification != null) {
+                ticketMapper.applyClassification(ticket, classification);
             }
-            if (ticket.getPriority() == null || ticket.getPriority() == TicketPriority.MEDIUM) {
-                ticket.setPriority(result.getPriority());
+            applied.add(classification);
+            tickets.add(ticket);
+        }
+
+        // IDs are generated in the JVM on persist, so Hibernate can group these into JDBC batches
+        ticketRepository.saveAll(tickets);
+
+        List<UUID> classifiedIds = new ArrayList<>();
+        List<ClassificationResult> classified = new ArrayList<>();
+        for (int i = 0; i < tickets.size(); i++) {
+            if (applied.get(i) != null) {
+                classifiedIds.add(tickets.get(i).getId());
+                classified.add(applied.get(i));
             }
         }
+        classificationService.logClassifications(classifiedIds, classified);
+        ticketRepository.flush();
+    }
 
-        Ticket savedTicket = ticketRepository.save(ticket);
-        return mapToDto(savedTicket);
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingContentHashes(Collection<String> contentHashes, LocalDateTime createdBefore) {
+        if (contentHashes.isEmpty()) {
+            return Set.of();
+        }
+        return ticketRepository.findExistingContentHashes(contentHashes, createdBefore);
     }
 
     @Override
@@ -82,11 +131,13 @@ public class TicketServiceImpl implements TicketService {
         if (request.getDescription() != null) {
             ticket.setDescription(request.getDescription());
         }
-        if (request.getCategory() != null) {
+        if (request.getCategory() != null && request.getCategory() != ticket.getCategory()) {
             ticket.setCategory(request.getCategory());
+            ticket.setCategoryCorrected(true);
         }
-        if (request.getPriority() != null) {
+        if (request.getPriority() != null && request.getPriority() != ticket.getPriority()) {
             ticket.setPriority(request.getPriority());
+            ticket.setPriorityCorrected(true);
         }
         if (request.getStatus() != null) {
             ticket.setStatus(request.getStatus());
@@ -111,28 +162,14 @@ public class TicketServiceImpl implements TicketService {
         ticketRepository.deleteById(id);
     }
 
-    private Ticket mapToEntity(CreateTicketRequest request) {
-        Ticket ticket = new Ticket();
-        ticket.setCustomerId(request.getCustomerId());
-        ticket.setCustomerEmail(request.getCustomerEmail());
-        ticket.setCustomerName(request.getCustomerName());
-        ticket.setSubject(request.getSubject());
-        ticket.setDescription(request.getDescription());
-        ticket.setCategory(request.getCategory());
-        ticket.setPriority(request.getPriority());
-        ticket.setAssignedTo(request.getAssignedTo());
-        ticket.setTags(request.getTags());
-
-        // Set metadata if provided
-        if (request.getSource() != null || request.getBrowser() != null || request.getDeviceType() != null) {
-            TicketMetadata metadata = new TicketMetadata();
-            metadata.setSource(request.getSource());
-            metadata.setBrowser(request.getBrowser());
-            metadata.setDeviceType(request.getDeviceType());
-            ticket.setMetadata(metadata);
+    private ClassificationResult autoClassify(CreateTicketRequest request, Ticket ticket) {
+        if (!Boolean.TRUE.equals(request.getAutoClassify())) {
+            return null;
         }
 
-        return ticket;
+        ClassificationResult result = classificationService.evaluate(ticket.getSubject(), ticket.getDescription());
+        ticketMapper.applyClassification(ticket, result);
+        return result;
     }
 
     private TicketDto mapToDto(Ticket ticket) {
@@ -0,0 +1,259 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.dto.KeywordSetRequest;
+import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import com.workshop.ticketsystem.service.ClassificationService;
+import com.workshop.ticketsystem.service.KeywordDictionaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminClassificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClassificationService classificationService;
+
+    @Autowired
+    private KeywordDictionaryService keywordDictionaryService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private List<String> featureRequestKeywords;
+
+    @BeforeEach
+    void rememberDictionary() {
+        featureRequestKeywords = keywordDictionaryService.current().categoryKeywords().get(TicketCategory.FEATURE_REQUEST);
+    }
+
+    @AfterEach
+    void restoreDictionary() {
+        keywordDictionaryService.replaceCategoryKeywords(TicketCategory.FEATURE_REQUEST, featureRequestKeywords);
+    }
+
+    @Test
+    void testCacheStatsCountHits() throws Exception {
+        classificationService.evaluate("Outage report", "Production down for every customer, urgent");
+        classificationService.evaluate("Outage report", "Production down for every customer, urgent");
+
+        mockMvc.perform(get("/admin/classification/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hits").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.misses").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.size").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.dictionaryVersion").exists());
+    }
+
+    @Test
+    void testClearCache() throws Exception {
+        classificationService.evaluate("Outage report", "Production down for every customer, urgent");
+
+        mockMvc.perform(delete("/admin/classification/cache"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/admin/classification/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(0));
+    }
+
+    @Test
+    void testGetDictionary() throws Exception {
+        mockMvc.perform(get("/admin/classification/dictionary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").exists())
+                .andExpect(jsonPath("$.categories.ACCOUNT_ACCESS[0]").value("login"))
+                .andExpect(jsonPath("$.priorities.URGENT[0]").value("urgent"));
+    }
+
+    @Test
+    void testReplaceKeywordsTakesEffectImmediately() throws Exception {
+        long version = keywordDictionaryService.current().version();
+        assertThat(classificationService.evaluate("Dark theme", "Please ship a dark theme").getCategory())
+                .isNotEqualTo(TicketCategory.FEATURE_REQUEST);
+
+        mockMvc.perform(put("/admin/classification/dictionary/categories/FEATURE_REQUEST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new KeywordSetRequest(List.of(" dark theme ", "Dark Theme", "feature")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categories.FEATURE_REQUEST", contains("dark theme", "feature")))
+                .andExpect(jsonPath("$.version").value(not(version)));
+
+        ClassificationResult result = classificationService.evaluate("Dark theme", "Please ship a dark theme");
+        assertThat(result.getCategory()).isEqualTo(TicketCategory.FEATURE_REQUEST);
+        assertThat(result.getKeywordsFound()).containsExactly("dark theme");
+        assertThat(keywordDictionaryService.current().version()).isNotEqualTo(version);
+    }
+
+    @Test
+    void testReplaceKeywordsRejectsBlankKeyword() throws Exception {
+        mockMvc.perform(put("/admin/classification/dictionary/priorities/LOW")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"keywords\": [\"minor\", \"  \"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testReloadDictionary() throws Exception {
+        mockMvc.perform(post("/admin/classification/dictionary/reload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(keywordDictionaryService.current().version()));
+    }
+
+    @Test
+    void testClassificationsSeeOneDictionaryWhileItIsSwapped() throws Exception {
+        List<String> withDarkTheme = new ArrayList<>(featureRequestKeywords);
+        withDarkTheme.add("dark theme");
+        AtomicBoolean running = new AtomicBoolean(true);
+        Set<List<String>> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                workers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        seen.add(classificationService.evaluate("Would like a dark theme", "Please add it").getKeywordsFound());
+                    }
+                }));
+            }
+            for (int i = 0; i < 20; i++) {
+                keywordDictionaryService.replaceCategoryKeywords(TicketCategory.FEATURE_REQUEST,
+                        i % 2 == 0 ? withDarkTheme : featureRequestKeywords);
+            }
+            running.set(false);
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Either the old or the new keyword set, never a mix
+        assertThat(seen).isSubsetOf(
+                List.of("add", "would like"),
+                List.of("add", "would like", "dark theme"));
+    }
+
+    @Test
+    void testTrainedModelIsSelectablePerRequest() throws Exception {
+        // Words no keyword covers, so only the trained model can get these right
+        for (int i = 0; i < 3; i++) {
+            saveTicket("Quarterly zorblax statement", "The zorblax statement for our account looks off",
+                    TicketCategory.BILLING_QUESTION, TicketPriority.HIGH);
+            saveTicket("Frobnicator widget", "Please give the frobnicator widget a dark theme",
+                    TicketCategory.FEATURE_REQUEST, TicketPriority.LOW);
+        }
+        UUID ticketId = saveTicket("zorblax statement", "Where is my zorblax statement",
+                TicketCategory.OTHER, TicketPriority.MEDIUM);
+
+        mockMvc.perform(post("/admin/classification/model/train"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trained").value(true))
+                .andExpect(jsonPath("$.trainedTickets").value(greaterThanOrEqualTo(7)))
+                .andExpect(jsonPath("$.trainedAt").exists());
+        mockMvc.perform(get("/admin/classification/model"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trained").value(true));
+
+        mockMvc.perform(post("/tickets/" + ticketId + "/auto-classify").param("engine", "naive_bayes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category").value("BILLING_QUESTION"))
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andExpect(jsonPath("$.reasoning").value(containsString("Naive Bayes")));
+        mockMvc.perform(post("/tickets/" + ticketId + "/auto-classify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category").value("OTHER"));
+        mockMvc.perform(post("/tickets/auto-classify")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"" + ticketId + "\"], \"includeResults\": true, \"engine\": \"NAIVE_BAYES\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results['" + ticketId + "'].category").value("BILLING_QUESTION"));
+        mockMvc.perform(post("/tickets/" + ticketId + "/auto-classify").param("engine", "neural"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testOnlyAgentChangesCountAsCorrections() throws Exception {
+        UUID ticketId = saveTicket("Invoice question", "Why was my credit card charged twice this month",
+                TicketCategory.OTHER, TicketPriority.MEDIUM);
+        int corrected = trainedCorrections();
+
+        // Suggestions that differ from the label are not corrections
+        mockMvc.perform(post("/tickets/" + ticketId + "/auto-classify"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category").value("BILLING_QUESTION"));
+        assertThat(trainedCorrections()).isEqualTo(corrected);
+
+        mockMvc.perform(put("/tickets/" + ticketId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"category\": \"BILLING_QUESTION\"}"))
+                .andExpect(status().isOk());
+        assertThat(trainedCorrections()).isEqualTo(corrected + 1);
+        assertThat(ticketRepository.findById(ticketId)).get()
+                .satisfies(ticket -> {
+                    assertThat(ticket.isCategoryCorrected()).isTrue();
+                    assertThat(ticket.isPriorityCorrected()).isFalse();
+                });
+    }
+
+    private int trainedCorrections() throws Exception {
+        String response = mockMvc.perform(post("/admin/classification/model/train"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("correctedTickets").asInt();
+    }
+
+    private UUID saveTicket(String subject, String description, TicketCategory category, TicketPriority priority) {
+        Ticket ticket = new Ticket();
+        ticket.setCustomerId("C001");
+        ticket.setCustomerEmail("test@example.com");
+        ticket.setCustomerName("Test User");
+        ticket.setSubject(subject);
+        ticket.setDescription(description);
+        ticket.setCategory(category);
+        ticket.setPriority(priority);
+        return ticketRepository.save(ticket).getId();
+    }
+}
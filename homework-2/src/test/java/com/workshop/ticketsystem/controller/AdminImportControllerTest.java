@@ -0,0 +1,90 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminImportControllerTest {
+
+    @TempDir
+    static Path importDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("ticket-system.import.local.base-directory", importDirectory::toString);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        ticketRepository.deleteAll();
+    }
+
+    @Test
+    void testImportLocalFile() throws Exception {
+        Files.writeString(importDirectory.resolve("nightly.csv"), """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.
+                C002,test2@example.com,Test User 2,Test Subject 2,This is another test ticket description for testing.
+                """);
+
+        String response = mockMvc.perform(post("/admin/imports/local")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"nightly.csv\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(response).get("jobId").asText();
+        JsonNode job = ImportJobs.awaitCompletion(mockMvc, objectMapper, jobId);
+
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("recordsSucceeded").asLong()).isEqualTo(2);
+        assertThat(ticketRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testImportLocalFileOutsideBaseDirectory() throws Exception {
+        mockMvc.perform(post("/admin/imports/local")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"../../etc/passwd\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportMissingLocalFile() throws Exception {
+        mockMvc.perform(post("/admin/imports/local")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\":\"missing.csv\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
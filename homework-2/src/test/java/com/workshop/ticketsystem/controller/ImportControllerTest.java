@@ -0,0 +1,136 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @AfterEach
+    void cleanUp() {
+        ticketRepository.deleteAll();
+    }
+
+    @Test
+    void testAsyncImportReportsProgressAndResult() throws Exception {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.
+                C002,invalid-email,Test User 2,Test Subject 2,This is another test ticket description for testing.
+                C003,test3@example.com,Test User 3,Test Subject 3,This is another test ticket description for testing.""";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes()
+        );
+
+        String response = mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv")
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        String jobId = objectMapper.readTree(response).get("jobId").asText();
+        JsonNode job = ImportJobs.awaitCompletion(mockMvc, objectMapper, jobId);
+
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("recordsParsed").asLong()).isEqualTo(3);
+        assertThat(job.get("recordsSucceeded").asLong()).isEqualTo(2);
+        assertThat(job.get("recordsFailed").asLong()).isEqualTo(1);
+        assertThat(job.get("bytesRead").asLong()).isEqualTo(csvContent.getBytes().length);
+        assertThat(job.get("result").get("successfulImports").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void testAsyncImportRejectsUnknownFormat() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.txt", "text/plain", "data".getBytes());
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "yaml")
+                        .param("async", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetUnknownImportJob() throws Exception {
+        mockMvc.perform(get("/imports/00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+
+    @Test
+    void testDownloadErrorReport() throws Exception {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.
+                C002,invalid-email,Test User 2,Test Subject 2,This is another test ticket description for testing.""";
+
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes());
+
+        String response = mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errorsTruncated").value(false))
+                .andExpect(jsonPath("$.errorReportId").exists())
+                .andReturn().getResponse().getContentAsString();
+        String reportId = objectMapper.readTree(response).get("errorReportId").asText();
+
+        MvcResult ndjson = mockMvc.perform(get("/imports/error-reports/" + reportId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjsonBody = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode error = objectMapper.readTree(ndjsonBody.lines().findFirst().orElseThrow());
+        assertThat(error.get("recordNumber").asLong()).isEqualTo(2);
+        assertThat(error.get("field").asText()).isEqualTo("customerEmail");
+
+        MvcResult csv = mockMvc.perform(get("/imports/error-reports/" + reportId).param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csvBody = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(csvBody.lines().toList())
+                .containsExactly("record_number,field,message", "2,customerEmail,Invalid email format");
+    }
+
+    @Test
+    void testGetUnknownErrorReport() throws Exception {
+        mockMvc.perform(get("/imports/error-reports/00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound());
+    }
+}
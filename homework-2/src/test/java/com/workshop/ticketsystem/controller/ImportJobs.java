@@ -0,0 +1,32 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Polls an asynchronous import job until it completes or fails, for up to ten seconds.
+ */
+final class ImportJobs {
+
+    private ImportJobs() {
+    }
+
+    static JsonNode awaitCompletion(MockMvc mockMvc, ObjectMapper objectMapper, String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            String body = mockMvc.perform(get("/imports/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(body);
+            String status = job.get("status").asText();
+            if (status.equals("COMPLETED") || status.equals("FAILED") || System.currentTimeMillis() > deadline) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.entity.QuarantinedTicket;
+import com.workshop.ticketsystem.repository.QuarantinedTicketRepository;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QuarantineControllerTest {
+
+    private static final String CSV_WITH_BAD_RECORD = """
+            customer_id,customer_email,customer_name,subject,description
+            C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.
+            C002,invalid-email,Test User 2,Test Subject 2,This is another test ticket description for testing.""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private QuarantinedTicketRepository quarantinedTicketRepository;
+
+    @AfterEach
+    void cleanUp() {
+        quarantinedTicketRepository.deleteAll();
+        ticketRepository.deleteAll();
+    }
+
+    @Test
+    void testFailedRecordIsQuarantinedPatchedAndReprocessed() throws Exception {
+        String importId = importCsv(CSV_WITH_BAD_RECORD);
+
+        String list = mockMvc.perform(get("/imports/quarantine").param("importId", importId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].recordNumber").value(2))
+                .andExpect(jsonPath("$[0].ticket.customerId").value("C002"))
+                .andExpect(jsonPath("$[0].reason").value("customerEmail: Invalid email format"))
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(list).get(0).get("id").asText();
+
+        mockMvc.perform(patch("/imports/quarantine/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerEmail\": \"test2@example.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ticket.customerEmail").value("test2@example.com"))
+                .andExpect(jsonPath("$.ticket.subject").value("Test Subject 2"));
+
+        mockMvc.perform(post("/imports/quarantine/reprocess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"importId\": \"" + importId + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(1))
+                .andExpect(jsonPath("$.successfulImports").value(1))
+                .andExpect(jsonPath("$.quarantinedRecords").value(0));
+
+        assertThat(quarantinedTicketRepository.count()).isZero();
+        assertThat(ticketRepository.findByCustomerId("C002")).hasSize(1);
+    }
+
+    @Test
+    void testRecordFailingAgainStaysQuarantined() throws Exception {
+        importCsv(CSV_WITH_BAD_RECORD);
+        String id = quarantinedTicketRepository.findAll().getFirst().getId().toString();
+
+        mockMvc.perform(post("/imports/quarantine/reprocess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"" + id + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failedImports").value(1))
+                .andExpect(jsonPath("$.errors[0]").value(containsString("Record 2:")));
+
+        mockMvc.perform(get("/imports/quarantine/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attempts").value(2));
+        assertThat(ticketRepository.findByCustomerId("C002")).isEmpty();
+    }
+
+    @Test
+    void testRecordClaimedByAnotherReprocessIsSkipped() throws Exception {
+        importCsv(CSV_WITH_BAD_RECORD);
+        QuarantinedTicket record = quarantinedTicketRepository.findAll().getFirst();
+        record.setClaimedBy(UUID.randomUUID());
+        record.setClaimedAt(LocalDateTime.now());
+        quarantinedTicketRepository.save(record);
+
+        mockMvc.perform(post("/imports/quarantine/reprocess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"" + record.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(0));
+
+        mockMvc.perform(get("/imports/quarantine/" + record.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attempts").value(1));
+    }
+
+    @Test
+    void testDeleteQuarantinedRecord() throws Exception {
+        importCsv(CSV_WITH_BAD_RECORD);
+        String id = quarantinedTicketRepository.findAll().getFirst().getId().toString();
+
+        mockMvc.perform(delete("/imports/quarantine/" + id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/imports/quarantine/" + id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testReprocessRequiresSelection() throws Exception {
+        mockMvc.perform(post("/imports/quarantine/reprocess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String importCsv(String csvContent) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv", csvContent.getBytes());
+        String response = mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quarantinedRecords").value(1))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode summary = objectMapper.readTree(response);
+        return summary.get("importId").asText();
+    }
+}
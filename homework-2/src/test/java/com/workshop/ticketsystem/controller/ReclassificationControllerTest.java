@@ -0,0 +1,189 @@
+package com.workshop.ticketsystem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.workshop.ticketsystem.entity.Ticket;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.enums.TicketStatus;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Small batches so a handful of tickets spans several keyset pages
+@SpringBootTest(properties = "ticket-system.classification.reclassification.batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReclassificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ClassificationLogRepository classificationLogRepository;
+
+    @Test
+    void testReclassifiesTicketsAcrossPages() throws Exception {
+        UUID login = createTicket("Cannot login", "I forgot my password and I am locked out.", TicketStatus.CLOSED);
+        UUID billing = createTicket("Invoice question", "I was charged twice, please refund the payment.", TicketStatus.CLOSED);
+        UUID outage = createTicket("Outage", "Production down for every customer, this is critical.", TicketStatus.CLOSED);
+        UUID open = createTicket("Cannot login", "I forgot my password and I am locked out.", TicketStatus.NEW);
+
+        String jobId = startJob("{\"statuses\": [\"CLOSED\"]}");
+        JsonNode job = awaitFinished(jobId);
+
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(job.get("ticketsScanned").asLong()).isEqualTo(job.get("totalTickets").asLong()).isGreaterThanOrEqualTo(3);
+        assertThat(job.get("ticketsUpdated").asLong()).isGreaterThanOrEqualTo(3);
+        assertThat(job.get("percentComplete").asDouble()).isEqualTo(100.0);
+
+        assertThat(ticketRepository.findById(login).orElseThrow().getCategory()).isEqualTo(TicketCategory.ACCOUNT_ACCESS);
+        assertThat(ticketRepository.findById(billing).orElseThrow().getCategory()).isEqualTo(TicketCategory.BILLING_QUESTION);
+        Ticket outageTicket = ticketRepository.findById(outage).orElseThrow();
+        assertThat(outageTicket.getPriority()).isEqualTo(TicketPriority.URGENT);
+        // Not selected by the status filter
+        assertThat(ticketRepository.findById(open).orElseThrow().getCategory()).isEqualTo(TicketCategory.OTHER);
+        assertThat(classificationLogRepository.findByTicketId(login)).singleElement()
+                .satisfies(log -> assertThat(log.getSuggestedCategory()).isEqualTo(TicketCategory.ACCOUNT_ACCESS));
+        assertThat(classificationLogRepository.findByTicketId(open)).isEmpty();
+    }
+
+    @Test
+    void testExplicitLabelsAreOnlyReplacedOnRequest() throws Exception {
+        UUID explicit = createTicket("Cannot login", "I forgot my password and I am locked out.", TicketStatus.IN_PROGRESS);
+        Ticket ticket = ticketRepository.findById(explicit).orElseThrow();
+        ticket.setCategory(TicketCategory.BILLING_QUESTION);
+        ticketRepository.save(ticket);
+
+        awaitFinished(startJob("{\"statuses\": [\"IN_PROGRESS\"]}"));
+        assertThat(ticketRepository.findById(explicit).orElseThrow().getCategory()).isEqualTo(TicketCategory.BILLING_QUESTION);
+
+        String jobId = startJob("{\"statuses\": [\"IN_PROGRESS\"], \"overwriteLabels\": true}");
+        assertThat(awaitFinished(jobId).get("overwriteLabels").asBoolean()).isTrue();
+        assertThat(ticketRepository.findById(explicit).orElseThrow().getCategory()).isEqualTo(TicketCategory.ACCOUNT_ACCESS);
+    }
+
+    @Test
+    void testAgentCorrectionSurvivesReclassification() throws Exception {
+        UUID corrected = createTicket("Cannot login", "I forgot my password and I am locked out.", TicketStatus.WAITING_CUSTOMER);
+        mockMvc.perform(put("/tickets/" + corrected)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"category\": \"BILLING_QUESTION\"}"))
+                .andExpect(status().isOk());
+
+        JsonNode job = awaitFinished(startJob("{\"statuses\": [\"WAITING_CUSTOMER\"], \"overwriteLabels\": true}"));
+
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        Ticket ticket = ticketRepository.findById(corrected).orElseThrow();
+        assertThat(ticket.getCategory()).isEqualTo(TicketCategory.BILLING_QUESTION);
+        assertThat(ticket.isCategoryCorrected()).isTrue();
+    }
+
+    @Test
+    void testPauseResumeAndCancel() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createTicket("Cannot login", "I forgot my password and I am locked out.", TicketStatus.RESOLVED);
+        }
+
+        // One ticket per second: the job is still on its first pages when it is cancelled
+        String jobId = startJob("{\"statuses\": [\"RESOLVED\"], \"rowsPerSecond\": 1}");
+
+        mockMvc.perform(post("/admin/reclassifications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/admin/reclassifications/" + jobId + "/pause"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAUSED"));
+        mockMvc.perform(post("/admin/reclassifications/" + jobId + "/pause"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/admin/reclassifications/" + jobId + "/resume"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsPerSecondLimit").value(1));
+        mockMvc.perform(post("/admin/reclassifications/" + jobId + "/cancel"))
+                .andExpect(status().isOk());
+
+        JsonNode job = awaitFinished(jobId);
+        assertThat(job.get("status").asText()).isEqualTo("CANCELLED");
+        assertThat(job.get("ticketsScanned").asLong()).isLessThan(job.get("totalTickets").asLong());
+    }
+
+    @Test
+    void testUntrainedEngineIsRejected() throws Exception {
+        mockMvc.perform(post("/admin/reclassifications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"engine\": \"NAIVE_BAYES\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("The naive Bayes model has not been trained")));
+    }
+
+    @Test
+    void testUnknownJobReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/admin/reclassifications/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+
+    private String startJob(String body) throws Exception {
+        String response = mockMvc.perform(post("/admin/reclassifications")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/admin/reclassifications/")))
+                .andExpect(jsonPath("$.totalTickets").value(greaterThanOrEqualTo(0)))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("jobId").asText();
+    }
+
+    private JsonNode awaitFinished(String jobId) throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            String response = mockMvc.perform(get("/admin/reclassifications/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode job = objectMapper.readTree(response);
+            if (!job.get("completedAt").isNull()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Reclassification job " + jobId + " did not finish");
+    }
+
+    private UUID createTicket(String subject, String description, TicketStatus status) {
+        Ticket ticket = new Ticket();
+        ticket.setCustomerId("C001");
+        ticket.setCustomerEmail("test@example.com");
+        ticket.setCustomerName("Test User");
+        ticket.setSubject(subject);
+        ticket.setDescription(description);
+        ticket.setCategory(TicketCategory.OTHER);
+        ticket.setPriority(TicketPriority.MEDIUM);
+        ticket.setStatus(status);
+        return ticketRepository.save(ticket).getId();
+    }
+}
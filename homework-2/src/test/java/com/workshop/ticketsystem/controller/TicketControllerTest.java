@@ -6,6 +6,7 @@ import com.workshop.ticketsystem.dto.UpdateTicketRequest;
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
 import com.workshop.ticketsystem.enums.TicketStatus;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -16,6 +17,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +42,9 @@ class TicketControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ClassificationLogRepository classificationLogRepository;
+
     @Test
     void testCreateTicketSuccess() throws Exception {
         CreateTicketRequest request = new CreateTicketRequest();
@@ -51,6 +64,23 @@ class TicketControllerTest {
                 .andExpect(jsonPath("$.status").value("NEW"));
     }
 
+    @Test
+    void testCreateTicketWithAutoClassify() throws Exception {
+        CreateTicketRequest request = new CreateTicketRequest();
+        request.setCustomerId("C001");
+        request.setCustomerEmail("test@example.com");
+        request.setCustomerName("Test User");
+        request.setSubject("Cannot login");
+        request.setDescription("I forgot my password and I am locked out of my account.");
+        request.setAutoClassify(true);
+
+        mockMvc.perform(post("/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.category").value("ACCOUNT_ACCESS"));
+    }
+
     @Test
     void testCreateTicketValidationFailure() throws Exception {
         CreateTicketRequest request = new CreateTicketRequest();
@@ -225,6 +255,141 @@ class TicketControllerTest {
                 .andExpect(jsonPath("$.failedImports").value(0));
     }
 
+    @Test
+    void testImportCsvContinuesPastBadRows() throws Exception {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description,priority
+                C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.,HIGH
+                C002,test2@example.com,Test User 2,Test Subject 2,This is another test ticket description.,NOT_A_PRIORITY
+                C003,invalid-email,Test User 3,Test Subject 3,This is another test ticket description.,LOW
+                C004,test4@example.com,Test User 4,Test Subject 4,This is another test ticket description.,LOW""";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.csv",
+                "text/csv",
+                csvContent.getBytes()
+        );
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(4))
+                .andExpect(jsonPath("$.successfulImports").value(2))
+                .andExpect(jsonPath("$.failedImports").value(2))
+                .andExpect(jsonPath("$.errors[0]").value(startsWith("Record 2:")))
+                .andExpect(jsonPath("$.errors[1]").value(startsWith("Record 3:")));
+    }
+
+    @Test
+    void testImportCopyModeRequiresPostgres() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                "customer_id,customer_email,customer_name,subject,description".getBytes());
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv")
+                        .param("mode", "copy"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportUnknownMode() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "test.csv", "text/csv",
+                "customer_id,customer_email,customer_name,subject,description".getBytes());
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv")
+                        .param("mode", "bulk"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIngestNdjsonStream() throws Exception {
+        String ndjsonContent = """
+                {"customerId":"C001","customerEmail":"test1@example.com","customerName":"Test User 1","subject":"Test Subject 1","description":"This is a test ticket description for ingest testing."}
+                {"customerId":"C002","customerEmail":"invalid-email","customerName":"Test User 2","subject":"Test Subject 2","description":"This is a test ticket description for ingest testing."}
+                {"customerId":"C003","customerEmail":"test3@example.com","customerName":"Test User 3","subject":"Test Subject 3","description":"This is a test ticket description for ingest testing."}
+                """;
+
+        mockMvc.perform(post("/tickets/ingest")
+                        .contentType("application/x-ndjson")
+                        .content(ndjsonContent))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(3))
+                .andExpect(jsonPath("$.successfulImports").value(2))
+                .andExpect(jsonPath("$.errors[0]").value(startsWith("Record 2:")));
+    }
+
+    @Test
+    void testImportGzipCsv() throws Exception {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.
+                C002,test2@example.com,Test User 2,Test Subject 2,This is another test ticket description for testing.""";
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(csvContent.getBytes());
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "tickets.csv.gz", "application/gzip", compressed.toByteArray());
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(2))
+                .andExpect(jsonPath("$.successfulImports").value(2));
+    }
+
+    @Test
+    void testImportAutoDetectsCompressedJson() throws Exception {
+        String jsonContent = "[{\"customerId\":\"C001\",\"customerEmail\":\"test@example.com\"," +
+                "\"customerName\":\"Test User\",\"subject\":\"Test Subject\"," +
+                "\"description\":\"This is a test ticket description for JSON import testing.\"}]";
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(jsonContent.getBytes());
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "export.dat", "application/octet-stream", compressed.toByteArray());
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "auto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successfulImports").value(1));
+    }
+
+    @Test
+    void testImportZipWithSeveralEntries() throws Exception {
+        String header = "customer_id,customer_email,customer_name,subject,description\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(compressed)) {
+            zip.putNextEntry(new ZipEntry("part-1.csv"));
+            zip.write((header
+                    + "C001,test1@example.com,Test User 1,Test Subject 1,This is a test ticket description for import testing.\n"
+                    + "C002,test2@example.com,Test User 2,Test Subject 2,This is a test ticket description for import testing.\n").getBytes());
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("part-2.csv"));
+            zip.write((header
+                    + "C003,invalid-email,Test User 3,Test Subject 3,This is a test ticket description for import testing.\n"
+                    + "C004,test4@example.com,Test User 4,Test Subject 4,This is a test ticket description for import testing.\n").getBytes());
+            zip.closeEntry();
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "tickets.zip", "application/zip", compressed.toByteArray());
+
+        mockMvc.perform(multipart("/tickets/import")
+                        .file(file)
+                        .param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecords").value(4))
+                .andExpect(jsonPath("$.successfulImports").value(3))
+                .andExpect(jsonPath("$.errors[0]").value(startsWith("Record 3:")));
+    }
+
     @Test
     void testImportJson() throws Exception {
         String jsonContent = "[{\"customerId\":\"C001\",\"customerEmail\":\"test@example.com\"," +
@@ -273,4 +438,58 @@ class TicketControllerTest {
                 .andExpect(jsonPath("$.confidenceScore").exists())
                 .andExpect(jsonPath("$.reasoning").exists());
     }
+
+    @Test
+    void testAutoClassifyBatchByIds() throws Exception {
+        String loginId = createTicket("Cannot login", "I forgot my password and I am locked out.");
+        String billingId = createTicket("Invoice question", "I was charged twice, please refund the payment.");
+        String missingId = UUID.randomUUID().toString();
+        long logsBefore = classificationLogRepository.count();
+
+        mockMvc.perform(post("/tickets/auto-classify")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "ids", List.of(loginId, billingId, missingId),
+                                "includeResults", true))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestedTickets").value(3))
+                .andExpect(jsonPath("$.classifiedTickets").value(2))
+                .andExpect(jsonPath("$.notFound", contains(missingId)))
+                .andExpect(jsonPath("$.results['" + loginId + "'].category").value("ACCOUNT_ACCESS"))
+                .andExpect(jsonPath("$.results['" + billingId + "'].category").value("BILLING_QUESTION"))
+                .andExpect(jsonPath("$.results['" + billingId + "'].reasoning").exists());
+
+        assertThat(classificationLogRepository.count()).isEqualTo(logsBefore + 2);
+    }
+
+    @Test
+    void testAutoClassifyBatchByFilter() throws Exception {
+        createTicket("Cannot login", "I forgot my password and I am locked out.");
+        createTicket("Invoice question", "I was charged twice, please refund the payment.");
+
+        mockMvc.perform(post("/tickets/auto-classify")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"NEW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestedTickets").value(greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.classifiedTickets").value(greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.notFound", empty()))
+                .andExpect(jsonPath("$.results", anEmptyMap()));
+    }
+
+    private String createTicket(String subject, String description) throws Exception {
+        CreateTicketRequest request = new CreateTicketRequest();
+        request.setCustomerId("C001");
+        request.setCustomerEmail("test@example.com");
+        request.setCustomerName("Test User");
+        request.setSubject(subject);
+        request.setDescription(description);
+
+        String response = mockMvc.perform(post("/tickets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asText();
+    }
 }
@@ -0,0 +1,72 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.exception.FileParseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ContentSniffingParserTest {
+
+    @Autowired
+    private ParserFactory parserFactory;
+
+    @Test
+    void testDetectFormats() throws Exception {
+        assertThat(detect("customer_id,customer_email\nC001,test@example.com")).isEqualTo("csv");
+        assertThat(detect("  [{\"customerId\":\"C001\"}]")).isEqualTo("json");
+        assertThat(detect("{\"tickets\":[{\"customerId\":\"C001\"}]}")).isEqualTo("json");
+        assertThat(detect("{\"customerId\":\"C001\"}\n{\"customerId\":\"C002\"}\n")).isEqualTo("ndjson");
+        assertThat(detect("\uFEFF<?xml version=\"1.0\"?><tickets/>")).isEqualTo("xml");
+    }
+
+    @Test
+    void testDetectUnknownFormat() {
+        assertThatThrownBy(() -> detect("just some text"))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("Could not detect file format");
+    }
+
+    @Test
+    void testLargeFirstObjectIsNotGuessed() throws Exception {
+        String description = "x".repeat(ContentSniffingParser.SNIFF_BYTES);
+        String ndjsonContent = "{\"customerId\":\"C001\",\"description\":\"" + description + "\"}\n"
+                + "{\"customerId\":\"C002\"}\n";
+        assertThatThrownBy(() -> detect(ndjsonContent))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("Could not detect file format");
+
+        // A large wrapper object is still recognised from its root "tickets" field
+        String jsonContent = "{\"tickets\":[{\"customerId\":\"C001\",\"description\":\"" + description + "\"}]}";
+        assertThat(detect(jsonContent)).isEqualTo("json");
+    }
+
+    @Test
+    void testAutoParserReadsWholeStream() throws Exception {
+        String ndjsonContent = """
+                {"customerId":"C001","customerEmail":"test1@example.com"}
+                {"customerId":"C002","customerEmail":"test2@example.com"}
+                """;
+        List<CreateTicketRequest> tickets = new ArrayList<>();
+
+        StreamingFileParser parser = (StreamingFileParser) parserFactory.getParser("auto");
+        parser.parse(new ByteArrayInputStream(ndjsonContent.getBytes()), TicketRecordHandler.collectingInto(tickets));
+
+        assertThat(tickets).extracting(CreateTicketRequest::getCustomerId).containsExactly("C001", "C002");
+    }
+
+    private String detect(String content) throws Exception {
+        return ContentSniffingParser.detectFormat(new BufferedInputStream(new ByteArrayInputStream(content.getBytes())));
+    }
+}
@@ -0,0 +1,108 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.enums.DeviceType;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.enums.TicketSource;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares row binding by header name (the previous CsvFileParser implementation) with the
+ * compiled {@link CsvBindingPlan}. Records are parsed up front so only binding is measured.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CsvBindingBenchmarkTest {
+
+    private static final int ROWS = 200_000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void benchmarkCompiledBindingPlan() throws IOException {
+        List<CSVRecord> records = generateRecords();
+        CsvBindingPlan plan = CsvBindingPlan.compile(records.getFirst().getParser().getHeaderMap(), Map.of());
+
+        // Warm up both paths before measuring
+        measure(records, this::bindByName);
+        measure(records, plan::bind);
+
+        double byName = measure(records, this::bindByName);
+        double compiled = measure(records, plan::bind);
+
+        System.out.printf("CSV binding: by name %,.0f rows/s, compiled plan %,.0f rows/s (%.2fx)%n",
+                byName, compiled, compiled / byName);
+        assertThat(plan.bind(records.getFirst())).isEqualTo(bindByName(records.getFirst()));
+    }
+
+    private double measure(List<CSVRecord> records, Function<CSVRecord, CreateTicketRequest> binder) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (CSVRecord record : records) {
+                checksum += binder.apply(record).getCustomerId().length();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertThat(checksum).isPositive();
+        return (double) records.size() * ROUNDS / seconds;
+    }
+
+    private List<CSVRecord> generateRecords() throws IOException {
+        StringBuilder csv = new StringBuilder(
+                "customer_id,customer_email,customer_name,subject,description,category,priority,assigned_to,tags,source,browser,device_type\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("C").append(i).append(",user").append(i).append("@example.com,User ").append(i)
+                    .append(",Cannot login,I am locked out of my account after a password reset.,account_access,")
+                    .append(i % 2 == 0 ? "high" : "LOW")
+                    .append(",agent").append(i % 7).append(",login;password,web_form,Chrome,desktop\n");
+        }
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).setTrim(true).build();
+        return new ArrayList<>(format.parse(new StringReader(csv.toString())).getRecords());
+    }
+
+    // Baseline: the per-field name lookups CsvFileParser used before the binding plan
+    private CreateTicketRequest bindByName(CSVRecord record) {
+        CreateTicketRequest ticket = new CreateTicketRequest();
+        ticket.setCustomerId(record.get("customer_id"));
+        ticket.setCustomerEmail(record.get("customer_email"));
+        ticket.setCustomerName(record.get("customer_name"));
+        ticket.setSubject(record.get("subject"));
+        ticket.setDescription(record.get("description"));
+        if (record.isMapped("category") && !record.get("category").isEmpty()) {
+            ticket.setCategory(TicketCategory.valueOf(record.get("category").toUpperCase()));
+        }
+        if (record.isMapped("priority") && !record.get("priority").isEmpty()) {
+            ticket.setPriority(TicketPriority.valueOf(record.get("priority").toUpperCase()));
+        }
+        if (record.isMapped("assigned_to") && !record.get("assigned_to").isEmpty()) {
+            ticket.setAssignedTo(record.get("assigned_to"));
+        }
+        if (record.isMapped("tags") && !record.get("tags").isEmpty()) {
+            ticket.setTags(Arrays.asList(record.get("tags").split(";")));
+        }
+        if (record.isMapped("source") && !record.get("source").isEmpty()) {
+            ticket.setSource(TicketSource.valueOf(record.get("source").toUpperCase()));
+        }
+        if (record.isMapped("browser") && !record.get("browser").isEmpty()) {
+            ticket.setBrowser(record.get("browser"));
+        }
+        if (record.isMapped("device_type") && !record.get("device_type").isEmpty()) {
+            ticket.setDeviceType(DeviceType.valueOf(record.get("device_type").toUpperCase()));
+        }
+        return ticket;
+    }
+}
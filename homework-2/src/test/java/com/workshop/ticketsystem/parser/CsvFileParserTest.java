@@ -12,6 +12,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -55,6 +57,26 @@ class CsvFileParserTest {
         assertThat(ticket.getDeviceType()).isEqualTo(DeviceType.DESKTOP);
     }
 
+    @Test
+    void testParseCsvWithAliasedHeaders() throws Exception {
+        String csvContent = """
+                Email,customerId,Name,Subject,Description,Priority,assignee,Device_Type
+                test@example.com,C001,Test User,Test Subject,This is a test ticket description for testing.,High,admin,mobile""";
+
+        List<CreateTicketRequest> tickets = new ArrayList<>();
+        csvFileParser.parse(new ByteArrayInputStream(csvContent.getBytes()), TicketRecordHandler.collectingInto(tickets));
+
+        assertThat(tickets).hasSize(1);
+        CreateTicketRequest ticket = tickets.getFirst();
+        assertThat(ticket.getCustomerId()).isEqualTo("C001");
+        assertThat(ticket.getCustomerEmail()).isEqualTo("test@example.com");
+        assertThat(ticket.getCustomerName()).isEqualTo("Test User");
+        assertThat(ticket.getSubject()).isEqualTo("Test Subject");
+        assertThat(ticket.getPriority()).isEqualTo(TicketPriority.HIGH);
+        assertThat(ticket.getAssignedTo()).isEqualTo("admin");
+        assertThat(ticket.getDeviceType()).isEqualTo(DeviceType.MOBILE);
+    }
+
     @Test
     void testParseWithMissingOptionalFields() throws Exception {
         String csvContent = """
@@ -135,6 +157,34 @@ class CsvFileParserTest {
                 .hasMessageContaining("Error parsing CSV record");
     }
 
+    @Test
+    void testStreamingParseReportsBadRowsAndContinues() throws Exception {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description,category
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.,BUG_REPORT
+                C002,test2@example.com,Test User 2,Subject 2,This is a test ticket description.,INVALID_CATEGORY
+                C003,test3@example.com,Test User 3,Subject 3,This is a test ticket description.,""";
+
+        List<Long> parsedRecords = new ArrayList<>();
+        List<Long> failedRecords = new ArrayList<>();
+
+        csvFileParser.parse(new ByteArrayInputStream(csvContent.getBytes()), new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                parsedRecords.add(recordNumber);
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                assertThat(error.getMessage()).contains("Error parsing CSV record");
+                failedRecords.add(recordNumber);
+            }
+        });
+
+        assertThat(parsedRecords).containsExactly(1L, 3L);
+        assertThat(failedRecords).containsExactly(2L);
+    }
+
     @Test
     void testGetSupportedFormat() {
         assertThat(csvFileParser.getSupportedFormat()).isEqualTo("csv");
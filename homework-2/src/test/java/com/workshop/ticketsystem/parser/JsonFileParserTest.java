@@ -10,6 +10,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -99,6 +101,69 @@ class JsonFileParserTest {
         assertThat(tickets.get(1).getCustomerId()).isEqualTo("C002");
     }
 
+    @Test
+    void testStreamingParseTicketsFieldAfterOtherFields() throws Exception {
+        String jsonContent = "{\"source\":\"partner-export\",\"count\":{\"total\":3},\"tickets\":[" +
+                "{\"customerId\":\"C001\",\"customerEmail\":\"test1@example.com\"," +
+                "\"customerName\":\"Test User 1\",\"subject\":\"Test Subject 1\"," +
+                "\"description\":\"This is a test ticket description for streaming testing.\"}," +
+                "{\"customerId\":\"C002\",\"priority\":\"NOT_A_PRIORITY\"}," +
+                "{\"customerId\":\"C003\",\"customerEmail\":\"test3@example.com\"," +
+                "\"customerName\":\"Test User 3\",\"subject\":\"Test Subject 3\"," +
+                "\"description\":\"This is another test ticket description for testing.\"}" +
+                "]}";
+
+        List<String> parsedCustomers = new ArrayList<>();
+        List<Long> failedRecords = new ArrayList<>();
+
+        jsonFileParser.parse(new ByteArrayInputStream(jsonContent.getBytes()), new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                parsedCustomers.add(ticket.getCustomerId());
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                failedRecords.add(recordNumber);
+            }
+        });
+
+        assertThat(parsedCustomers).containsExactly("C001", "C003");
+        assertThat(failedRecords).containsExactly(2L);
+    }
+
+    @Test
+    void testParseTruncatedJsonArray() {
+        String jsonContent = "[{\"customerId\":\"C001\"},";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.json",
+                "application/json",
+                jsonContent.getBytes()
+        );
+
+        assertThatThrownBy(() -> jsonFileParser.parse(file))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("Error parsing JSON file");
+    }
+
+    @Test
+    void testParseSeveralRootObjectsIsRejected() {
+        String jsonContent = "{\"customerId\":\"C001\"}\n{\"customerId\":\"C002\"}\n";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.json",
+                "application/json",
+                jsonContent.getBytes()
+        );
+
+        assertThatThrownBy(() -> jsonFileParser.parse(file))
+                .isInstanceOf(FileParseException.class)
+                .hasMessageContaining("format=ndjson");
+    }
+
     @Test
     void testParseEmptyJson() {
         String jsonContent = "\"invalid\"";
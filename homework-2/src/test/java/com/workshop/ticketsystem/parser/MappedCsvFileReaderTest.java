@@ -0,0 +1,157 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.config.ImportProperties;
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.exception.FileParseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCsvFileReaderTest {
+
+    private MappedCsvFileReader mappedCsvFileReader;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.getLocal().setSegmentSize(DataSize.ofBytes(100));
+        importProperties.setBatchSize(2);
+        importProperties.setParallelism(4);
+        mappedCsvFileReader = new MappedCsvFileReader(new CsvFileParser(importProperties), importProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mappedCsvFileReader.shutdown();
+    }
+
+    @Test
+    void testSegmentsDoNotSplitQuotedNewlines() throws Exception {
+        StringBuilder csv = new StringBuilder("customer_id,customer_email,customer_name,subject,description\n");
+        for (int i = 1; i <= 20; i++) {
+            csv.append("C%03d,test%d@example.com,Test User %d,Subject %d,\"Line one\nline two, with \"\"quotes\"\"\"\n"
+                    .formatted(i, i, i, i));
+        }
+        Path file = Files.writeString(tempDir.resolve("tickets.csv"), csv);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            MappedCsvFileReader.SegmentPlan plan = mappedCsvFileReader.planSegments(channel);
+            assertThat(plan.header()).containsExactly("customer_id", "customer_email", "customer_name", "subject", "description");
+            assertThat(plan.segments()).hasSizeGreaterThan(1);
+            assertThat(plan.segments().get(1).recordsBefore()).isPositive();
+        }
+
+        Map<Long, CreateTicketRequest> records = new ConcurrentHashMap<>();
+        mappedCsvFileReader.read(file, collectingInto(records), UnaryOperator.identity());
+
+        assertThat(records).hasSize(20);
+        for (long i = 1; i <= 20; i++) {
+            CreateTicketRequest ticket = records.get(i);
+            assertThat(ticket.getCustomerId()).isEqualTo("C%03d".formatted(i));
+            assertThat(ticket.getDescription()).isEqualTo("Line one\nline two, with \"quotes\"");
+        }
+    }
+
+    @Test
+    void testBadRowKeepsGlobalRecordNumber() throws Exception {
+        StringBuilder csv = new StringBuilder("customer_id,customer_email,customer_name,subject,description,priority\n");
+        for (int i = 1; i <= 12; i++) {
+            String priority = i == 9 ? "NOT_A_PRIORITY" : "LOW";
+            csv.append("C%03d,test%d@example.com,Test User %d,Subject %d,Description %d,%s\n"
+                    .formatted(i, i, i, i, i, priority));
+        }
+        Path file = Files.writeString(tempDir.resolve("tickets.csv"), csv);
+
+        Map<Long, CreateTicketRequest> records = new ConcurrentHashMap<>();
+        List<Long> failed = new ArrayList<>();
+        mappedCsvFileReader.read(file, new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                records.put(recordNumber, ticket);
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                failed.add(recordNumber);
+            }
+        }, UnaryOperator.identity());
+
+        assertThat(records).hasSize(11).doesNotContainKey(9L);
+        assertThat(failed).containsExactly(9L);
+        assertThat(records.get(12L).getCustomerId()).isEqualTo("C012");
+    }
+
+    @Test
+    void testQuoteInsideUnquotedFieldIsLiteral() throws Exception {
+        StringBuilder csv = new StringBuilder("customer_id,customer_email,customer_name,subject,description\n");
+        for (int i = 1; i <= 400; i++) {
+            String subject = i == 50 ? "27\" monitor flickers" : "Subject " + i;
+            String description = i == 300 ? "\"First line\nsecond line\"" : "Description " + i;
+            csv.append("C%03d,test%d@example.com,Test User %d,%s,%s\n".formatted(i, i, i, subject, description));
+        }
+        Path file = Files.writeString(tempDir.resolve("tickets.csv"), csv);
+
+        Map<Long, CreateTicketRequest> records = new ConcurrentHashMap<>();
+        mappedCsvFileReader.read(file, collectingInto(records), UnaryOperator.identity());
+
+        assertThat(records).hasSize(400);
+        assertThat(records.get(50L).getSubject()).isEqualTo("27\" monitor flickers");
+        assertThat(records.get(300L).getDescription()).isEqualTo("First line\nsecond line");
+        assertThat(records.get(400L).getCustomerId()).isEqualTo("C400");
+    }
+
+    @Test
+    void testRecordsArriveInFileOrder() throws Exception {
+        StringBuilder csv = new StringBuilder("customer_id,customer_email,customer_name,subject,description\n");
+        for (int i = 1; i <= 200; i++) {
+            csv.append("C%03d,test%d@example.com,Test User %d,Subject %d,Description %d\n".formatted(i, i, i, i, i));
+        }
+        Path file = Files.writeString(tempDir.resolve("tickets.csv"), csv);
+
+        List<Long> recordNumbers = new ArrayList<>();
+        mappedCsvFileReader.read(file, new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                recordNumbers.add(recordNumber);
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                throw error;
+            }
+        }, UnaryOperator.identity());
+
+        assertThat(recordNumbers).containsExactlyElementsOf(LongStream.rangeClosed(1, 200).boxed().toList());
+    }
+
+    private TicketRecordHandler collectingInto(Map<Long, CreateTicketRequest> records) {
+        return new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                records.put(recordNumber, ticket);
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                throw error;
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.workshop.ticketsystem.parser;
+
+import com.workshop.ticketsystem.dto.CreateTicketRequest;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.exception.FileParseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NdjsonFileParserTest {
+
+    @Autowired
+    private NdjsonFileParser ndjsonFileParser;
+
+    @Test
+    void testParseNdjson() throws Exception {
+        String ndjsonContent = """
+                {"customerId":"C001","customerEmail":"test1@example.com","customerName":"Test User 1","subject":"Test Subject 1","description":"This is a test ticket description for NDJSON testing.","priority":"HIGH"}
+
+                {"customerId":"C002","customerEmail":"test2@example.com","customerName":"Test User 2","subject":"Test Subject 2","description":"This is another test ticket description for testing."}
+                """;
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.ndjson",
+                "application/x-ndjson",
+                ndjsonContent.getBytes()
+        );
+
+        List<CreateTicketRequest> tickets = ndjsonFileParser.parse(file);
+
+        assertThat(tickets).hasSize(2);
+        assertThat(tickets.getFirst().getCustomerId()).isEqualTo("C001");
+        assertThat(tickets.getFirst().getPriority()).isEqualTo(TicketPriority.HIGH);
+        assertThat(tickets.get(1).getCustomerId()).isEqualTo("C002");
+    }
+
+    @Test
+    void testMalformedLineDoesNotStopStream() throws Exception {
+        String ndjsonContent = """
+                {"customerId":"C001"}
+                {"customerId":"C002",
+                {"customerId":"C003","priority":"NOT_A_PRIORITY"}
+                {"customerId":"C004"}""";
+
+        List<String> parsedCustomers = new ArrayList<>();
+        List<Long> failedLines = new ArrayList<>();
+
+        ndjsonFileParser.parse(new ByteArrayInputStream(ndjsonContent.getBytes()), new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                parsedCustomers.add(ticket.getCustomerId());
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                failedLines.add(recordNumber);
+            }
+        });
+
+        assertThat(parsedCustomers).containsExactly("C001", "C004");
+        assertThat(failedLines).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void testPartialBatchIsFlushedOnlyWhenStreamStalls() throws Exception {
+        PipedOutputStream sender = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(sender);
+        Thread feed = Thread.ofVirtual().start(() -> {
+            try (sender) {
+                sender.write("{\"customerId\":\"C001\"}\n{\"customerId\":\"C002\"}\n".getBytes());
+                sender.flush();
+                Thread.sleep(1000);
+                sender.write("{\"customerId\":\"C003\"}\n".getBytes());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<String> events = new ArrayList<>();
+        ndjsonFileParser.parse(input, new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                events.add(ticket.getCustomerId());
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                events.add("error");
+            }
+
+            @Override
+            public void flush() {
+                events.add("flush");
+            }
+        });
+        feed.join();
+
+        assertThat(events).containsExactly("C001", "C002", "flush", "C003", "flush");
+    }
+
+    @Test
+    void testGetSupportedFormat() {
+        assertThat(ndjsonFileParser.getSupportedFormat()).isEqualTo("ndjson");
+    }
+}
@@ -10,6 +10,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -125,6 +128,63 @@ class XmlFileParserTest {
         assertThat(tickets).isEmpty();
     }
 
+    @Test
+    void testStreamingParseSkipsBadTicketAndContinues() throws Exception {
+        String xmlContent = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<tickets>" +
+                "<ticket>" +
+                "<customerId>C001</customerId>" +
+                "<subject>Test Subject 1</subject>" +
+                "<priority>NOT_A_PRIORITY</priority>" +
+                "</ticket>" +
+                "<ticket>" +
+                "<customerId>C002</customerId>" +
+                "<subject>Test Subject 2</subject>" +
+                "</ticket>" +
+                "</tickets>";
+
+        List<String> parsedCustomers = new ArrayList<>();
+        List<Long> failedRecords = new ArrayList<>();
+
+        xmlFileParser.parse(new ByteArrayInputStream(xmlContent.getBytes(StandardCharsets.UTF_8)), new TicketRecordHandler() {
+            @Override
+            public void onRecord(long recordNumber, CreateTicketRequest ticket) {
+                parsedCustomers.add(ticket.getCustomerId());
+            }
+
+            @Override
+            public void onError(long recordNumber, FileParseException error) {
+                failedRecords.add(recordNumber);
+            }
+        });
+
+        assertThat(parsedCustomers).containsExactly("C002");
+        assertThat(failedRecords).containsExactly(1L);
+    }
+
+    @Test
+    void testParseHonoursDeclaredEncoding() throws Exception {
+        String xmlContent = "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" +
+                "<tickets>" +
+                "<ticket>" +
+                "<customerId>C001</customerId>" +
+                "<customerName>Zoë Müller</customerName>" +
+                "</ticket>" +
+                "</tickets>";
+
+        MockMultipartFile file = new MockMultipartFile(
+                "file",
+                "test.xml",
+                "application/xml",
+                xmlContent.getBytes(StandardCharsets.ISO_8859_1)
+        );
+
+        List<CreateTicketRequest> tickets = xmlFileParser.parse(file);
+
+        assertThat(tickets).hasSize(1);
+        assertThat(tickets.getFirst().getCustomerName()).isEqualTo("Zoë Müller");
+    }
+
     @Test
     void testGetSupportedFormat() {
         assertThat(xmlFileParser.getSupportedFormat()).isEqualTo("xml");
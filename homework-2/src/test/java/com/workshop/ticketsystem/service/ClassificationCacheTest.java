@@ -0,0 +1,127 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ClassificationProperties;
+import com.workshop.ticketsystem.dto.ClassificationCacheStats;
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassificationCacheTest {
+
+    private final AtomicInteger computations = new AtomicInteger();
+
+    @Test
+    void repeatedTextIsComputedOnce() {
+        ClassificationCache cache = cache(100);
+
+        ClassificationResult first = cache.get(1, "Cannot login", "Password reset", this::compute);
+        ClassificationResult second = cache.get(1, "CANNOT LOGIN", "password RESET", this::compute);
+
+        assertThat(computations).hasValue(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getCategory()).isEqualTo(TicketCategory.ACCOUNT_ACCESS);
+        assertThat(second.getKeywordsFound()).containsExactly("login", "password");
+        assertThat(second.getReasoning()).isEqualTo(first.getReasoning()).isEqualTo("reasoning 1");
+
+        ClassificationCacheStats stats = cache.stats(1);
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getSize()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void differentTextOrDictionaryVersionMisses() {
+        ClassificationCache cache = cache(100);
+
+        cache.get(1, "Cannot login", "Password reset", this::compute);
+        cache.get(1, "Cannot login", "Password  reset", this::compute);
+        cache.get(2, "Cannot login", "Password reset", this::compute);
+
+        assertThat(computations).hasValue(3);
+        assertThat(cache.stats(2).getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    void hashCollisionIsNotAHit() {
+        ClassificationCache cache = cache(100);
+        // A Thue–Morse string and its complement have equal polynomial hashes modulo 2^64 for any
+        // odd multiplier once they are 2^11 characters long
+        StringBuilder thueMorse = new StringBuilder();
+        StringBuilder complement = new StringBuilder();
+        for (int i = 0; i < 2048; i++) {
+            boolean odd = Integer.bitCount(i) % 2 == 1;
+            thueMorse.append(odd ? 'b' : 'a');
+            complement.append(odd ? 'a' : 'b');
+        }
+
+        cache.get(1, "Collision", thueMorse.toString(), this::compute);
+        ClassificationResult other = cache.get(1, "Collision", complement.toString(), this::compute);
+
+        assertThat(computations).hasValue(2);
+        assertThat(other.getReasoning()).isEqualTo("reasoning 2");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaximumSize() {
+        ClassificationCache cache = cache(16);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get(1, "Ticket " + i, "Description", this::compute);
+        }
+
+        ClassificationCacheStats stats = cache.stats(1);
+        assertThat(stats.getSize()).isLessThanOrEqualTo(16);
+        assertThat(stats.getEvictions()).isEqualTo(1000 - stats.getSize());
+    }
+
+    @Test
+    void invalidateAllDropsEntries() {
+        ClassificationCache cache = cache(100);
+        cache.get(1, "Cannot login", "Password reset", this::compute);
+
+        cache.invalidateAll();
+        cache.get(1, "Cannot login", "Password reset", this::compute);
+
+        assertThat(computations).hasValue(2);
+        assertThat(cache.stats(1).getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroMaximumSizeDisablesCaching() {
+        ClassificationCache cache = cache(0);
+
+        cache.get(1, "Cannot login", "Password reset", this::compute);
+        cache.get(1, "Cannot login", "Password reset", this::compute);
+
+        assertThat(computations).hasValue(2);
+        assertThat(cache.stats(1).isEnabled()).isFalse();
+        assertThat(cache.stats(1).getMisses()).isZero();
+    }
+
+    private ClassificationCache cache(int maximumSize) {
+        ClassificationProperties properties = new ClassificationProperties();
+        properties.getCache().setMaximumSize(maximumSize);
+        return new ClassificationCache(properties);
+    }
+
+    private ClassificationResult compute() {
+        int computation = computations.incrementAndGet();
+        ClassificationResult result = new ClassificationResult();
+        result.setCategory(TicketCategory.ACCOUNT_ACCESS);
+        result.setPriority(TicketPriority.MEDIUM);
+        result.setConfidenceScore(0.5);
+        result.setKeywordsFound(new ArrayList<>(List.of("login", "password")));
+        Supplier<String> reasoning = () -> "reasoning " + computation;
+        result.deferReasoning(reasoning);
+        return result;
+    }
+}
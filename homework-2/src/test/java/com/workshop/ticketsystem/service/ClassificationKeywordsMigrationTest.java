@@ -0,0 +1,58 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.entity.ClassificationLog;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClassificationKeywordsMigrationTest {
+
+    @Autowired
+    private ClassificationKeywordsMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClassificationLogRepository classificationLogRepository;
+
+    @Test
+    void movesLegacyKeywordRowsIntoArrayColumn() {
+        jdbcTemplate.execute("CREATE TABLE classification_keywords (log_id UUID NOT NULL, keyword VARCHAR(255))");
+        UUID withKeywords = insertLegacyLog();
+        UUID withoutKeywords = insertLegacyLog();
+        jdbcTemplate.update("INSERT INTO classification_keywords (log_id, keyword) VALUES (?, 'login')", withKeywords);
+        jdbcTemplate.update("INSERT INTO classification_keywords (log_id, keyword) VALUES (?, 'password')", withKeywords);
+
+        migration.migrate();
+
+        assertThat(classificationLogRepository.findById(withKeywords).orElseThrow().getKeywordsFound())
+                .containsExactlyInAnyOrder("login", "password");
+        assertThat(classificationLogRepository.findById(withoutKeywords).orElseThrow().getKeywordsFound()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'CLASSIFICATION_KEYWORDS'",
+                Integer.class)).isZero();
+
+        // Nothing left to do on the next start
+        migration.migrate();
+        classificationLogRepository.deleteAllById(List.of(withKeywords, withoutKeywords));
+    }
+
+    private UUID insertLegacyLog() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO classification_logs (id, ticket_id, suggested_category, suggested_priority, "
+                + "confidence_score, classified_at) VALUES (?, ?, 'ACCOUNT_ACCESS', 'HIGH', 0.5, CURRENT_TIMESTAMP)",
+                id, UUID.randomUUID());
+        return id;
+    }
+}
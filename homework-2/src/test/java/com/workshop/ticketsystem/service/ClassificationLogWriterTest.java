@@ -0,0 +1,138 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.entity.ClassificationLog;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DirtiesContext
+class ClassificationLogWriterTest {
+
+    private static final Path SPILL_FILE = Path.of(System.getProperty("java.io.tmpdir"),
+            "classification-spill-" + UUID.randomUUID() + ".ndjson");
+    private static final Path REPLAYING_FILE = Path.of(SPILL_FILE + ".replaying");
+
+    @DynamicPropertySource
+    static void logWriterProperties(DynamicPropertyRegistry registry) {
+        registry.add("ticket-system.classification.log-writer.enabled", () -> "true");
+        registry.add("ticket-system.classification.log-writer.flush-interval", () -> "50ms");
+        registry.add("ticket-system.classification.log-writer.spill-file", SPILL_FILE::toString);
+    }
+
+    @AfterAll
+    static void deleteSpillFile() throws IOException {
+        Files.deleteIfExists(SPILL_FILE);
+        Files.deleteIfExists(REPLAYING_FILE);
+    }
+
+    @Autowired
+    private ClassificationLogWriter classificationLogWriter;
+
+    @Autowired
+    private ClassificationLogRepository classificationLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void writesLogsInTheBackground() throws InterruptedException {
+        UUID ticketId = UUID.randomUUID();
+
+        classificationLogWriter.write(List.of(log(ticketId), log(ticketId)));
+
+        awaitLogs(ticketId, 2);
+        ClassificationLog written = classificationLogRepository.findByTicketId(ticketId).getFirst();
+        assertThat(written.getClassifiedAt()).isNotNull();
+    }
+
+    @Test
+    void writesNothingForRolledBackTransaction() throws InterruptedException {
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            classificationLogWriter.write(List.of(log(rolledBack)));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> classificationLogWriter.write(List.of(log(committed))));
+
+        awaitLogs(committed, 1);
+        assertThat(classificationLogWriter.pending()).isZero();
+        assertThat(classificationLogRepository.findByTicketId(rolledBack)).isEmpty();
+    }
+
+    @Test
+    void replaysSpilledLogs() {
+        UUID ticketId = UUID.randomUUID();
+        ClassificationLog spilled = log(ticketId);
+        spilled.setClassifiedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        classificationLogWriter.spill(List.of(spilled, log(ticketId)));
+        assertThat(SPILL_FILE).exists();
+
+        classificationLogWriter.replaySpillFile();
+
+        assertThat(SPILL_FILE).doesNotExist();
+        assertThat(REPLAYING_FILE).doesNotExist();
+        List<ClassificationLog> logs = classificationLogRepository.findByTicketId(ticketId);
+        assertThat(logs).hasSize(2);
+        assertThat(logs).extracting(ClassificationLog::getClassifiedAt).contains(LocalDateTime.of(2024, 1, 15, 10, 30));
+        assertThat(logs.getFirst().getKeywordsFound()).containsExactly("login", "urgent");
+    }
+
+    @Test
+    void keepsSpillFileWhenReplayFails() throws IOException {
+        UUID ticketId = UUID.randomUUID();
+        ClassificationLog invalid = log(ticketId);
+        invalid.setSuggestedCategory(null);
+        classificationLogWriter.spill(List.of(log(ticketId), invalid));
+
+        classificationLogWriter.replaySpillFile();
+
+        assertThat(SPILL_FILE).exists();
+        assertThat(REPLAYING_FILE).doesNotExist();
+        assertThat(classificationLogRepository.findByTicketId(ticketId)).isEmpty();
+        Files.delete(SPILL_FILE);
+    }
+
+    private void awaitLogs(UUID ticketId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (classificationLogRepository.findByTicketId(ticketId).size() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(classificationLogRepository.findByTicketId(ticketId)).hasSize(expected);
+    }
+
+    private ClassificationLog log(UUID ticketId) {
+        ClassificationLog log = new ClassificationLog();
+        log.setTicketId(ticketId);
+        log.setSuggestedCategory(TicketCategory.ACCOUNT_ACCESS);
+        log.setSuggestedPriority(TicketPriority.URGENT);
+        log.setConfidenceScore(0.5);
+        log.setReasoning("Category: ACCOUNT_ACCESS");
+        log.setKeywordsFound(new ArrayList<>(List.of("login", "urgent")));
+        return log;
+    }
+}
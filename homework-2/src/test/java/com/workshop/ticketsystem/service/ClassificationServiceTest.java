@@ -1,9 +1,12 @@
 package com.workshop.ticketsystem.service;
 
+import com.workshop.ticketsystem.dto.AutoClassifyRequest;
+import com.workshop.ticketsystem.dto.BatchClassificationResponse;
 import com.workshop.ticketsystem.dto.ClassificationResult;
 import com.workshop.ticketsystem.entity.Ticket;
 import com.workshop.ticketsystem.enums.TicketCategory;
 import com.workshop.ticketsystem.enums.TicketPriority;
+import com.workshop.ticketsystem.enums.TicketStatus;
 import com.workshop.ticketsystem.repository.ClassificationLogRepository;
 import com.workshop.ticketsystem.repository.TicketRepository;
 import org.junit.jupiter.api.Test;
@@ -12,9 +15,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.lang.management.ManagementFactory;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+// Without the result cache, so repeated texts still exercise keyword matching, and with small
+// batches so a bulk run spans several pages
+@SpringBootTest(properties = {
+        "ticket-system.classification.cache.maximum-size=0",
+        "ticket-system.classification.batch-size=2"
+})
 @ActiveProfiles("test")
 @Transactional
 class ClassificationServiceTest {
@@ -116,6 +126,58 @@ class ClassificationServiceTest {
         assertThat(result.getConfidenceScore()).isGreaterThan(0.0);
     }
 
+    @Test
+    void testEvaluateIgnoresCase() {
+        ClassificationResult lower = classificationService.evaluate("cannot login", "password reset is urgent");
+        ClassificationResult upper = classificationService.evaluate("CANNOT LOGIN", "Password Reset is URGENT");
+
+        assertThat(upper.getCategory()).isEqualTo(TicketCategory.ACCOUNT_ACCESS);
+        assertThat(upper.getPriority()).isEqualTo(TicketPriority.URGENT);
+        assertThat(upper.getKeywordsFound()).isEqualTo(lower.getKeywordsFound());
+        assertThat(upper.getReasoning()).isEqualTo(lower.getReasoning()).contains("login", "urgent");
+    }
+
+    @Test
+    void testEvaluateAllocatesLittleBeyondResult() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String subject = "Cannot login after password reset";
+        String description = "The application shows an error message and crashes. ".repeat(9);
+        for (int i = 0; i < 20_000; i++) {
+            classificationService.evaluate(subject, description);
+        }
+
+        int runs = 10_000;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < runs; i++) {
+            classificationService.evaluate(subject, description);
+        }
+        long perCall = (threads.getCurrentThreadAllocatedBytes() - before) / runs;
+
+        // The result, its keyword list and the deferred reasoning; the text itself is never copied
+        assertThat(perCall).isLessThan(512);
+    }
+
+    @Test
+    void testClassifyAllPagesThroughFilteredTickets() {
+        for (int i = 0; i < 5; i++) {
+            Ticket ticket = createTicket("Cannot login " + i, "I forgot my password and cannot reset it");
+            ticket.setStatus(TicketStatus.CLOSED);
+            ticketRepository.save(ticket);
+        }
+        int matching = ticketRepository.findByFilters(null, null, TicketStatus.CLOSED).size();
+        long logsBefore = classificationLogRepository.count();
+
+        AutoClassifyRequest request = new AutoClassifyRequest();
+        request.setStatus(TicketStatus.CLOSED);
+        request.setIncludeResults(true);
+        BatchClassificationResponse response = classificationService.classifyAll(request);
+
+        assertThat(response.getRequestedTickets()).isEqualTo(matching).isGreaterThanOrEqualTo(5);
+        assertThat(response.getClassifiedTickets()).isEqualTo(matching);
+        assertThat(response.getResults()).hasSize(matching);
+        assertThat(classificationLogRepository.count()).isEqualTo(logsBefore + matching);
+    }
+
     private Ticket createTicket(String subject, String description) {
         Ticket ticket = new Ticket();
         ticket.setCustomerId("TEST001");
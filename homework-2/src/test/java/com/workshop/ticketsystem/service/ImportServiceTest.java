@@ -0,0 +1,227 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
+import com.workshop.ticketsystem.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "ticket-system.import.batch-size=2",
+        "ticket-system.import.max-decompressed-size=1KB",
+        "ticket-system.import.errors.max-inline=3"
+})
+@ActiveProfiles("test")
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ClassificationLogRepository classificationLogRepository;
+
+    @Autowired
+    private ImportErrorReportStore errorReportStore;
+
+    @Autowired
+    private ContentHashBackfill contentHashBackfill;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        classificationLogRepository.deleteAll();
+        ticketRepository.deleteAll();
+    }
+
+    @Test
+    void testFailedChunkOnlyLosesBadRecord() {
+        String longCustomerId = "C".repeat(300);
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.
+                C002,test2@example.com,Test User 2,Subject 2,This is a test ticket description.
+                %s,test3@example.com,Test User 3,Subject 3,This is a test ticket description.
+                C004,test4@example.com,Test User 4,Subject 4,This is a test ticket description.
+                C005,test5@example.com,Test User 5,Subject 5,This is a test ticket description.""".formatted(longCustomerId);
+
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(false));
+
+        assertThat(summary.getTotalRecords()).isEqualTo(5);
+        assertThat(summary.getSuccessfulImports()).isEqualTo(4);
+        assertThat(summary.getFailedImports()).isEqualTo(1);
+        assertThat(summary.getErrors()).singleElement().asString().startsWith("Record 3:");
+        assertThat(summary.getChunksRetriedIndividually()).isEqualTo(1);
+        assertThat(ticketRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void testImportWithAutoClassifyWritesLogs() {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Cannot login,I forgot my password and I am locked out.
+                C002,test2@example.com,Test User 2,Invoice question,I was charged twice and need a refund.
+                C003,test3@example.com,Test User 3,App crash,The app shows an error and crashes on start.""";
+
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(true));
+
+        assertThat(summary.getSuccessfulImports()).isEqualTo(3);
+        assertThat(classificationLogRepository.count()).isEqualTo(3);
+        assertThat(ticketRepository.findByCustomerId("C001").getFirst().getCategory().name())
+                .isEqualTo("ACCOUNT_ACCESS");
+    }
+
+    @Test
+    void testErrorsAreReportedInRecordOrder() {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description,priority
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.,LOW
+                C002,invalid-email,Test User 2,Subject 2,This is a test ticket description.,LOW
+                C003,test3@example.com,Test User 3,Subject 3,This is a test ticket description.,LOW
+                C004,test4@example.com,Test User 4,Subject 4,short,LOW
+                C005,test5@example.com,Test User 5,Subject 5,This is a test ticket description.,NOT_A_PRIORITY
+                C006,test6@example.com,Test User 6,Subject 6,This is a test ticket description.,LOW""";
+
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(true));
+
+        assertThat(summary.getTotalRecords()).isEqualTo(6);
+        assertThat(summary.getSuccessfulImports()).isEqualTo(3);
+        assertThat(summary.getErrors()).hasSize(3);
+        assertThat(summary.getErrors().get(0)).startsWith("Record 2:");
+        assertThat(summary.getErrors().get(1)).startsWith("Record 4:");
+        assertThat(summary.getErrors().get(2)).startsWith("Record 5:");
+    }
+
+    @Test
+    void testResumeSkipsAlreadyImportedRecords() {
+        String firstRun = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.
+                C002,test2@example.com,Test User 2,Subject 2,This is a test ticket description.
+                C003,test3@example.com,Test User 3,Subject 3,This is a test ticket description.""";
+        String fullFile = firstRun + """
+
+                C004,test4@example.com,Test User 4,Subject 4,This is a test ticket description.
+                C004,test4@example.com,Test User 4,Subject 4,This is a test ticket description.
+                C005,test5@example.com,Test User 5,Subject 5,This is a test ticket description.""";
+        importService.importTickets(csvFile(firstRun), "csv", new ImportOptions(false));
+
+        ImportOptions resume = new ImportOptions(false);
+        resume.setResume(true);
+        ImportSummaryResponse summary = importService.importTickets(csvFile(fullFile), "csv", resume);
+
+        // The repeated C004 is not in the database yet, so both copies are imported
+        assertThat(summary.getTotalRecords()).isEqualTo(6);
+        assertThat(summary.getSuccessfulImports()).isEqualTo(3);
+        assertThat(summary.getSkippedDuplicates()).isEqualTo(3);
+        assertThat(ticketRepository.findByCustomerId("C004")).hasSize(2);
+        assertThat(ticketRepository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void testResumeRecognisesTicketsStoredBeforeFingerprints() {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.""";
+        importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(false));
+        jdbcTemplate.update("UPDATE tickets SET content_hash = NULL");
+
+        assertThat(contentHashBackfill.backfill()).isEqualTo(1);
+
+        ImportOptions resume = new ImportOptions(false);
+        resume.setResume(true);
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent), "csv", resume);
+        assertThat(summary.getSkippedDuplicates()).isEqualTo(1);
+        assertThat(ticketRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testWithoutResumeDuplicatesAreImported() {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.""";
+        importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(false));
+
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(false));
+
+        assertThat(summary.getSuccessfulImports()).isEqualTo(1);
+        assertThat(summary.getSkippedDuplicates()).isZero();
+        assertThat(ticketRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testDecompressedSizeIsCapped() throws Exception {
+        StringBuilder csvContent = new StringBuilder("customer_id,customer_email,customer_name,subject,description\n");
+        for (int i = 1; i <= 50; i++) {
+            csvContent.append("C%03d,test%d@example.com,Test User,Subject,This is a test ticket description.\n".formatted(i, i));
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(csvContent.toString().getBytes());
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "bomb.csv.gz", "application/gzip", compressed.toByteArray());
+
+        ImportSummaryResponse summary = importService.importTickets(file, "csv", new ImportOptions(false));
+
+        assertThat(summary.getSuccessfulImports()).isLessThan(50);
+        assertThat(summary.getErrors()).last().asString().contains("exceeds the limit");
+    }
+
+    @Test
+    void testInlineErrorsAreCappedAndReportHasAll() throws Exception {
+        StringBuilder csvContent = new StringBuilder("customer_id,customer_email,customer_name,subject,description\n");
+        for (int i = 1; i <= 5; i++) {
+            csvContent.append("C00").append(i).append(",invalid-email,Test User,Subject,This is a test ticket description.\n");
+        }
+
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent.toString()), "csv", new ImportOptions(false));
+
+        assertThat(summary.getFailedImports()).isEqualTo(5);
+        assertThat(summary.getErrors()).containsExactly(
+                "Record 1: customerEmail: Invalid email format",
+                "Record 2: customerEmail: Invalid email format",
+                "Record 3: customerEmail: Invalid email format");
+        assertThat(summary.isErrorsTruncated()).isTrue();
+        assertThat(summary.getErrorReportId()).isNotNull();
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        errorReportStore.writeNdjson(summary.getErrorReportId(), report);
+        List<String> lines = report.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(5);
+        assertThat(lines.getLast())
+                .contains("\"recordNumber\":5", "\"field\":\"customerEmail\"", "\"message\":\"Invalid email format\"");
+    }
+
+    @Test
+    void testNoErrorReportWithoutErrors() {
+        String csvContent = """
+                customer_id,customer_email,customer_name,subject,description
+                C001,test1@example.com,Test User 1,Subject 1,This is a test ticket description.""";
+
+        ImportSummaryResponse summary = importService.importTickets(csvFile(csvContent), "csv", new ImportOptions(false));
+
+        assertThat(summary.getErrors()).isEmpty();
+        assertThat(summary.isErrorsTruncated()).isFalse();
+        assertThat(summary.getErrorReportId()).isNull();
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "test.csv", "text/csv", content.getBytes());
+    }
+}
@@ -0,0 +1,132 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.config.ImportProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ImportThrottleTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(800);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private ImportProperties importProperties;
+    private InteractiveLatencyMonitor latencyMonitor;
+
+    @BeforeEach
+    void setUp() {
+        importProperties = new ImportProperties();
+        importProperties.getThrottle().setLatencyThreshold(Duration.ofMillis(250));
+        importProperties.getThrottle().setLatencyWindow(Duration.ofSeconds(1));
+        importProperties.getThrottle().setAdjustInterval(Duration.ofSeconds(1));
+        importProperties.getThrottle().setMinRowsPerSecond(10);
+        latencyMonitor = new InteractiveLatencyMonitor();
+    }
+
+    @Test
+    void testUnthrottledWhileLatencyIsLow() throws Exception {
+        ImportThrottle throttle = new ImportThrottle(importProperties, latencyMonitor, null);
+        long start = System.nanoTime();
+        recordLatencies(FAST, start);
+
+        throttle.acquireRows(100_000);
+        throttle.adjust(start + 2 * SECOND);
+
+        assertThat(throttle.rate()).isInfinite();
+    }
+
+    @Test
+    void testBacksOffFromObservedRateAndRecovers() throws Exception {
+        ImportThrottle throttle = new ImportThrottle(importProperties, latencyMonitor, null);
+        long start = System.nanoTime();
+
+        // 1000 rows written in the first two seconds while agents see slow responses
+        throttle.acquireRows(1000);
+        recordLatencies(SLOW, start + 2 * SECOND);
+        throttle.adjust(start + 2 * SECOND);
+        assertThat(throttle.rate()).isCloseTo(250.0, within(0.5));
+
+        recordLatencies(SLOW, start + 3 * SECOND);
+        throttle.adjust(start + 3 * SECOND);
+        assertThat(throttle.rate()).isCloseTo(125.0, within(0.5));
+
+        // Latency back to normal: additive recovery towards the starting rate, then unthrottled
+        recordLatencies(FAST, start + 5 * SECOND);
+        throttle.adjust(start + 5 * SECOND);
+        assertThat(throttle.rate()).isCloseTo(175.0, within(0.5));
+        for (int i = 6; i <= 12; i++) {
+            recordLatencies(FAST, start + i * SECOND);
+            throttle.adjust(start + i * SECOND);
+        }
+        assertThat(throttle.rate()).isInfinite();
+    }
+
+    @Test
+    void testConfiguredRateIsNotExceededAndFloorIsKept() {
+        importProperties.getThrottle().setRowsPerSecond(40);
+        ImportThrottle throttle = new ImportThrottle(importProperties, latencyMonitor, null);
+        long start = System.nanoTime();
+        assertThat(throttle.rate()).isEqualTo(40.0);
+
+        for (int i = 1; i <= 5; i++) {
+            recordLatencies(SLOW, start + i * SECOND);
+            throttle.adjust(start + i * SECOND);
+        }
+        assertThat(throttle.rate()).isEqualTo(10.0);
+
+        for (int i = 7; i <= 20; i++) {
+            recordLatencies(FAST, start + i * SECOND);
+            throttle.adjust(start + i * SECOND);
+        }
+        assertThat(throttle.rate()).isEqualTo(40.0);
+    }
+
+    @Test
+    void testRowBudgetDelaysWriters() throws Exception {
+        importProperties.getThrottle().setRowsPerSecond(100);
+        ImportThrottle throttle = new ImportThrottle(importProperties, latencyMonitor, null);
+
+        long start = System.nanoTime();
+        throttle.acquireRows(20);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    void testLargeChunkSpeedsUpWhenRateRecovers() throws Exception {
+        importProperties.getThrottle().setRowsPerSecond(200);
+        importProperties.getThrottle().setAdjustInterval(Duration.ofMillis(100));
+        importProperties.getThrottle().setLatencyWindow(Duration.ofMillis(200));
+        ImportThrottle throttle = new ImportThrottle(importProperties, latencyMonitor, null);
+
+        // Backed off to 25 rows/s while agents see slow responses
+        for (int i = 0; i < 3; i++) {
+            recordLatencies(SLOW, System.nanoTime());
+            Thread.sleep(110);
+            throttle.adjust(System.nanoTime());
+        }
+        assertThat(throttle.rate()).isEqualTo(25.0);
+
+        // Paid back in one sleep at 25 rows/s this chunk would block for 8 seconds; the slow
+        // samples age out of the window right away, so the rate recovers between slices
+        long start = System.nanoTime();
+        throttle.acquireRows(200);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isLessThan(2000);
+        assertThat(throttle.rate()).isGreaterThan(100.0);
+    }
+
+    private void recordLatencies(long latency, long timestamp) {
+        for (int i = 0; i < 50; i++) {
+            latencyMonitor.record(latency, timestamp);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.workshop.ticketsystem.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares one {@code String.contains} scan per keyword (the previous classifier) with a
+ * single {@link KeywordMatcher} pass, for a dictionary of the current size and a large one.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class KeywordMatcherBenchmarkTest {
+
+    private static final int TEXTS = 20_000;
+
+    @Test
+    void benchmarkKeywordMatching() {
+        Random random = new Random(7);
+        List<String> texts = new ArrayList<>(TEXTS);
+        for (int i = 0; i < TEXTS; i++) {
+            texts.add(randomText(random, 20 + random.nextInt(400), "abcdefghijklmnopqrstuvwxyz     "));
+        }
+
+        for (int size : new int[]{70, 5_000}) {
+            List<String> keywords = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                keywords.add(randomText(random, 4 + random.nextInt(10), "abcdefghijklmnopqrstuvwxyz "));
+            }
+            KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+
+            // Warm up both paths before measuring
+            measureContains(texts, keywords);
+            measureMatcher(texts, matcher);
+
+            double contains = measureContains(texts, keywords);
+            double automaton = measureMatcher(texts, matcher);
+            System.out.printf("%,d keywords: contains %,.0f texts/s, automaton %,.0f texts/s (%.1fx)%n",
+                    size, contains, automaton, automaton / contains);
+        }
+    }
+
+    private double measureContains(List<String> texts, List<String> keywords) {
+        long hits = 0;
+        long start = System.nanoTime();
+        for (String text : texts) {
+            for (String keyword : keywords) {
+                if (text.contains(keyword)) {
+                    hits++;
+                }
+            }
+        }
+        return throughput(texts.size(), start, hits);
+    }
+
+    private double measureMatcher(List<String> texts, KeywordMatcher matcher) {
+        long hits = 0;
+        long start = System.nanoTime();
+        boolean[] found = new boolean[matcher.patternCount()];
+        for (String text : texts) {
+            matcher.findAll(text, found);
+            for (int i = 0; i < found.length; i++) {
+                if (found[i]) {
+                    hits++;
+                    found[i] = false;
+                }
+            }
+        }
+        return throughput(texts.size(), start, hits);
+    }
+
+    private double throughput(int count, long start, long hits) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertThat(hits).isNotNegative();
+        return count / seconds;
+    }
+
+    private String randomText(Random random, int length, String alphabet) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
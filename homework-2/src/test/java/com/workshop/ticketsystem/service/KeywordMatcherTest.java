@@ -0,0 +1,63 @@
+package com.workshop.ticketsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    @Test
+    void testFindsOverlappingAndNestedKeywords() {
+        List<String> keywords = List.of("error", "error message", "message", "ssa", "bug", "bug");
+        KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+
+        boolean[] found = new boolean[matcher.patternCount()];
+        matcher.findAll("an error messag and a bug", found);
+
+        assertThat(found).containsExactly(true, false, false, true, true, true);
+    }
+
+    @Test
+    void testNonAsciiKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.compile(List.of("größe", "ünïcode", "ß"));
+
+        boolean[] found = new boolean[matcher.patternCount()];
+        matcher.findAll("die größe passt", found);
+
+        assertThat(found).containsExactly(true, false, true);
+    }
+
+    @Test
+    void testMatchesStringContainsOnRandomInput() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            // A small alphabet forces many shared prefixes and suffixes
+            List<String> keywords = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                keywords.add(randomText(random, 1 + random.nextInt(5)));
+            }
+            KeywordMatcher matcher = KeywordMatcher.compile(keywords);
+            String text = randomText(random, random.nextInt(200));
+
+            boolean[] found = new boolean[matcher.patternCount()];
+            matcher.findAll(text, found);
+
+            for (int i = 0; i < keywords.size(); i++) {
+                assertThat(found[i]).as("'%s' in '%s'", keywords.get(i), text).isEqualTo(text.contains(keywords.get(i)));
+            }
+        }
+    }
+
+    private String randomText(Random random, int length) {
+        String alphabet = "abc é";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
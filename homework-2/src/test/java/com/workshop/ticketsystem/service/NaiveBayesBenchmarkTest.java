@@ -0,0 +1,133 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the keyword engine with the naive Bayes engine on the labelled sample tickets:
+ * accuracy of category and priority (the model by 5-fold cross-validation, so it never sees
+ * the tickets it is scored on) and classifications per second. The keyword engine runs
+ * without the result cache. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "ticket-system.classification.cache.maximum-size=0")
+@ActiveProfiles("test")
+class NaiveBayesBenchmarkTest {
+
+    private static final int FOLDS = 5;
+    private static final int ITERATIONS = 200_000;
+
+    @Autowired
+    private ClassificationServiceImpl keywordEngine;
+
+    @Test
+    void benchmarkAgainstKeywordEngine() throws IOException {
+        List<LabelledTicket> tickets = loadSampleTickets();
+        Collections.shuffle(tickets, new Random(7));
+
+        Accuracy keyword = new Accuracy();
+        tickets.forEach(ticket -> keyword.add(ticket, keywordEngine.evaluate(ticket.subject(), ticket.description())));
+
+        Accuracy naiveBayes = new Accuracy();
+        for (int fold = 0; fold < FOLDS; fold++) {
+            NaiveBayesModel.Trainer trainer = NaiveBayesModel.trainer(18, 1.0, 2.0);
+            for (int i = 0; i < tickets.size(); i++) {
+                if (i % FOLDS != fold) {
+                    LabelledTicket ticket = tickets.get(i);
+                    trainer.add(ticket.subject(), ticket.description(), ticket.category(), ticket.priority(), false, false);
+                }
+            }
+            ClassificationService engine = NaiveBayesEngines.forModel(trainer.build());
+            for (int i = fold; i < tickets.size(); i += FOLDS) {
+                LabelledTicket ticket = tickets.get(i);
+                naiveBayes.add(ticket, engine.evaluate(ticket.subject(), ticket.description()));
+            }
+        }
+
+        NaiveBayesModel.Trainer trainer = NaiveBayesModel.trainer(18, 1.0, 2.0);
+        tickets.forEach(ticket -> trainer.add(ticket.subject(), ticket.description(), ticket.category(), ticket.priority(), false, false));
+        ClassificationService naiveBayesEngine = NaiveBayesEngines.forModel(trainer.build());
+
+        // Warm up both engines before measuring
+        measure(keywordEngine, tickets);
+        measure(naiveBayesEngine, tickets);
+        double keywordNanos = measure(keywordEngine, tickets);
+        double naiveBayesNanos = measure(naiveBayesEngine, tickets);
+
+        System.out.printf("%d sample tickets%n", tickets.size());
+        System.out.printf("keyword:     category %.0f%%, priority %.0f%%, %.2f µs/ticket (%,.0f tickets/s)%n",
+                keyword.category(), keyword.priority(), keywordNanos / 1000, 1e9 / keywordNanos);
+        System.out.printf("naive Bayes: category %.0f%%, priority %.0f%% (%d-fold), %.2f µs/ticket (%,.0f tickets/s)%n",
+                naiveBayes.category(), naiveBayes.priority(), FOLDS, naiveBayesNanos / 1000, 1e9 / naiveBayesNanos);
+    }
+
+    private double measure(ClassificationService engine, List<LabelledTicket> tickets) {
+        long categories = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            LabelledTicket ticket = tickets.get(i % tickets.size());
+            categories += engine.evaluate(ticket.subject(), ticket.description()).getCategory().ordinal();
+        }
+        double nanos = (double) (System.nanoTime() - start) / ITERATIONS;
+        assertThat(categories).isNotNegative();
+        return nanos;
+    }
+
+    private List<LabelledTicket> loadSampleTickets() throws IOException {
+        CSVFormat format = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build();
+        List<LabelledTicket> tickets = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(Path.of("data/sample_tickets.csv"))) {
+            for (CSVRecord record : format.parse(reader)) {
+                tickets.add(new LabelledTicket(
+                        record.get("subject"),
+                        record.get("description"),
+                        TicketCategory.valueOf(record.get("category")),
+                        TicketPriority.valueOf(record.get("priority"))));
+            }
+        }
+        return tickets;
+    }
+
+    private record LabelledTicket(String subject, String description, TicketCategory category,
+                                  TicketPriority priority) {
+    }
+
+    private static class Accuracy {
+        private int tickets;
+        private int categories;
+        private int priorities;
+
+        void add(LabelledTicket ticket, ClassificationResult result) {
+            tickets++;
+            categories += result.getCategory() == ticket.category() ? 1 : 0;
+            priorities += result.getPriority() == ticket.priority() ? 1 : 0;
+        }
+
+        double category() {
+            return categories * 100.0 / tickets;
+        }
+
+        double priority() {
+            return priorities * 100.0 / tickets;
+        }
+    }
+}
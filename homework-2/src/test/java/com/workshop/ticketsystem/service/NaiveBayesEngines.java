@@ -0,0 +1,33 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.NaiveBayesModelInfo;
+
+/**
+ * Builds a naive Bayes engine around a fixed model without a Spring context, for tests that
+ * only score tickets.
+ */
+final class NaiveBayesEngines {
+
+    private NaiveBayesEngines() {
+    }
+
+    static ClassificationService forModel(NaiveBayesModel model) {
+        NaiveBayesModelService modelService = new NaiveBayesModelService() {
+            @Override
+            public NaiveBayesModel current() {
+                return model;
+            }
+
+            @Override
+            public NaiveBayesModelInfo getModelInfo() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public NaiveBayesModelInfo train() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        return new NaiveBayesClassificationService(modelService, null, null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ClassificationResult;
+import com.workshop.ticketsystem.enums.TicketCategory;
+import com.workshop.ticketsystem.enums.TicketPriority;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NaiveBayesModelTest {
+
+    @Test
+    void testPredictsCategoryAndPriorityFromTrainingTickets() {
+        NaiveBayesModel model = trainSmallModel();
+        ClassificationService engine = NaiveBayesEngines.forModel(model);
+
+        ClassificationResult billing = engine.evaluate("Refund please", "My invoice shows a double charge on my card");
+        assertThat(billing.getCategory()).isEqualTo(TicketCategory.BILLING_QUESTION);
+        assertThat(billing.getPriority()).isEqualTo(TicketPriority.LOW);
+        assertThat(billing.getConfidenceScore()).isBetween(0.5, 1.0);
+        assertThat(billing.getKeywordsFound()).isEmpty();
+        assertThat(billing.getReasoning()).contains("BILLING_QUESTION").contains("trained on 6 tickets");
+
+        ClassificationResult outage = engine.evaluate("PRODUCTION DOWN", "Nobody can log in, the whole site is down");
+        assertThat(outage.getCategory()).isEqualTo(TicketCategory.TECHNICAL_ISSUE);
+        assertThat(outage.getPriority()).isEqualTo(TicketPriority.URGENT);
+    }
+
+    @Test
+    void testCorrectedLabelsCountMore() {
+        NaiveBayesModel.Trainer trainer = NaiveBayesModel.trainer(12, 1.0, 3.0);
+        trainer.add("Export", "Please add a csv export", TicketCategory.FEATURE_REQUEST, TicketPriority.LOW, false, false);
+        trainer.add("Export", "Please add a csv export", TicketCategory.FEATURE_REQUEST, TicketPriority.LOW, false, false);
+        trainer.add("Export", "Please add a csv export", TicketCategory.BUG_REPORT, TicketPriority.LOW, true, false);
+        NaiveBayesModel model = trainer.build();
+
+        assertThat(model.trainedTickets()).isEqualTo(3);
+        assertThat(model.correctedTickets()).isEqualTo(1);
+        assertThat(NaiveBayesEngines.forModel(model).evaluate("Export", "Please add a csv export").getCategory())
+                .isEqualTo(TicketCategory.BUG_REPORT);
+    }
+
+    @Test
+    void testModelSurvivesWriteAndRead() throws IOException {
+        NaiveBayesModel model = trainSmallModel();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        model.writeTo(output);
+
+        NaiveBayesModel read = NaiveBayesModel.readFrom(new ByteArrayInputStream(output.toByteArray()));
+
+        assertThat(read.featureBits()).isEqualTo(model.featureBits());
+        assertThat(read.trainedTickets()).isEqualTo(model.trainedTickets());
+        assertThat(read.trainedAt()).isEqualTo(model.trainedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(read.priors).containsExactly(model.priors);
+        assertThat(read.weights).containsExactly(model.weights);
+    }
+
+    @Test
+    void testRejectsOtherFiles() {
+        byte[] notAModel = "category,priority\n".getBytes();
+
+        assertThatThrownBy(() -> NaiveBayesModel.readFrom(new ByteArrayInputStream(notAModel)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testFeaturesIgnoreCaseAndPunctuation() {
+        assertThat(features("Cannot LOGIN, can't reset")).isEqualTo(features("cannot login can't   reset"));
+        // Two words and the pair of them
+        assertThat(features("password reset")).hasSize(3);
+        assertThat(features("reset password")).isNotEqualTo(features("password reset"));
+    }
+
+    private NaiveBayesModel trainSmallModel() {
+        NaiveBayesModel.Trainer trainer = NaiveBayesModel.trainer(12, 1.0, 2.0);
+        trainer.add("Invoice wrong", "I was charged twice, please refund the payment", TicketCategory.BILLING_QUESTION, TicketPriority.LOW, false, false);
+        trainer.add("Refund", "Refund the double charge on my invoice", TicketCategory.BILLING_QUESTION, TicketPriority.LOW, false, false);
+        trainer.add("Site down", "The whole site is down, production is broken", TicketCategory.TECHNICAL_ISSUE, TicketPriority.URGENT, false, false);
+        trainer.add("Outage", "Production down since this morning", TicketCategory.TECHNICAL_ISSUE, TicketPriority.URGENT, false, false);
+        trainer.add("Dark mode", "Would be nice to have a dark mode", TicketCategory.FEATURE_REQUEST, TicketPriority.LOW, false, false);
+        trainer.add("Locked out", "I cannot log in after resetting my password", TicketCategory.ACCOUNT_ACCESS, TicketPriority.HIGH, false, false);
+        return trainer.build();
+    }
+
+    private List<Integer> features(String text) {
+        List<Integer> features = new ArrayList<>();
+        FeatureHasher hasher = new FeatureHasher(16, features::add);
+        hasher.feed(text);
+        return features;
+    }
+}
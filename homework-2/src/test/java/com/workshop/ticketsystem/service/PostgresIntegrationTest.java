@@ -0,0 +1,154 @@
+package com.workshop.ticketsystem.service;
+
+import com.workshop.ticketsystem.dto.ImportSummaryResponse;
+import com.workshop.ticketsystem.enums.ImportMode;
+import com.workshop.ticketsystem.repository.ClassificationLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the PostgreSQL-only code paths against a real server. Skipped where Docker is not available.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    private static final String SELECT_TICKETS = """
+            SELECT customer_id, customer_email, customer_name, subject, description, category, priority,
+                   status, assigned_to, source, browser, device_type, content_hash, resolved_at,
+                   category_corrected, priority_corrected,
+                   (SELECT string_agg(g.tag, ';' ORDER BY g.tag) FROM ticket_tags g WHERE g.ticket_id = t.id) AS tags
+            FROM tickets t
+            ORDER BY customer_id, subject
+            """;
+
+    private static final String SELECT_LOGS = """
+            SELECT t.customer_id, l.suggested_category, l.suggested_priority, l.confidence_score, l.reasoning,
+                   array_to_string(l.keywords_found, ';') AS keywords_found
+            FROM classification_logs l JOIN tickets t ON t.id = l.ticket_id
+            ORDER BY t.customer_id, t.subject
+            """;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClassificationKeywordsMigration keywordsMigration;
+
+    @Autowired
+    private ClassificationLogRepository classificationLogRepository;
+
+    @AfterEach
+    void cleanUp() {
+        deleteAll();
+    }
+
+    @Test
+    void testCopyImportStoresSameRowsAsJpaImport() throws IOException {
+        // The sample file plus one record only the database rejects
+        String csvContent = Files.readString(Path.of("data/sample_tickets.csv")).stripTrailing()
+                + "\n" + "C".repeat(300) + ",long@example.com,Long Id,Too long,The customer id does not fit the column.,"
+                + "OTHER,LOW,EMAIL,Chrome,DESKTOP,,\n";
+
+        ImportSummaryResponse jpa = importService.importTickets(csvFile(csvContent), "csv",
+                new ImportOptions(true, ImportMode.JPA));
+        List<Map<String, Object>> jpaTickets = jdbcTemplate.queryForList(SELECT_TICKETS);
+        List<Map<String, Object>> jpaLogs = jdbcTemplate.queryForList(SELECT_LOGS);
+        deleteAll();
+
+        ImportSummaryResponse copy = importService.importTickets(csvFile(csvContent), "csv",
+                new ImportOptions(true, ImportMode.COPY));
+        List<Map<String, Object>> copyTickets = jdbcTemplate.queryForList(SELECT_TICKETS);
+        List<Map<String, Object>> copyLogs = jdbcTemplate.queryForList(SELECT_LOGS);
+
+        assertThat(jpa.getSuccessfulImports()).isEqualTo(50);
+        assertThat(copy.getSuccessfulImports()).isEqualTo(jpa.getSuccessfulImports());
+        assertThat(copy.getFailedImports()).isEqualTo(jpa.getFailedImports()).isEqualTo(1);
+        assertThat(copy.getErrors()).singleElement().asString().startsWith("Record 51: customerId:");
+        assertThat(copy.getChunksRetriedIndividually()).isZero();
+        assertThat(copyTickets).hasSize(50).isEqualTo(jpaTickets);
+        assertThat(copyLogs).hasSize(50).isEqualTo(jpaLogs);
+    }
+
+    @Test
+    void testInstancesStartingTogetherMigrateKeywordsOnce() {
+        jdbcTemplate.execute("CREATE TABLE classification_keywords (log_id UUID NOT NULL, keyword VARCHAR(255))");
+        UUID withKeywords = insertLegacyLog();
+        UUID withoutKeywords = insertLegacyLog();
+        jdbcTemplate.update("INSERT INTO classification_keywords (log_id, keyword) VALUES (?, 'login')", withKeywords);
+        jdbcTemplate.update("INSERT INTO classification_keywords (log_id, keyword) VALUES (?, 'password')", withKeywords);
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        Runnable migrate = () -> {
+            try {
+                start.await();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            keywordsMigration.migrate();
+        };
+        CompletableFuture.allOf(CompletableFuture.runAsync(migrate), CompletableFuture.runAsync(migrate)).join();
+
+        assertThat(classificationLogRepository.findById(withKeywords).orElseThrow().getKeywordsFound())
+                .containsExactlyInAnyOrder("login", "password");
+        assertThat(classificationLogRepository.findById(withoutKeywords).orElseThrow().getKeywordsFound()).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'classification_keywords'",
+                Integer.class)).isZero();
+    }
+
+    private UUID insertLegacyLog() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO classification_logs (id, ticket_id, suggested_category, suggested_priority, "
+                + "confidence_score, classified_at) VALUES (?, ?, 'ACCOUNT_ACCESS', 'HIGH', 0.5, CURRENT_TIMESTAMP)",
+                id, UUID.randomUUID());
+        return id;
+    }
+
+    private void deleteAll() {
+        jdbcTemplate.update("DELETE FROM classification_logs");
+        jdbcTemplate.update("DELETE FROM ticket_tags");
+        jdbcTemplate.update("DELETE FROM tickets");
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "tickets.csv", "text/csv", content.getBytes());
+    }
+}